@@ -0,0 +1,41 @@
+package com.company.project.application;
+
+import com.company.project.domain.Todo;
+import com.company.project.dto.TodoRequest;
+import com.company.project.dto.TodoResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodoMapperBenchmark {
+
+    private final TodoMapperService mapper = new TodoMapperService();
+    private final TodoRequest request = new TodoRequest("Buy milk", "Two litres, semi-skimmed");
+    private final Todo todo = new Todo("01HQXW5P7R8ZYFG5KJ2N3M4B6C", "Buy milk", "Two litres, semi-skimmed", false,
+            LocalDateTime.of(2024, 3, 1, 9, 30), LocalDateTime.of(2024, 3, 1, 9, 45), 3);
+
+    @Benchmark
+    public Todo toEntity() {
+        return mapper.toEntity(request);
+    }
+
+    @Benchmark
+    public TodoResponse toResponse() {
+        return mapper.toResponse(todo);
+    }
+}
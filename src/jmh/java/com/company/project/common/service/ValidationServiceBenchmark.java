@@ -0,0 +1,60 @@
+package com.company.project.common.service;
+
+import com.company.project.dto.TodoRequest;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationServiceBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private ValidationService validationService;
+
+    private final TodoRequest valid = new TodoRequest("Buy milk", "Two litres, semi-skimmed");
+    private final TodoRequest invalid = new TodoRequest(" ", "x".repeat(1001));
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validationService = new ValidationService(validatorFactory.getValidator());
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public TodoRequest validateValid() {
+        validationService.validate(valid);
+        return valid;
+    }
+
+    @Benchmark
+    public IllegalArgumentException validateInvalid() {
+        try {
+            validationService.validate(invalid);
+            throw new IllegalStateException("Expected a validation failure");
+        } catch (IllegalArgumentException ex) {
+            return ex;
+        }
+    }
+}
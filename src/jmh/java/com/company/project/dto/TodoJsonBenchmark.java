@@ -0,0 +1,111 @@
+package com.company.project.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Jackson (de)serialization of the todo DTOs with the same defaults Spring Boot applies to the MVC ObjectMapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodoJsonBenchmark {
+
+    private ObjectWriter requestWriter;
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+    private ObjectWriter responseListWriter;
+    private ObjectReader responseListReader;
+
+    private TodoRequest request;
+    private byte[] requestJson;
+    private TodoResponse response;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        requestWriter = objectMapper.writerFor(TodoRequest.class);
+        requestReader = objectMapper.readerFor(TodoRequest.class);
+        responseWriter = objectMapper.writerFor(TodoResponse.class);
+        var listType = objectMapper.getTypeFactory().constructCollectionType(List.class, TodoResponse.class);
+        responseListWriter = objectMapper.writerFor(listType);
+        responseListReader = objectMapper.readerFor(listType);
+
+        request = new TodoRequest("Buy milk", "Two litres, semi-skimmed");
+        requestJson = requestWriter.writeValueAsBytes(request);
+        response = response(0);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Page {
+
+        @Param({"20", "100"})
+        public int size;
+
+        List<TodoResponse> responses;
+        byte[] json;
+
+        @Setup
+        public void setUp(TodoJsonBenchmark benchmark) throws JsonProcessingException {
+            responses = IntStream.range(0, size).mapToObj(TodoJsonBenchmark::response).toList();
+            json = benchmark.responseListWriter.writeValueAsBytes(responses);
+        }
+    }
+
+    @Benchmark
+    public byte[] writeRequest() throws JsonProcessingException {
+        return requestWriter.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public TodoRequest readRequest() throws Exception {
+        return requestReader.readValue(requestJson);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws JsonProcessingException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] writeResponseList(Page page) throws JsonProcessingException {
+        return responseListWriter.writeValueAsBytes(page.responses);
+    }
+
+    @Benchmark
+    public List<TodoResponse> readResponseList(Page page) throws Exception {
+        return responseListReader.readValue(page.json);
+    }
+
+    private static TodoResponse response(int i) {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 9, 30).plusMinutes(i);
+        return new TodoResponse(String.format("01HQXW5P7R8ZYFG5KJ2N3M%04d", i), "Todo " + i,
+                "Description of todo " + i + " " + "x".repeat(64),
+                i % 2 == 0, createdAt, createdAt.plusSeconds(30), i);
+    }
+}
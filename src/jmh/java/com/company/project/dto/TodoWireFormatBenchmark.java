@@ -0,0 +1,129 @@
+package com.company.project.dto;
+
+import com.company.project.presentation.TodoProtobufHttpMessageConverter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * A list of todos through each negotiated message converter. The payload size of each format is reported next to
+ * the scores as the {@code payloadBytes} counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodoWireFormatBenchmark {
+
+    private static final Type LIST_TYPE = new ParameterizedTypeReference<List<TodoResponse>>() {}.getType();
+
+    @Param({"json", "smile", "cbor", "protobuf"})
+    private String format;
+
+    @Param({"20", "100"})
+    private int size;
+
+    private GenericHttpMessageConverter<Object> converter;
+    private MediaType mediaType;
+    private List<TodoResponse> responses;
+    private byte[] payload;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        converter = switch (format) {
+            case "json" -> new MappingJackson2HttpMessageConverter(builder.build());
+            case "smile" -> new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+            case "cbor" -> new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+            case "protobuf" -> (GenericHttpMessageConverter<Object>) (GenericHttpMessageConverter<?>) new TodoProtobufHttpMessageConverter();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        mediaType = converter.getSupportedMediaTypes().get(0);
+        responses = IntStream.range(0, size).mapToObj(TodoWireFormatBenchmark::response).toList();
+        payload = write();
+    }
+
+    @Benchmark
+    public byte[] writeResponseList(PayloadSize size) throws IOException {
+        byte[] written = write();
+        size.report(written.length);
+        return written;
+    }
+
+    @Benchmark
+    public Object readResponseList(PayloadSize size) throws IOException {
+        size.report(payload.length);
+        MockHttpInputMessage input = new MockHttpInputMessage(payload);
+        input.getHeaders().setContentType(mediaType);
+        return converter.read(LIST_TYPE, null, input);
+    }
+
+    private byte[] write() throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(responses, LIST_TYPE, mediaType, output);
+        return output.getBodyAsBytes();
+    }
+
+    /**
+     * Size of one payload. JMH sums event counters over threads and measurement iterations, so each iteration
+     * reports its share of the size and the result shows the size itself.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public double payloadBytes;
+        private double share;
+
+        @Setup(Level.Iteration)
+        public void setUp(BenchmarkParams benchmark, IterationParams iteration) {
+            share = 1.0 / (benchmark.getThreads() * iteration.getCount());
+        }
+
+        void report(int bytes) {
+            payloadBytes = bytes * share;
+        }
+    }
+
+    private static TodoResponse response(int i) {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 9, 30).plusMinutes(i);
+        return new TodoResponse(String.format("01HQXW5P7R8ZYFG5KJ2N3M%04d", i), "Todo " + i,
+                "Description of todo " + i + " " + "x".repeat(64),
+                i % 2 == 0, createdAt, createdAt.plusSeconds(30), i);
+    }
+}
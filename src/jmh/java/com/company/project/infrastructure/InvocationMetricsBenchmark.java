@@ -0,0 +1,138 @@
+package com.company.project.infrastructure;
+
+import com.company.project.common.service.CrudService;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the timer InvocationMetricsPostProcessor puts around service and repository beans, against a
+ * target that does no work. The registry is Prometheus with the histogram and SLO settings of application.yml.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvocationMetricsBenchmark {
+
+    private final CrudService<String, String> direct = new StubService();
+    private CrudService<String, String> timed;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .serviceLevelObjectives(Duration.ofMillis(5).toNanos(), Duration.ofMillis(10).toNanos(),
+                                Duration.ofMillis(25).toNanos(), Duration.ofMillis(50).toNanos(),
+                                Duration.ofMillis(100).toNanos(), Duration.ofMillis(200).toNanos())
+                        .minimumExpectedValue((double) Duration.ofNanos(100_000).toNanos())
+                        .maximumExpectedValue((double) Duration.ofSeconds(5).toNanos())
+                        .build()
+                        .merge(config);
+            }
+        });
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", registry);
+        InvocationMetricsPostProcessor postProcessor =
+                new InvocationMetricsPostProcessor(beanFactory.getBeanProvider(MeterRegistry.class));
+        timed = (CrudService<String, String>) postProcessor.postProcessAfterInitialization(new StubService(), "todoService");
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Optional<String> direct() {
+        return direct.findById("01HQZX3Y9F8G7JTRQWKNXVP123");
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Optional<String> timed() {
+        return timed.findById("01HQZX3Y9F8G7JTRQWKNXVP123");
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Optional<String> timedContended() {
+        return timed.findById("01HQZX3Y9F8G7JTRQWKNXVP123");
+    }
+
+    public static class StubService implements CrudService<String, String> {
+
+        private final Optional<String> found = Optional.of("todo");
+
+        @Override
+        public String create(String entity) {
+            return entity;
+        }
+
+        @Override
+        public Optional<String> findById(String id) {
+            return found;
+        }
+
+        @Override
+        public List<String> findAll() {
+            return List.of();
+        }
+
+        @Override
+        public List<String> findAfter(String after, int limit) {
+            return List.of();
+        }
+
+        @Override
+        public Optional<Long> findVersion(String id) {
+            return Optional.empty();
+        }
+
+        @Override
+        public String update(String id, String entity) {
+            return entity;
+        }
+
+        @Override
+        public String update(String id, String entity, Long expectedVersion) {
+            return entity;
+        }
+
+        @Override
+        public void delete(String id) {
+        }
+
+        @Override
+        public void delete(String id, Long expectedVersion) {
+        }
+
+        @Override
+        public boolean exists(String id) {
+            return true;
+        }
+    }
+}
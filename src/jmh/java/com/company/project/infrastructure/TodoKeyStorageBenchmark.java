@@ -0,0 +1,168 @@
+package com.company.project.infrastructure;
+
+import com.github.f4b6a3.ulid.Ulid;
+import com.github.f4b6a3.ulid.UlidCreator;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Primary-key lookups and inserts against an embedded PostgreSQL, with the todo key stored as the ULID text of
+ * V2 or the uuid of V11. Both tables carry the (created_at, id) index of V6; index and table sizes after the
+ * prefill are reported next to the scores as counters. Ids are converted from ULID text inside the measurement, as
+ * the repository does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoKeyStorageBenchmark {
+
+    private static final int PREFILL_BATCH = 10_000;
+
+    @Param({"varchar", "uuid"})
+    private String keyType;
+
+    @Param({"200000"})
+    private int rows;
+
+    private EmbeddedPostgres postgres;
+    private Connection connection;
+    private PreparedStatement lookup;
+    private PreparedStatement insert;
+    private final List<String> ids = new ArrayList<>();
+    private long primaryKeyBytes;
+    private long createdAtIndexBytes;
+    private long tableBytes;
+
+    @Setup(Level.Trial)
+    public void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        connection = postgres.getPostgresDatabase().getConnection();
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE todos (id " + ("uuid".equals(keyType) ? "UUID" : "VARCHAR(26)") + " PRIMARY KEY, "
+                    + "title VARCHAR(255) NOT NULL, completed BOOLEAN NOT NULL, created_at TIMESTAMP NOT NULL)");
+            ddl.execute("CREATE INDEX idx_todos_created_at_id ON todos (created_at, id)");
+        }
+        insert = connection.prepareStatement("INSERT INTO todos (id, title, completed, created_at) VALUES (?, ?, false, ?)");
+        lookup = connection.prepareStatement("SELECT id, title, completed, created_at FROM todos WHERE id = ?");
+
+        connection.setAutoCommit(false);
+        for (int i = 0; i < rows; i++) {
+            String id = UlidCreator.getMonotonicUlid().toString();
+            ids.add(id);
+            bindInsert(id);
+            insert.addBatch();
+            if ((i + 1) % PREFILL_BATCH == 0) {
+                insert.executeBatch();
+            }
+        }
+        insert.executeBatch();
+        connection.commit();
+        connection.setAutoCommit(true);
+        try (Statement maintenance = connection.createStatement()) {
+            maintenance.execute("VACUUM ANALYZE todos");
+        }
+        primaryKeyBytes = size("todos_pkey");
+        createdAtIndexBytes = size("idx_todos_created_at_id");
+        tableBytes = size("todos");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopDatabase() throws Exception {
+        connection.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public boolean lookupById(StorageSize size) throws SQLException {
+        size.report(this);
+        bindKey(lookup, ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+        try (ResultSet rs = lookup.executeQuery()) {
+            return rs.next();
+        }
+    }
+
+    @Benchmark
+    public int insert(StorageSize size) throws SQLException {
+        size.report(this);
+        bindInsert(UlidCreator.getMonotonicUlid().toString());
+        return insert.executeUpdate();
+    }
+
+    private void bindInsert(String id) throws SQLException {
+        bindKey(insert, id);
+        insert.setString(2, "Buy milk");
+        insert.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private void bindKey(PreparedStatement statement, String id) throws SQLException {
+        if ("uuid".equals(keyType)) {
+            statement.setObject(1, Ulid.from(id).toUuid());
+        } else {
+            statement.setString(1, id);
+        }
+    }
+
+    private long size(String relation) throws SQLException {
+        try (Statement query = connection.createStatement();
+             ResultSet rs = query.executeQuery("SELECT pg_relation_size('" + relation + "')")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * Relation sizes after the prefill. Inserts grow them while the benchmark runs, so they describe the prefilled
+     * table only. JMH sums event counters over threads and measurement iterations, so each iteration reports its
+     * share of the sizes.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class StorageSize {
+
+        public double primaryKeyBytes;
+        public double createdAtIndexBytes;
+        public double tableBytes;
+        private double share;
+
+        @Setup(Level.Iteration)
+        public void setUp(BenchmarkParams benchmark, IterationParams iteration) {
+            share = 1.0 / (benchmark.getThreads() * iteration.getCount());
+        }
+
+        void report(TodoKeyStorageBenchmark prefilled) {
+            primaryKeyBytes = prefilled.primaryKeyBytes * share;
+            createdAtIndexBytes = prefilled.createdAtIndexBytes * share;
+            tableBytes = prefilled.tableBytes * share;
+        }
+    }
+}
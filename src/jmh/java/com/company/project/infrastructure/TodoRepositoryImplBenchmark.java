@@ -0,0 +1,31 @@
+package com.company.project.infrastructure;
+
+import com.company.project.domain.Todo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodoRepositoryImplBenchmark {
+
+    private final TodoRepositoryImpl repository = new TodoRepositoryImpl(null, null, null);
+    private final TodoJpaEntity entity = new TodoJpaEntity("Buy milk", "Two litres, semi-skimmed");
+
+    @Benchmark
+    public Todo toDomain() {
+        return repository.toDomain(entity);
+    }
+}
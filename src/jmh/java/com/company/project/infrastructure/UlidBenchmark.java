@@ -0,0 +1,57 @@
+package com.company.project.infrastructure;
+
+import com.github.f4b6a3.ulid.UlidCreator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Id generation as done by TodoJpaEntity. The monotonic factory is shared and synchronized, so the
+ * all-threads variant shows what it costs under request concurrency. The key benchmarks measure the
+ * conversions TodoRepositoryImpl does between the API's ULID text and the stored uuid.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UlidBenchmark {
+
+    private final String ulid = UlidCreator.getMonotonicUlid().toString();
+    private final UUID key = TodoJpaEntity.toKey(ulid);
+
+    @Benchmark
+    @Threads(1)
+    public String monotonicUlid() {
+        return UlidCreator.getMonotonicUlid().toString();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String monotonicUlidContended() {
+        return UlidCreator.getMonotonicUlid().toString();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public UUID ulidToKey() {
+        return TodoJpaEntity.toKey(ulid);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String keyToUlid() {
+        return TodoJpaEntity.toUlid(key);
+    }
+}
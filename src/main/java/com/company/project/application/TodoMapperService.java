@@ -2,10 +2,20 @@ package com.company.project.application;
 
 import com.company.project.common.service.MapperService;
 import com.company.project.domain.Todo;
+import com.company.project.domain.TodoBatchOperation;
+import com.company.project.domain.TodoBatchResult;
+import com.company.project.domain.TodoSearchHit;
+import com.company.project.domain.TodoStats;
+import com.company.project.dto.TodoBatchOperationRequest;
+import com.company.project.dto.TodoBatchResponse;
 import com.company.project.dto.TodoRequest;
 import com.company.project.dto.TodoResponse;
+import com.company.project.dto.TodoSearchResponse;
+import com.company.project.dto.TodoStatsResponse;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * Mapper service for Todo entity conversions
  */
@@ -25,7 +35,37 @@ public class TodoMapperService implements MapperService<Todo, TodoRequest, TodoR
                 entity.getDescription(),
                 entity.isCompleted(),
                 entity.getCreatedAt(),
-                entity.getUpdatedAt()
+                entity.getUpdatedAt(),
+                entity.getVersion()
         );
     }
+    
+    public TodoSearchResponse toSearchResponse(TodoSearchHit hit) {
+        return new TodoSearchResponse(toResponse(hit.todo()), hit.rank(), hit.titleHighlight(), hit.descriptionSnippet());
+    }
+    
+    public TodoStatsResponse toStatsResponse(TodoStats stats) {
+        List<TodoStatsResponse.Day> days = stats.days().stream()
+                .map(day -> new TodoStatsResponse.Day(day.date(), day.created(), day.completed()))
+                .toList();
+        return new TodoStatsResponse(stats.open(), stats.completed(), stats.total(), days);
+    }
+    
+    public TodoBatchOperation toBatchOperation(TodoBatchOperationRequest request) {
+        Todo todo = request.todo() != null ? toEntity(request.todo()) : null;
+        return new TodoBatchOperation(request.action(), request.id(), todo);
+    }
+    
+    public TodoBatchResponse toBatchResponse(List<TodoBatchResult> results) {
+        List<TodoBatchResponse.Item> items = results.stream()
+                .map(result -> new TodoBatchResponse.Item(
+                        result.index(),
+                        result.action(),
+                        result.id(),
+                        result.outcome(),
+                        result.todo() != null ? toResponse(result.todo()) : null))
+                .toList();
+        int succeeded = (int) results.stream().filter(TodoBatchResult::succeeded).count();
+        return new TodoBatchResponse(succeeded, results.size() - succeeded, items);
+    }
 }
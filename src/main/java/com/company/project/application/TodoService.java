@@ -1,65 +1,257 @@
 package com.company.project.application;
 
+import com.company.project.common.cache.TwoTierCache;
+import com.company.project.common.concurrency.GroupCommitter;
+import com.company.project.common.concurrency.SingleFlight;
+import com.company.project.common.exception.PreconditionFailedException;
 import com.company.project.common.exception.ResourceNotFoundException;
 import com.company.project.common.service.CrudService;
 import com.company.project.domain.Todo;
+import com.company.project.domain.TodoBatchOperation;
+import com.company.project.domain.TodoBatchResult;
+import com.company.project.domain.TodoChangeEvent;
+import com.company.project.domain.TodoEventOutbox;
+import com.company.project.domain.TodoQuery;
 import com.company.project.domain.TodoRepository;
+import com.company.project.domain.TodoSearchHit;
+import com.company.project.domain.TodoStats;
+import com.company.project.domain.TodoStatsDelta;
+import com.company.project.domain.TodoStatsRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * Todo use cases over any {@link TodoRepository}. The component-scanned instance is backed by PostgreSQL and is the
+ * primary one; infrastructure.NoSqlTodoConfig wires another over the document store.
+ * <p>
+ * Every write that changes how many todos exist or are completed applies the matching {@link TodoStatsDelta} in
+ * its own transaction, so the stats rollups never need to count todos to be read.
+ * <p>
+ * Concurrent identical reads share one repository call through a {@link SingleFlight}. Once a write commits, later
+ * readers of the ids it wrote and of any listing, query or search start fresh calls, so a client never joins a read
+ * that began before its own write.
+ * <p>
+ * With group commit enabled, {@link #create} and {@link #toggleCompletion} run on the {@link GroupCommitter}'s
+ * thread in a transaction shared with other callers' writes, unless they were called inside a caller's transaction.
+ */
 @Slf4j
+@Primary
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class TodoService implements CrudService<Todo, String> {
 
+    private static final int IMPORT_CHUNK_SIZE = 5_000;
+    private static final String FIND_BY_ID = "findById";
+
     private final TodoRepository todoRepository;
+    private final TwoTierCache<Todo> todoCache;
+    private final TodoEventOutbox eventOutbox;
+    private final TodoStatsRepository statsRepository;
+    private final SingleFlight<List<?>> reads;
+    private final GroupCommitter groupCommitter;
 
     @Override
     public Todo create(Todo entity) {
+        return groupCommitted(() -> insert(entity));
+    }
+
+    private Todo insert(Todo entity) {
         log.info("Creating new todo with title: {}", entity.getTitle());
         Todo saved = todoRepository.save(entity);
+        eventOutbox.append(TodoChangeEvent.created(saved));
+        statsRepository.apply(new TodoStatsDelta().created(saved));
+        forgetReadsAfterCommit(Set.of(saved.getId()));
         log.info("Created todo with id: {}", saved.getId());
         return saved;
     }
 
+    /**
+     * Served from the two-tier cache; no transaction is opened so cache hits never take a pooled connection.
+     * Concurrent misses for the same id share one SELECT.
+     */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<Todo> findById(String id) {
         log.debug("Fetching todo by id: {}", id);
-        return todoRepository.findById(id);
+        return todoCache.get(id, key -> coalesced(() -> todoRepository.findById(key), FIND_BY_ID, key));
+    }
+
+    /**
+     * Answers from the local cache tier when possible, otherwise reads only the version column.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<Long> findVersion(String id) {
+        return todoCache.peek(id)
+                .map(Todo::getVersion)
+                .or(() -> todoRepository.findVersionById(id));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Todo> findAll() {
         log.debug("Fetching all todos");
-        return todoRepository.findAll();
+        return coalesced(todoRepository::findAll, "findAll");
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Todo> findAfter(String after, int limit) {
+        log.debug("Fetching {} todos after id: {}", limit, after);
+        return coalesced(() -> todoRepository.findAfter(after, limit), "findAfter", after, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Todo> findByQuery(TodoQuery query, TodoQuery.Position after, int limit) {
+        log.debug("Fetching {} todos matching {} after: {}", limit, query, after);
+        return coalesced(() -> todoRepository.findByQuery(query, after, limit), "findByQuery", query, after, limit);
+    }
+
+    /**
+     * Ranked full-text search; bypasses the cache since hits depend on the query.
+     */
+    @Transactional(readOnly = true)
+    public List<TodoSearchHit> search(String query, TodoSearchHit.Position after, int limit) {
+        log.debug("Searching {} todos for: {}", limit, query);
+        return coalesced(() -> todoRepository.search(query, after, limit), "search", query, after, limit);
+    }
+
+    /**
+     * Reads the rollups only, so the cost depends on the length of the range and not on the number of todos.
+     * @return totals and one entry per day in [from, to), zero for days without todos
+     */
+    @Transactional(readOnly = true)
+    public TodoStats stats(LocalDate from, LocalDate to) {
+        log.debug("Fetching todo stats from {} until {}", from, to);
+        TodoStats recorded = statsRepository.find(from, to);
+        Map<LocalDate, TodoStats.Day> recordedDays = recorded.days().stream()
+                .collect(Collectors.toMap(TodoStats.Day::date, Function.identity()));
+        List<TodoStats.Day> days = from.datesUntil(to)
+                .map(date -> recordedDays.getOrDefault(date, new TodoStats.Day(date, 0, 0)))
+                .toList();
+        return new TodoStats(recorded.open(), recorded.completed(), days);
+    }
+
+    /**
+     * Recomputes the stats rollups from the todos, correcting drift left by writes made outside this service.
+     * @return number of corrected rollup entries
+     */
+    public int reconcileStats() {
+        int corrected = statsRepository.reconcile();
+        if (corrected > 0) {
+            log.warn("Reconciled todo stats: {} rollup entries had drifted", corrected);
+        } else {
+            log.debug("Reconciled todo stats: no drift");
+        }
+        return corrected;
+    }
+
+    /**
+     * Pushes every todo to the sink while the read transaction keeps the cursor open.
+     * @return number of exported todos
+     */
+    @Transactional(readOnly = true)
+    public long exportAll(Consumer<Todo> sink) {
+        log.info("Exporting all todos");
+        long count = 0;
+        try (Stream<Todo> todos = todoRepository.streamAll()) {
+            Iterator<Todo> iterator = todos.iterator();
+            while (iterator.hasNext()) {
+                sink.accept(iterator.next());
+                count++;
+            }
+        }
+        log.info("Exported {} todos", count);
+        return count;
+    }
+
+    /**
+     * Inserts every todo in one transaction, {@value #IMPORT_CHUNK_SIZE} at a time, so heap use does not depend on
+     * how many there are. Each chunk is one bulk insert plus one outbox append; stats are applied once at the end.
+     * <p>
+     * The import is all-or-nothing on purpose. Every row gets a new id, so after a failure halfway through, a client
+     * resending the file would duplicate the chunks already committed and has no way to tell which those are. The
+     * cost is one long transaction: its outbox events reach the relay, and its rows other readers, only at the end.
+     * @return number of imported todos
+     */
+    public long importAll(Iterator<Todo> todos) {
+        log.info("Importing todos");
+        TodoStatsDelta statsDelta = new TodoStatsDelta();
+        List<Todo> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        long count = 0;
+        while (todos.hasNext()) {
+            chunk.add(todos.next());
+            if (chunk.size() == IMPORT_CHUNK_SIZE || !todos.hasNext()) {
+                List<Todo> inserted = todoRepository.insertAll(chunk);
+                eventOutbox.append(inserted.stream().map(TodoChangeEvent::created).toList());
+                inserted.forEach(statsDelta::created);
+                count += inserted.size();
+                chunk.clear();
+            }
+        }
+        statsRepository.apply(statsDelta);
+        afterCommit(reads::forgetAll);
+        log.info("Imported {} todos", count);
+        return count;
     }
 
     @Override
     public Todo update(String id, Todo entity) {
+        return update(id, entity, null);
+    }
+
+    @Override
+    public Todo update(String id, Todo entity, Long expectedVersion) {
         log.info("Updating todo with id: {}", id);
-        Todo existingTodo = todoRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Todo", "id", id));
-        Todo updatedTodo = existingTodo.withUpdates(entity.getTitle(), entity.getDescription());
-        Todo saved = todoRepository.save(updatedTodo);
+        Todo saved = todoRepository.update(id, entity.getTitle(), entity.getDescription(), expectedVersion)
+                .orElseThrow(() -> missingOrStale(id, expectedVersion));
+        eventOutbox.append(TodoChangeEvent.updated(saved));
+        todoCache.evictAfterCommit(id);
+        forgetReadsAfterCommit(Set.of(id));
         log.info("Updated todo with id: {}", saved.getId());
         return saved;
     }
 
     @Override
     public void delete(String id) {
+        delete(id, null);
+    }
+
+    @Override
+    public void delete(String id, Long expectedVersion) {
         log.info("Deleting todo with id: {}", id);
-        if (!todoRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Todo", "id", id);
-        }
-        todoRepository.deleteById(id);
+        Todo deleted = todoRepository.deleteIfExists(id, expectedVersion)
+                .orElseThrow(() -> missingOrStale(id, expectedVersion));
+        eventOutbox.append(TodoChangeEvent.deleted(id, deleted.getVersion()));
+        statsRepository.apply(new TodoStatsDelta().deleted(deleted));
+        todoCache.evictAfterCommit(id);
+        forgetReadsAfterCommit(Set.of(id));
         log.info("Deleted todo with id: {}", id);
     }
 
@@ -68,13 +260,181 @@ public class TodoService implements CrudService<Todo, String> {
         return todoRepository.existsById(id);
     }
 
+    /**
+     * Applies all operations in one transaction with a fixed number of round trips:
+     * one SELECT for the referenced rows, batched INSERT/UPDATE statements, one DELETE, one batched outbox INSERT
+     * and one set of stats upserts.
+     * Operations on ids that do not exist (or were deleted earlier in the batch) are reported as NOT_FOUND.
+     */
+    public List<TodoBatchResult> executeBatch(List<TodoBatchOperation> operations) {
+        log.info("Executing batch of {} todo operations", operations.size());
+        Set<String> referencedIds = operations.stream()
+                .map(TodoBatchOperation::id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<String, Todo> existing = todoRepository.findAllById(referencedIds).stream()
+                .collect(Collectors.toMap(Todo::getId, Function.identity()));
+
+        List<Todo> toSave = new ArrayList<>();
+        List<Integer> saveIndexes = new ArrayList<>();
+        Map<String, Todo> toDelete = new LinkedHashMap<>();
+        TodoStatsDelta statsDelta = new TodoStatsDelta();
+        TodoBatchResult[] results = new TodoBatchResult[operations.size()];
+
+        for (int i = 0; i < operations.size(); i++) {
+            TodoBatchOperation operation = operations.get(i);
+            switch (operation.action()) {
+                case CREATE -> {
+                    toSave.add(operation.todo());
+                    saveIndexes.add(i);
+                }
+                case UPDATE -> {
+                    Todo current = existing.get(operation.id());
+                    if (current == null) {
+                        results[i] = notFound(i, operation);
+                    } else {
+                        Todo updated = current.withUpdates(operation.todo().getTitle(), operation.todo().getDescription());
+                        existing.put(updated.getId(), updated);
+                        toSave.add(updated);
+                        saveIndexes.add(i);
+                    }
+                }
+                case DELETE -> {
+                    Todo removed = existing.remove(operation.id());
+                    if (removed == null) {
+                        results[i] = notFound(i, operation);
+                    } else {
+                        toDelete.put(operation.id(), removed);
+                        statsDelta.deleted(removed);
+                        results[i] = new TodoBatchResult(i, operation.action(), operation.id(), TodoBatchResult.Outcome.DELETED, null);
+                    }
+                }
+            }
+        }
+
+        List<Todo> saved = todoRepository.saveAll(toSave);
+        for (int j = 0; j < saved.size(); j++) {
+            int index = saveIndexes.get(j);
+            TodoBatchOperation operation = operations.get(index);
+            TodoBatchResult.Outcome outcome = operation.action() == TodoBatchOperation.Action.CREATE
+                    ? TodoBatchResult.Outcome.CREATED
+                    : TodoBatchResult.Outcome.UPDATED;
+            results[index] = new TodoBatchResult(index, operation.action(), saved.get(j).getId(), outcome, saved.get(j));
+            if (outcome == TodoBatchResult.Outcome.CREATED) {
+                statsDelta.created(saved.get(j));
+            }
+        }
+        todoRepository.deleteAllById(toDelete.keySet());
+        eventOutbox.append(toEvents(results, toDelete));
+        statsRepository.apply(statsDelta);
+        referencedIds.forEach(todoCache::evictAfterCommit);
+        Set<String> writtenIds = new LinkedHashSet<>(referencedIds);
+        saved.forEach(todo -> writtenIds.add(todo.getId()));
+        forgetReadsAfterCommit(writtenIds);
+
+        log.info("Executed batch: {} saved, {} deleted", saved.size(), toDelete.size());
+        return List.of(results);
+    }
+
+    /**
+     * Deletions follow the versions in operation order, so a todo updated and then deleted in one batch gets its
+     * deletion after the update.
+     */
+    private List<TodoChangeEvent> toEvents(TodoBatchResult[] results, Map<String, Todo> deleted) {
+        Map<String, Long> lastVersions = new HashMap<>();
+        deleted.forEach((id, todo) -> lastVersions.put(id, todo.getVersion()));
+        List<TodoChangeEvent> events = new ArrayList<>(results.length);
+        for (TodoBatchResult result : results) {
+            TodoChangeEvent event = switch (result.outcome()) {
+                case CREATED -> TodoChangeEvent.created(result.todo());
+                case UPDATED -> TodoChangeEvent.updated(result.todo());
+                case DELETED -> TodoChangeEvent.deleted(result.id(), lastVersions.get(result.id()));
+                case NOT_FOUND -> null;
+            };
+            if (event != null) {
+                events.add(event);
+                lastVersions.put(event.todoId(), event.version());
+            }
+        }
+        return events;
+    }
+
+    private TodoBatchResult notFound(int index, TodoBatchOperation operation) {
+        return new TodoBatchResult(index, operation.action(), operation.id(), TodoBatchResult.Outcome.NOT_FOUND, null);
+    }
+
     public Todo toggleCompletion(String id) {
+        return toggleCompletion(id, null);
+    }
+
+    public Todo toggleCompletion(String id, Long expectedVersion) {
+        return groupCommitted(() -> toggle(id, expectedVersion));
+    }
+
+    private Todo toggle(String id, Long expectedVersion) {
         log.info("Toggling completion for todo with id: {}", id);
-        Todo existingTodo = todoRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Todo", "id", id));
-        Todo toggledTodo = existingTodo.withCompletion(!existingTodo.isCompleted());
-        Todo saved = todoRepository.save(toggledTodo);
+        Todo saved = todoRepository.toggleCompletion(id, expectedVersion)
+                .orElseThrow(() -> missingOrStale(id, expectedVersion));
+        eventOutbox.append(TodoChangeEvent.updated(saved));
+        statsRepository.apply(new TodoStatsDelta().toggled(saved));
+        todoCache.evictAfterCommit(id);
+        forgetReadsAfterCommit(Set.of(id));
         log.info("Toggled todo with id: {}, completed: {}", saved.getId(), saved.isCompleted());
         return saved;
     }
+
+    /**
+     * Runs the read through {@link #reads} under a key made of the operation and its arguments. A caller in a
+     * read-write transaction reads on its own, as it may see its uncommitted writes and must not share them.
+     */
+    private <T> T coalesced(Supplier<T> read, Object... key) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return read.get();
+        }
+        return reads.execute(Arrays.asList(key), read);
+    }
+
+    /**
+     * Hands the write to the group committer when this call opened its own transaction, which then stays empty and,
+     * behind the lazy connection proxy of DataSourceConfig, holds no pooled connection while the caller waits. A
+     * write joining a caller's transaction runs in it, so it commits or rolls back with the caller's work.
+     */
+    private Todo groupCommitted(Supplier<Todo> write) {
+        if (groupCommitter.isEnabled() && TransactionAspectSupport.currentTransactionStatus().isNewTransaction()) {
+            return groupCommitter.execute(write);
+        }
+        return write.get();
+    }
+
+    /**
+     * Once committed, the write can change the rows of the ids it wrote and the result of any listing, query or
+     * search; lookups of other ids stay shared.
+     */
+    private void forgetReadsAfterCommit(Set<String> writtenIds) {
+        afterCommit(() -> reads.forget(key -> !FIND_BY_ID.equals(key.get(0)) || writtenIds.contains(key.get(1))));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * A conditional write that matched no row costs one extra lookup to tell a stale version from a missing row.
+     */
+    private RuntimeException missingOrStale(String id, Long expectedVersion) {
+        if (expectedVersion != null && todoRepository.existsById(id)) {
+            return new PreconditionFailedException("Todo", id, expectedVersion);
+        }
+        return new ResourceNotFoundException("Todo", "id", id);
+    }
 }
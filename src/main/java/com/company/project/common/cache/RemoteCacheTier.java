@@ -0,0 +1,28 @@
+package com.company.project.common.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Shared, cross-node cache tier (e.g. Redis) with a broadcast channel for invalidations.
+ * Implementations may throw on connectivity problems; {@link TwoTierCache} absorbs them.
+ */
+public interface RemoteCacheTier {
+
+    Optional<String> get(String key);
+
+    void set(String key, String value, Duration ttl);
+
+    void delete(String key);
+
+    /**
+     * Atomically increments a counter, starting from 0 when the key is missing.
+     * @return the value after the increment
+     */
+    long increment(String key);
+
+    void publish(String channel, String message);
+
+    void subscribe(String channel, Consumer<String> listener);
+}
@@ -0,0 +1,297 @@
+package com.company.project.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache with a bounded in-process tier (L1) in front of an optional shared tier (L2).
+ * Evictions are broadcast to other nodes so their L1 copies are dropped as well.
+ * When the shared tier fails it is bypassed for a back-off period and the cache runs L1-only.
+ * <p>
+ * Shared keys carry a generation. An eviction that could not reach the shared tier makes the node move every node to
+ * a new generation once the tier is back, so entries written before the eviction are never read again and expire by
+ * TTL. A value read while its key is being evicted, e.g. the pre-commit row read alongside a write, is not cached:
+ * keys evicted since a read began are not stored, and a node deletes its recent shared writes of a key when it hears
+ * of that key's eviction from another node.
+ * @param <V> Cached value type
+ */
+@Slf4j
+public class TwoTierCache<V> {
+
+    /**
+     * How long evictions and this node's shared writes are remembered; reads and pub/sub delivery must finish sooner.
+     */
+    private static final Duration RACE_WINDOW = Duration.ofSeconds(30);
+
+    private final String name;
+    private final Cache<String, V> local;
+    private final RemoteCacheTier remote;
+    private final Function<V, String> encoder;
+    private final Function<String, V> decoder;
+    private final Duration remoteTtl;
+    private final Duration remoteBackoff;
+    private final String invalidationChannel;
+    private final String generationKey;
+
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Cache<String, Long> invalidatedAt;
+    private final Cache<String, Boolean> recentRemoteWrites;
+    private final ReentrantLock resumeLock = new ReentrantLock();
+
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter remoteErrors;
+
+    private volatile long remoteSuspendedUntil;
+    private volatile boolean resumeNeeded = true;
+    private volatile boolean evictionsLost;
+    private volatile long generation;
+
+    /**
+     * @param local Caffeine cache built with {@code recordStats()} so L1 hit/miss metrics are exported
+     * @param remote shared tier, or null for an L1-only cache
+     */
+    public TwoTierCache(String name, Cache<String, V> local, RemoteCacheTier remote,
+                        Function<V, String> encoder, Function<String, V> decoder,
+                        Duration remoteTtl, Duration remoteBackoff, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.encoder = encoder;
+        this.decoder = decoder;
+        this.remoteTtl = remoteTtl;
+        this.remoteBackoff = remoteBackoff;
+        this.invalidationChannel = name + ":invalidate";
+        this.generationKey = name + ":generation";
+        this.invalidatedAt = Caffeine.newBuilder().expireAfterWrite(RACE_WINDOW).build();
+        this.recentRemoteWrites = Caffeine.newBuilder().expireAfterWrite(RACE_WINDOW).build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, local, name);
+        this.remoteHits = remoteCounter(meterRegistry, "hit");
+        this.remoteMisses = remoteCounter(meterRegistry, "miss");
+        this.remoteErrors = remoteCounter(meterRegistry, "error");
+
+        if (remote != null) {
+            try {
+                remote.subscribe(invalidationChannel, this::evictedElsewhere);
+                remote.subscribe(generationKey, message -> moveTo(Long.parseLong(message)));
+            } catch (RuntimeException ex) {
+                log.warn("Could not subscribe to {} invalidations, other nodes' evictions will only expire by TTL: {}",
+                        name, ex.getMessage());
+            }
+        }
+    }
+
+    public Optional<V> get(String key, Function<String, Optional<V>> loader) {
+        V cached = local.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long readStart = invalidations.get();
+        if (remoteAvailable()) {
+            Optional<V> shared = remoteCall(() -> remote.get(remoteKey(key)).map(decoder).orElse(null));
+            if (shared.isPresent()) {
+                remoteHits.increment();
+                putLocal(key, shared.get(), readStart);
+                return shared;
+            }
+            remoteMisses.increment();
+        }
+        Optional<V> loaded = loader.apply(key);
+        loaded.ifPresent(value -> {
+            putLocal(key, value, readStart);
+            putRemote(key, value, readStart);
+        });
+        return loaded;
+    }
+
+    /**
+     * Local-tier lookup only; never touches the shared tier or the loader.
+     */
+    public Optional<V> peek(String key) {
+        return Optional.ofNullable(local.getIfPresent(key));
+    }
+
+    /**
+     * Drops the key on this node and in the shared tier, and tells other nodes to drop it.
+     */
+    public void evict(String key) {
+        invalidate(key);
+        if (remote == null) {
+            return;
+        }
+        boolean shared = remoteCall(() -> {
+            remote.delete(remoteKey(key));
+            remote.publish(invalidationChannel, key);
+            return Boolean.TRUE;
+        }).isPresent();
+        if (!shared) {
+            // Also when the tier was resumed meanwhile, so the next shared call moves to a new generation
+            evictionsLost = true;
+            resumeNeeded = true;
+        }
+    }
+
+    /**
+     * Evicts once the surrounding transaction commits, so no node can re-cache the pre-commit row.
+     * Evicts immediately when no transaction is active.
+     */
+    public void evictAfterCommit(String key) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(key);
+                }
+            });
+        } else {
+            evict(key);
+        }
+    }
+
+    /**
+     * Each put checks again after writing, so an eviction landing between the check and the write still wins.
+     */
+    private void putLocal(String key, V value, long readStart) {
+        if (evictedSince(key, readStart)) {
+            return;
+        }
+        local.put(key, value);
+        if (evictedSince(key, readStart)) {
+            local.invalidate(key);
+        }
+    }
+
+    /**
+     * Recorded as a recent write before writing, so an eviction heard of after the last check deletes it again.
+     */
+    private void putRemote(String key, V value, long readStart) {
+        recentRemoteWrites.put(key, Boolean.TRUE);
+        if (evictedSince(key, readStart)) {
+            return;
+        }
+        remoteCall(() -> {
+            remote.set(remoteKey(key), encoder.apply(value), remoteTtl);
+            return null;
+        });
+        if (evictedSince(key, readStart)) {
+            remoteCall(() -> {
+                remote.delete(remoteKey(key));
+                return null;
+            });
+        }
+    }
+
+    private void evictedElsewhere(String key) {
+        invalidate(key);
+        if (recentRemoteWrites.getIfPresent(key) != null) {
+            recentRemoteWrites.invalidate(key);
+            remoteCall(() -> {
+                remote.delete(remoteKey(key));
+                return null;
+            });
+        }
+    }
+
+    private void invalidate(String key) {
+        invalidatedAt.put(key, invalidations.incrementAndGet());
+        local.invalidate(key);
+    }
+
+    private boolean evictedSince(String key, long readStart) {
+        Long evicted = invalidatedAt.getIfPresent(key);
+        return evicted != null && evicted > readStart;
+    }
+
+    private <T> Optional<T> remoteCall(Supplier<T> call) {
+        if (!remoteAvailable() || !resumeRemote()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(call.get());
+        } catch (RuntimeException ex) {
+            suspendRemote(ex);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Reads the current generation before the first shared call and after every back-off, or moves every node to a
+     * new one when evictions were lost meanwhile. L1 is cleared too, as invalidations sent during the outage were
+     * missed.
+     * @return whether the shared tier may be used
+     */
+    private boolean resumeRemote() {
+        if (!resumeNeeded) {
+            return true;
+        }
+        resumeLock.lock();
+        try {
+            if (!resumeNeeded) {
+                return true;
+            }
+            if (evictionsLost) {
+                evictionsLost = false;
+                long next = remote.increment(generationKey);
+                remote.publish(generationKey, Long.toString(next));
+                log.warn("Evictions from cache {} were lost while its shared tier was down, moved to generation {}",
+                        name, next);
+                moveTo(next);
+            } else {
+                moveTo(remote.get(generationKey).map(Long::parseLong).orElse(0L));
+            }
+            local.invalidateAll();
+            resumeNeeded = false;
+            return true;
+        } catch (RuntimeException ex) {
+            suspendRemote(ex);
+            return false;
+        } finally {
+            resumeLock.unlock();
+        }
+    }
+
+    private void moveTo(long next) {
+        if (next > generation) {
+            generation = next;
+            local.invalidateAll();
+        }
+    }
+
+    private void suspendRemote(RuntimeException ex) {
+        remoteErrors.increment();
+        remoteSuspendedUntil = System.currentTimeMillis() + remoteBackoff.toMillis();
+        resumeNeeded = true;
+        log.warn("Shared tier of cache {} unavailable, serving from local tier for {}: {}",
+                name, remoteBackoff, ex.getMessage());
+    }
+
+    private boolean remoteAvailable() {
+        return remote != null && System.currentTimeMillis() >= remoteSuspendedUntil;
+    }
+
+    private String remoteKey(String key) {
+        return name + ":" + generation + ":" + key;
+    }
+
+    private Counter remoteCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.remote.requests")
+                .description("Shared cache tier lookups")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
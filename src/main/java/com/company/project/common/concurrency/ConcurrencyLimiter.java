@@ -0,0 +1,25 @@
+package com.company.project.common.concurrency;
+
+/**
+ * Bounds how many calls run at once; a call that finds no room is refused rather than queued.
+ */
+public interface ConcurrencyLimiter {
+
+    String getName();
+
+    /**
+     * @return true when the call may proceed; it must then be followed by exactly one {@link #release(long)}
+     */
+    boolean tryAcquire();
+
+    /**
+     * @param rttNanos how long the call ran, or 0 when it should not count as a latency sample
+     */
+    void release(long rttNanos);
+
+    int getLimit();
+
+    int getInFlight();
+
+    long getRejectedCount();
+}
@@ -0,0 +1,26 @@
+package com.company.project.common.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+final class ConcurrencyLimits {
+
+    private ConcurrencyLimits() {
+    }
+
+    /**
+     * Takes a slot below {@code limit} without locking, counting the call as rejected when there is none.
+     */
+    static boolean tryIncrement(AtomicInteger inFlight, int limit, LongAdder rejected) {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.company.project.common.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bulkhead with a fixed number of concurrent calls.
+ */
+public class FixedConcurrencyLimiter implements ConcurrencyLimiter {
+
+    private final String name;
+    private final int limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    public FixedConcurrencyLimiter(String name, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Bulkhead " + name + " needs a limit of at least 1");
+        }
+        this.name = name;
+        this.limit = limit;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        return ConcurrencyLimits.tryIncrement(inFlight, limit, rejected);
+    }
+
+    @Override
+    public void release(long rttNanos) {
+        inFlight.decrementAndGet();
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,113 @@
+package com.company.project.common.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that follows latency: it compares each call's time with a long-term average and shrinks the
+ * limit as calls slow down (the gradient), then grows it by a queue allowance of √limit while they stay fast.
+ * Once the database slows, excess calls are refused in microseconds instead of waiting on the pool.
+ * <p>
+ * The limit only grows while at least half of it is in use, so an idle service does not drift to the maximum.
+ * Acquiring is a CAS; samples are folded in under a try-lock and skipped while another thread holds it.
+ */
+public class GradientConcurrencyLimiter implements ConcurrencyLimiter {
+
+    private static final int WARMUP_SAMPLES = 10;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final double longRttDecay;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private final ReentrantLock sampleLock = new ReentrantLock();
+    private volatile int limit;
+
+    // Guarded by sampleLock
+    private double estimatedLimit;
+    private double longRtt;
+    private long samples;
+
+    /**
+     * @param rttTolerance how much slower than the long-term average calls may get before the limit shrinks
+     * @param smoothing weight of each new estimate, between 0 and 1
+     * @param longWindow samples in the long-term average
+     */
+    public GradientConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      double rttTolerance, double smoothing, int longWindow) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+        this.longRttDecay = 2.0 / (longWindow + 1);
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        return ConcurrencyLimits.tryIncrement(inFlight, limit, rejected);
+    }
+
+    @Override
+    public void release(long rttNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (rttNanos > 0 && sampleLock.tryLock()) {
+            try {
+                sample(rttNanos, inFlightBefore);
+            } finally {
+                sampleLock.unlock();
+            }
+        }
+    }
+
+    private void sample(long rtt, int inFlightAtSample) {
+        if (samples < WARMUP_SAMPLES) {
+            longRtt = (longRtt * samples + rtt) / (samples + 1);
+        } else {
+            longRtt += (rtt - longRtt) * longRttDecay;
+        }
+        samples++;
+        // Recover faster after a slow period, so the average does not keep the limit high once latency is back
+        if (longRtt / rtt > 2) {
+            longRtt *= 0.95;
+        }
+        if (inFlightAtSample < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / rtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+}
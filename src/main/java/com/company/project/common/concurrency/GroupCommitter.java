@@ -0,0 +1,269 @@
+package com.company.project.common.concurrency;
+
+import com.company.project.common.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs writes from many callers in shared transactions, so a database bound by commit latency does one commit per
+ * batch rather than per write. Callers block until their own write has committed, or get its exception.
+ * <p>
+ * A committer thread takes writes from a bounded queue. It waits up to {@code maxDelay} after the first write of a
+ * batch for more to arrive, or stops sooner at {@code maxBatchSize}. Each write runs under its own savepoint, so a
+ * write that throws is rolled back alone and the rest of the batch still commits together. Only when the commit
+ * itself fails are the writes run again one per transaction; writes must therefore be safe to run again after a
+ * rollback. When the queue is full, callers are turned away with {@link ServiceOverloadedException}.
+ * <p>
+ * A committer built with {@link #disabled} runs every write in the caller's thread.
+ */
+@Slf4j
+public class GroupCommitter implements AutoCloseable {
+
+    private static final long IDLE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final String name;
+    private final TransactionOperations transactions;
+    private final TransactionOperations savepoints;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final BlockingQueue<Write<?>> queue;
+    private final Thread committer;
+
+    private final DistributionSummary batchSizes;
+    private final Timer queueWait;
+    private final Counter retries;
+
+    private volatile boolean running = true;
+
+    /**
+     * @param transactions runs each batch in one transaction
+     * @param savepoints runs each write of a batch within that transaction, rolling back only the write when it throws
+     * @param maxDelay how long a batch waits for more writes after its first
+     * @param queueCapacity writes that may wait for the committer before callers are turned away
+     */
+    public GroupCommitter(String name, TransactionOperations transactions, TransactionOperations savepoints,
+                          int maxBatchSize, Duration maxDelay, int queueCapacity, MeterRegistry meterRegistry) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Group commit " + name + " needs a batch size of at least 1");
+        }
+        this.name = name;
+        this.transactions = transactions;
+        this.savepoints = savepoints;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        this.batchSizes = DistributionSummary.builder("group.commit.batch.size")
+                .description("Writes committed per transaction")
+                .tag("name", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("group.commit.queue.wait")
+                .description("Time from a write being queued to its batch starting")
+                .tag("name", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.retries = Counter.builder("group.commit.retries")
+                .description("Failed batch commits whose writes were run again one per transaction")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("group.commit.queue.size", queue, BlockingQueue::size)
+                .description("Writes waiting for the committer")
+                .tag("name", name)
+                .register(meterRegistry);
+
+        this.committer = Thread.ofPlatform()
+                .name("group-commit-" + name)
+                .daemon()
+                .start(this::commitLoop);
+    }
+
+    private GroupCommitter(String name) {
+        this.name = name;
+        this.transactions = null;
+        this.savepoints = null;
+        this.maxBatchSize = 1;
+        this.maxDelayNanos = 0;
+        this.queue = null;
+        this.committer = null;
+        this.batchSizes = null;
+        this.queueWait = null;
+        this.retries = null;
+        this.running = false;
+    }
+
+    /**
+     * A committer that runs every write in the caller's thread and transaction.
+     */
+    public static GroupCommitter disabled(String name) {
+        return new GroupCommitter(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnabled() {
+        return committer != null;
+    }
+
+    /**
+     * Queues the write and waits until its batch has committed. Not to be called once {@link #close} has begun.
+     * @return what the write returned
+     */
+    public <T> T execute(Supplier<T> write) {
+        if (committer == null) {
+            return write.get();
+        }
+        if (!running) {
+            throw new IllegalStateException("Group commit " + name + " is closed");
+        }
+        Write<T> queued = new Write<>(write, System.nanoTime());
+        if (!queue.offer(queued)) {
+            throw new ServiceOverloadedException(name);
+        }
+        return Futures.join(queued.result);
+    }
+
+    /**
+     * Commits the writes already queued, then stops the committer thread.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        if (committer == null) {
+            return;
+        }
+        running = false;
+        committer.join();
+    }
+
+    private void commitLoop() {
+        List<Write<?>> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Write<?> first = queue.poll(IDLE_POLL_NANOS, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() == maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    Write<?> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                commit(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                log.warn("Group commit {} interrupted, failing {} queued writes", name, queue.size() + batch.size());
+                fail(batch, ex);
+                break;
+            } catch (RuntimeException | Error ex) {
+                log.error("Group commit {} failed outside a transaction", name, ex);
+                fail(batch, ex);
+            } finally {
+                batch.clear();
+            }
+        }
+        // Writes queued while the loop was exiting
+        fail(batch, new IllegalStateException("Group commit " + name + " is closed"));
+    }
+
+    private void commit(List<Write<?>> batch) {
+        long start = System.nanoTime();
+        batch.forEach(write -> queueWait.record(start - write.queuedAt, TimeUnit.NANOSECONDS));
+        batchSizes.record(batch.size());
+        Object[] results = new Object[batch.size()];
+        Throwable[] failures = new Throwable[batch.size()];
+        try {
+            transactions.executeWithoutResult(status -> {
+                for (int i = 0; i < batch.size(); i++) {
+                    Write<?> write = batch.get(i);
+                    try {
+                        results[i] = savepoints.execute(savepoint -> write.run());
+                    } catch (RuntimeException | Error ex) {
+                        failures[i] = ex;
+                    }
+                }
+            });
+        } catch (RuntimeException | Error ex) {
+            if (batch.size() == 1) {
+                batch.get(0).result.completeExceptionally(ex);
+                return;
+            }
+            retries.increment();
+            log.debug("Group commit {} of {} writes failed, running them one by one: {}", name, batch.size(), ex.getMessage());
+            for (Write<?> write : batch) {
+                try {
+                    write.complete(transactions.execute(status -> write.run()));
+                } catch (RuntimeException | Error writeEx) {
+                    write.result.completeExceptionally(writeEx);
+                }
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            if (failures[i] != null) {
+                batch.get(i).result.completeExceptionally(failures[i]);
+            } else {
+                batch.get(i).complete(results[i]);
+            }
+        }
+    }
+
+    /**
+     * Fails the batch and, once the committer is stopping, everything still queued.
+     */
+    private void fail(List<Write<?>> batch, Throwable cause) {
+        batch.forEach(write -> write.result.completeExceptionally(cause));
+        if (running && !Thread.currentThread().isInterrupted()) {
+            return;
+        }
+        Write<?> queued;
+        while ((queued = queue.poll()) != null) {
+            queued.result.completeExceptionally(cause);
+        }
+    }
+
+    private static final class Write<T> {
+
+        private final Supplier<T> write;
+        private final long queuedAt;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private Write(Supplier<T> write, long queuedAt) {
+            this.write = write;
+            this.queuedAt = queuedAt;
+        }
+
+        private T run() {
+            return write.get();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void complete(Object value) {
+            result.complete((T) value);
+        }
+    }
+}
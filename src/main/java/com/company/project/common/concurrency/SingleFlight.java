@@ -0,0 +1,91 @@
+package com.company.project.common.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls with an equal key: the first caller (the leader) runs the call and every caller that
+ * arrives while it is running waits for and shares its result or exception. Nothing is kept once the call returns,
+ * so this dedupes work in flight and is not a cache.
+ * <p>
+ * Callers are counted into {@code singleflight.calls} as {@code leader} or {@code coalesced}; the coalescing ratio is
+ * coalesced over all calls. Waiting parks on a future rather than a monitor, so it does not pin virtual threads.
+ * @param <K> Key type; equal keys must identify calls with the same result type
+ */
+public class SingleFlight<K> {
+
+    private final String name;
+    private final Map<K, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.leaders = callCounter(meterRegistry, "leader");
+        this.coalesced = callCounter(meterRegistry, "coalesced");
+        Gauge.builder("singleflight.in.flight", inFlight, Map::size)
+                .description("Distinct calls currently running")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Runs the call, or joins the one already running for the key.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V execute(K key, Supplier<V> call) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            coalesced.increment();
+            return (V) Futures.join(running);
+        }
+        leaders.increment();
+        V result;
+        try {
+            result = call.get();
+        } catch (RuntimeException | Error ex) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(ex);
+            throw ex;
+        }
+        // Removed before completing, so a caller arriving from here on starts a fresh call
+        inFlight.remove(key, flight);
+        flight.complete(result);
+        return result;
+    }
+
+    /**
+     * Lets callers arriving from now on start fresh calls instead of joining ones that began earlier, e.g. once a
+     * write has committed and a running read may predate it. Callers already waiting still get the earlier result.
+     */
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    /**
+     * Like {@link #forgetAll}, for the calls whose key matches only.
+     */
+    public void forget(Predicate<? super K> keys) {
+        inFlight.keySet().removeIf(keys);
+    }
+
+    private Counter callCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("singleflight.calls")
+                .description("Calls made through the single flight, as leader or joining a running call")
+                .tag("name", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
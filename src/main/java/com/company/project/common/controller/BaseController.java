@@ -2,13 +2,21 @@ package com.company.project.common.controller;
 
 import com.company.project.common.service.CrudService;
 import com.company.project.common.service.MapperService;
+import com.company.project.common.service.PaginationService;
+import com.company.project.common.service.PaginationService.CursorPageResponse;
 import com.company.project.common.exception.ResourceNotFoundException;
+import com.company.project.common.util.ETagUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Base controller providing common CRUD operations
@@ -22,21 +30,32 @@ public abstract class BaseController<D, REQ, RES, ID> {
     
     protected final CrudService<D, ID> service;
     protected final MapperService<D, REQ, RES> mapper;
+    protected final PaginationService pagination;
+    protected final RepresentationNegotiator representations;
     protected final String resourceName;
     
-    protected BaseController(CrudService<D, ID> service, MapperService<D, REQ, RES> mapper, String resourceName) {
+    protected BaseController(CrudService<D, ID> service, MapperService<D, REQ, RES> mapper,
+                             PaginationService pagination, RepresentationNegotiator representations,
+                             String resourceName) {
         this.service = service;
         this.mapper = mapper;
+        this.pagination = pagination;
+        this.representations = representations;
         this.resourceName = resourceName;
     }
     
+    public String getResourceName() {
+        return resourceName;
+    }
+    
     protected ResponseEntity<RES> create(REQ request) {
         log.info("Creating new {}", resourceName);
         D entity = mapper.toEntity(request);
         D created = service.create(entity);
         URI location = buildLocationUri(created);
         log.info("Created {} at location: {}", resourceName, location);
-        return ResponseEntity.created(location).body(mapper.toResponse(created));
+        return tagged(ResponseEntity.created(location), getEntityVersion(created))
+                .body(mapper.toResponse(created));
     }
     
     protected ResponseEntity<List<RES>> findAll() {
@@ -47,28 +66,86 @@ public abstract class BaseController<D, REQ, RES, ID> {
         return ResponseEntity.ok(responses);
     }
     
+    protected ResponseEntity<CursorPageResponse<RES>> findPage(String cursor, Integer size) {
+        int pageSize = pagination.resolvePageSize(size);
+        String afterKey = pagination.decodeCursor(cursor);
+        ID after = afterKey != null ? toId(afterKey) : null;
+        log.debug("Fetching {} page of {} after: {}", resourceName, pageSize, after);
+        List<D> rows = service.findAfter(after, pageSize + 1);
+        CursorPageResponse<D> page = pagination.createCursorPageResponse(
+                rows, pageSize, entity -> String.valueOf(getEntityId(entity)));
+        List<RES> responses = page.content().stream().map(mapper::toResponse).toList();
+        return ResponseEntity.ok(new CursorPageResponse<>(responses, page.nextCursor(), page.pageSize(), page.hasNext()));
+    }
+    
     protected ResponseEntity<RES> findById(ID id) {
+        return findById(id, null);
+    }
+    
+    /**
+     * Answers a matching If-None-Match with 304 from the version alone, without loading or serializing the entity.
+     */
+    protected ResponseEntity<RES> findById(ID id, String ifNoneMatch) {
         log.debug("Fetching {} by id: {}", resourceName, id);
+        if (ifNoneMatch != null) {
+            long version = service.findVersion(id)
+                    .orElseThrow(() -> new ResourceNotFoundException(resourceName, "id", id));
+            String eTag = ETagUtil.of(version, representation().orElse(null));
+            if (ETagUtil.matchesIfNoneMatch(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+        }
         D entity = service.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(resourceName, "id", id));
-        return ResponseEntity.ok(mapper.toResponse(entity));
+        return tagged(ResponseEntity.ok(), getEntityVersion(entity))
+                .body(mapper.toResponse(entity));
     }
     
     protected ResponseEntity<RES> update(ID id, REQ request) {
+        return update(id, request, null);
+    }
+    
+    protected ResponseEntity<RES> update(ID id, REQ request, String ifMatch) {
         log.info("Updating {} with id: {}", resourceName, id);
         D entity = mapper.toEntity(request);
-        D updated = service.update(id, entity);
-        return ResponseEntity.ok(mapper.toResponse(updated));
+        D updated = service.update(id, entity, ETagUtil.parseIfMatch(ifMatch));
+        return tagged(ResponseEntity.ok(), getEntityVersion(updated))
+                .body(mapper.toResponse(updated));
     }
     
     protected ResponseEntity<Void> delete(ID id) {
+        return delete(id, null);
+    }
+    
+    protected ResponseEntity<Void> delete(ID id, String ifMatch) {
         log.info("Deleting {} with id: {}", resourceName, id);
-        service.delete(id);
+        service.delete(id, ETagUtil.parseIfMatch(ifMatch));
         return ResponseEntity.noContent().build();
     }
     
     protected abstract Object getEntityId(D entity);
     
+    protected abstract ID toId(String value);
+    
+    protected abstract long getEntityVersion(D entity);
+    
+    protected abstract Class<RES> getResponseType();
+    
+    /**
+     * Tags the response with the version in the negotiated representation and writes the body in exactly that
+     * representation, so the tag always names the bytes that are sent.
+     */
+    protected ResponseEntity.BodyBuilder tagged(ResponseEntity.BodyBuilder response, long version) {
+        Optional<MediaType> representation = representation();
+        representation.ifPresent(response::contentType);
+        return response.eTag(ETagUtil.of(version, representation.orElse(null)));
+    }
+    
+    private Optional<MediaType> representation() {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        return representations.negotiate(attributes.getRequest(), getResponseType());
+    }
+    
     private URI buildLocationUri(D entity) {
         return ServletUriComponentsBuilder
                 .fromCurrentRequest()
@@ -0,0 +1,23 @@
+package com.company.project.common.controller;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a handler in its own named bulkhead instead of the default {@code reads} or {@code writes} one, for calls
+ * whose cost grows with the data (full listings, exports, batches) so they cannot starve point reads and writes.
+ * Such handlers are bounded by their bulkhead alone and do not feed the adaptive limit's latency samples.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Bulkhead {
+
+    /**
+     * Bulkhead name, sized under {@code app.concurrency-limit.bulkheads}
+     */
+    String value();
+}
@@ -0,0 +1,61 @@
+package com.company.project.common.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Chooses the media type a response body will be written in the way Spring MVC's message converters do, but
+ * before the body exists, so a handler can name the representation in its entity tag and answer a conditional
+ * request without building the body.
+ */
+public class RepresentationNegotiator {
+
+    private final ContentNegotiationManager contentNegotiationManager;
+    private final List<HttpMessageConverter<?>> converters;
+
+    public RepresentationNegotiator(ContentNegotiationManager contentNegotiationManager,
+                                    List<HttpMessageConverter<?>> converters) {
+        this.contentNegotiationManager = contentNegotiationManager;
+        this.converters = converters;
+    }
+
+    /**
+     * @return the most specific concrete media type the request accepts and a converter writes {@code bodyType} in,
+     * or empty when there is none and the request ends in 406
+     */
+    public Optional<MediaType> negotiate(HttpServletRequest request, Class<?> bodyType) {
+        List<MediaType> acceptable;
+        try {
+            acceptable = contentNegotiationManager.resolveMediaTypes(new ServletWebRequest(request));
+        } catch (HttpMediaTypeNotAcceptableException ex) {
+            return Optional.empty();
+        }
+        List<MediaType> compatible = new ArrayList<>();
+        for (MediaType requested : acceptable) {
+            for (HttpMessageConverter<?> converter : converters) {
+                if (!converter.canWrite(bodyType, null)) {
+                    continue;
+                }
+                for (MediaType producible : converter.getSupportedMediaTypes(bodyType)) {
+                    if (requested.isCompatibleWith(producible)) {
+                        compatible.add(requested.isLessSpecific(producible) ? producible : requested);
+                    }
+                }
+            }
+        }
+        MimeTypeUtils.sortBySpecificity(compatible);
+        return compatible.stream()
+                .filter(MediaType::isConcrete)
+                .findFirst()
+                .map(MediaType::removeQualityValue);
+    }
+}
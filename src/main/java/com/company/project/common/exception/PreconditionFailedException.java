@@ -0,0 +1,30 @@
+package com.company.project.common.exception;
+
+/**
+ * Exception thrown when a conditional request (If-Match) targets an outdated version of a resource
+ */
+public class PreconditionFailedException extends RuntimeException {
+    
+    private final String resourceName;
+    private final Object id;
+    private final long expectedVersion;
+    
+    public PreconditionFailedException(String resourceName, Object id, long expectedVersion) {
+        super(String.format("%s with id '%s' is no longer at version %d", resourceName, id, expectedVersion));
+        this.resourceName = resourceName;
+        this.id = id;
+        this.expectedVersion = expectedVersion;
+    }
+    
+    public String getResourceName() {
+        return resourceName;
+    }
+    
+    public Object getId() {
+        return id;
+    }
+    
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+}
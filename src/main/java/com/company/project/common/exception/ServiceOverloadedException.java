@@ -0,0 +1,18 @@
+package com.company.project.common.exception;
+
+/**
+ * Exception thrown when a request is shed because a concurrency limit, bulkhead or write queue is full
+ */
+public class ServiceOverloadedException extends RuntimeException {
+    
+    private final String limiter;
+    
+    public ServiceOverloadedException(String limiter) {
+        super(String.format("Concurrency limit '%s' reached, retry shortly", limiter));
+        this.limiter = limiter;
+    }
+    
+    public String getLimiter() {
+        return limiter;
+    }
+}
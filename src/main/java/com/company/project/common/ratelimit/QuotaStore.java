@@ -0,0 +1,23 @@
+package com.company.project.common.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Shared, cross-node quota counters (e.g. Redis) that nodes lease permits from in blocks.
+ * Implementations may throw on connectivity problems; {@link RateLimiter} absorbs them.
+ */
+public interface QuotaStore {
+
+    /**
+     * Takes up to {@code requested} of the {@code limit} permits of the key's current window. The window starts
+     * with the first lease and lasts {@code window}.
+     */
+    Lease lease(String key, long requested, long limit, Duration window);
+
+    /**
+     * @param granted permits taken, 0 when the window's quota is used up
+     * @param windowRemaining time until the window and its quota reset
+     */
+    record Lease(long granted, Duration windowRemaining) {
+    }
+}
@@ -0,0 +1,178 @@
+package com.company.project.common.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-client {@link TokenBucket}s for one limit, held in a bounded Caffeine map that drops clients once they have
+ * been idle for {@code idleTimeout}; a dropped client comes back with a full bucket, as it would have refilled anyway.
+ * <p>
+ * With a {@link SharedQuota} each client is also held to a cluster-wide quota per window. Permits are leased from
+ * the {@link QuotaStore} in blocks and spent locally, so the store sees one call per block rather than per request.
+ * When the store fails it is bypassed for a back-off period and only the local buckets apply.
+ */
+@Slf4j
+public class RateLimiter {
+
+    private final String name;
+    private final long capacity;
+    private final double refillPerSecond;
+    private final SharedQuota sharedQuota;
+    private final long windowLimit;
+    private final Ticker ticker;
+    private final Cache<String, Client> clients;
+
+    private final Counter allowed;
+    private final Counter rejected;
+    private final Counter quotaErrors;
+
+    private volatile long quotaSuspendedUntil;
+
+    /**
+     * @param sharedQuota cluster-wide quota, or null for node-local buckets only
+     */
+    public RateLimiter(String name, long capacity, double refillPerSecond, Duration idleTimeout, long maxClients,
+                       SharedQuota sharedQuota, Ticker ticker, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.capacity = capacity;
+        this.refillPerSecond = refillPerSecond;
+        this.sharedQuota = sharedQuota;
+        this.windowLimit = sharedQuota == null ? 0
+                : Math.max(capacity, Math.round(refillPerSecond * sharedQuota.window().toMillis() / 1000.0));
+        this.ticker = ticker;
+        this.clients = Caffeine.newBuilder()
+                .expireAfterAccess(idleTimeout)
+                .maximumSize(maxClients)
+                .ticker(ticker)
+                // Evicting a few idle buckets is cheaper inline than a hand-off to the common pool
+                .executor(Runnable::run)
+                .build();
+        this.quotaSuspendedUntil = ticker.read();
+
+        this.allowed = requestCounter(meterRegistry, "allowed");
+        this.rejected = requestCounter(meterRegistry, "rejected");
+        this.quotaErrors = Counter.builder("rate.limit.quota.errors")
+                .description("Failed quota leases; the limit falls back to local buckets for the back-off period")
+                .tag("limit", name)
+                .register(meterRegistry);
+        Gauge.builder("rate.limit.clients", clients, Cache::estimatedSize)
+                .description("Clients with a bucket in memory")
+                .tag("limit", name)
+                .register(meterRegistry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Decision tryAcquire(String clientKey) {
+        long now = ticker.read();
+        Client client = clients.get(clientKey, key -> new Client(new TokenBucket(capacity, refillPerSecond, now)));
+        // A client whose shared quota is used up is turned away without spending local permits
+        long waitNanos = now < client.exhaustedUntil ? client.exhaustedUntil - now : client.bucket.tryAcquireOrWait(now);
+        if (waitNanos == 0 && sharedQuota != null) {
+            waitNanos = takeSharedPermit(clientKey, client, now);
+        }
+        if (waitNanos > 0) {
+            rejected.increment();
+            return new Decision(false, 0, Duration.ofNanos(waitNanos));
+        }
+        allowed.increment();
+        return new Decision(true, client.bucket.available(now), Duration.ZERO);
+    }
+
+    private long takeSharedPermit(String clientKey, Client client, long now) {
+        if (client.takeLeased(now)) {
+            return 0;
+        }
+        // Not synchronized: the lease is a network call, and a pinned virtual thread would block its carrier
+        client.leaseLock.lock();
+        try {
+            if (client.takeLeased(now)) {
+                return 0;
+            }
+            if (now < quotaSuspendedUntil) {
+                return 0;
+            }
+            QuotaStore.Lease lease = sharedQuota.store().lease("ratelimit:" + name + ":" + clientKey,
+                    sharedQuota.leaseSize(), windowLimit, sharedQuota.window());
+            long windowEnd = now + Math.max(1, lease.windowRemaining().toNanos());
+            if (lease.granted() <= 0) {
+                client.exhaustedUntil = windowEnd;
+                return windowEnd - now;
+            }
+            client.leaseExpiresAt = windowEnd;
+            client.leased.set(lease.granted() - 1);
+            return 0;
+        } catch (RuntimeException ex) {
+            quotaErrors.increment();
+            quotaSuspendedUntil = now + sharedQuota.backoff().toNanos();
+            log.warn("Quota store for rate limit {} unavailable, limiting per node for {}: {}",
+                    name, sharedQuota.backoff(), ex.getMessage());
+            return 0;
+        } finally {
+            client.leaseLock.unlock();
+        }
+    }
+
+    private Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("rate.limit.requests")
+                .description("Requests checked against the rate limit")
+                .tag("limit", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param remaining permits the client has left right now
+     * @param retryAfter how long a rejected client should wait, zero when allowed
+     */
+    public record Decision(boolean allowed, long remaining, Duration retryAfter) {
+    }
+
+    /**
+     * @param window how long each quota window lasts; the quota per window is the refill rate times its length
+     * @param leaseSize permits a node takes from the store at a time
+     * @param backoff how long the store is bypassed after it fails
+     */
+    public record SharedQuota(QuotaStore store, Duration window, long leaseSize, Duration backoff) {
+    }
+
+    private static final class Client {
+
+        private final TokenBucket bucket;
+        private final AtomicLong leased = new AtomicLong();
+        private final ReentrantLock leaseLock = new ReentrantLock();
+        private volatile long leaseExpiresAt;
+        private volatile long exhaustedUntil;
+
+        private Client(TokenBucket bucket) {
+            this.bucket = bucket;
+            this.leaseExpiresAt = Long.MIN_VALUE;
+            this.exhaustedUntil = Long.MIN_VALUE;
+        }
+
+        private boolean takeLeased(long now) {
+            if (now >= leaseExpiresAt) {
+                return false;
+            }
+            long current;
+            do {
+                current = leased.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!leased.compareAndSet(current, current - 1));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.company.project.common.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket kept as a single theoretical arrival time (GCRA): every permit pushes it forward by one
+ * refill interval, and a permit is refused while that would put it more than {@code capacity} intervals ahead of
+ * now. Callers pass the time in nanoseconds from a monotonic clock.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(long capacity, double refillPerSecond, long nowNanos) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Token bucket needs a capacity of at least 1 and a positive refill rate");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = capacity * intervalNanos;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    public boolean tryAcquire(long nowNanos) {
+        return tryAcquireOrWait(nowNanos) == 0;
+    }
+
+    /**
+     * Takes a permit if one is available.
+     * @return 0 when a permit was taken, otherwise the nanoseconds until the next one frees up
+     */
+    public long tryAcquireOrWait(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long ahead = next - nowNanos;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Permits that could be taken right now.
+     */
+    public long available(long nowNanos) {
+        long ahead = Math.max(0, theoreticalArrival.get() - nowNanos);
+        return (burstNanos - ahead) / intervalNanos;
+    }
+}
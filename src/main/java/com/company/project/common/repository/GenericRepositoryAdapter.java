@@ -1,5 +1,6 @@
 package com.company.project.common.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,12 +13,16 @@ public interface GenericRepositoryAdapter<T, ID> {
     
     T save(T entity);
     
+    List<T> saveAll(List<T> entities);
+    
     Optional<T> findById(ID id);
     
     List<T> findAll();
     
     void deleteById(ID id);
     
+    void deleteAllById(Collection<ID> ids);
+    
     boolean existsById(ID id);
     
     long count();
@@ -16,9 +16,30 @@ public interface CrudService<T, ID> {
     
     List<T> findAll();
     
+    /**
+     * Returns up to {@code limit} entities whose id sorts after {@code after}, ordered by id.
+     * A null {@code after} starts from the beginning.
+     */
+    List<T> findAfter(ID after, int limit);
+    
+    /**
+     * Current version of the entity, used for conditional requests.
+     */
+    Optional<Long> findVersion(ID id);
+    
     T update(ID id, T entity);
     
+    /**
+     * @param expectedVersion version the client last saw; null skips the check
+     */
+    T update(ID id, T entity, Long expectedVersion);
+    
     void delete(ID id);
     
+    /**
+     * @param expectedVersion version the client last saw; null skips the check
+     */
+    void delete(ID id, Long expectedVersion);
+    
     boolean exists(ID id);
 }
@@ -6,7 +6,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Reusable pagination service for handling paginated responses
@@ -17,20 +21,32 @@ public class PaginationService {
     private static final int DEFAULT_PAGE_SIZE = 20;
     private static final int MAX_PAGE_SIZE = 100;
     
-    public Pageable createPageable(int page, int size, String sortBy, String direction) {
-        int validatedSize = Math.min(size > 0 ? size : DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
-        Sort sort = createSort(sortBy, direction);
+    /**
+     * @param sortableProperties properties backed by an index; sorting on anything else is rejected rather than
+     *                           left to a full sort of the table
+     */
+    public Pageable createPageable(int page, int size, String sortBy, String direction, Set<String> sortableProperties) {
+        int validatedSize = resolvePageSize(size);
+        Sort sort = createSort(sortBy, direction, sortableProperties);
         return PageRequest.of(page, validatedSize, sort);
     }
     
     public Pageable createPageable(int page, int size) {
-        return createPageable(page, size, null, "ASC");
+        return createPageable(page, size, null, "ASC", Set.of());
     }
     
-    private Sort createSort(String sortBy, String direction) {
+    public int resolvePageSize(Integer size) {
+        return Math.min(size != null && size > 0 ? size : DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+    }
+    
+    private Sort createSort(String sortBy, String direction, Set<String> sortableProperties) {
         if (sortBy == null || sortBy.isBlank()) {
             return Sort.unsorted();
         }
+        if (!sortableProperties.contains(sortBy)) {
+            throw new IllegalArgumentException("Cannot sort by '" + sortBy + "'; sortable properties are "
+                    + String.join(", ", sortableProperties));
+        }
         Sort.Direction sortDirection = "DESC".equalsIgnoreCase(direction) 
                 ? Sort.Direction.DESC 
                 : Sort.Direction.ASC;
@@ -49,6 +65,32 @@ public class PaginationService {
         );
     }
     
+    /**
+     * Builds a keyset page from a slice fetched with one extra row (limit + 1).
+     * The extra row only signals that another page exists and is dropped from the content.
+     */
+    public <T> CursorPageResponse<T> createCursorPageResponse(List<T> rows, int pageSize, Function<T, String> keyExtractor) {
+        boolean hasNext = rows.size() > pageSize;
+        List<T> content = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? encodeCursor(keyExtractor.apply(content.get(content.size() - 1))) : null;
+        return new CursorPageResponse<>(content, nextCursor, pageSize, hasNext);
+    }
+    
+    public String encodeCursor(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+    
     public record PageResponse<T>(
             List<T> content,
             int pageNumber,
@@ -58,4 +100,11 @@ public class PaginationService {
             boolean first,
             boolean last
     ) {}
+    
+    public record CursorPageResponse<T>(
+            List<T> content,
+            String nextCursor,
+            int pageSize,
+            boolean hasNext
+    ) {}
 }
@@ -14,27 +14,59 @@ public final class ApiResponseEnums {
     
     public static final String TODO_CREATED =
             "{\"id\": \"<generated>\", \"title\": \"New Task\", \"description\": \"Task description\", " +
-            "\"completed\": false, \"createdAt\": \"<timestamp>\", \"updatedAt\": \"<timestamp>\"}";
+            "\"completed\": false, \"createdAt\": \"<timestamp>\", \"updatedAt\": \"<timestamp>\", \"version\": 0}";
     
     public static final String TODO_FOUND =
             "{\"id\": \"<id>\", \"title\": \"Sample Task\", \"description\": \"Task description\", " +
-            "\"completed\": false, \"createdAt\": \"<timestamp>\", \"updatedAt\": \"<timestamp>\"}";
+            "\"completed\": false, \"createdAt\": \"<timestamp>\", \"updatedAt\": \"<timestamp>\", \"version\": 0}";
     
     public static final String TODO_UPDATED =
             "{\"id\": \"<id>\", \"title\": \"Updated Task\", \"description\": \"Updated description\", " +
-            "\"completed\": false, \"createdAt\": \"<timestamp>\", \"updatedAt\": \"<timestamp>\"}";
+            "\"completed\": false, \"createdAt\": \"<timestamp>\", \"updatedAt\": \"<timestamp>\", \"version\": 0}";
     
     public static final String TODO_LIST =
             "[{\"id\": \"<id1>\", \"title\": \"First Task\", \"description\": \"Description 1\", " +
-            "\"completed\": false, \"createdAt\": \"<timestamp>\", \"updatedAt\": \"<timestamp>\"}, " +
+            "\"completed\": false, \"createdAt\": \"<timestamp>\", \"updatedAt\": \"<timestamp>\", \"version\": 0}, " +
             "{\"id\": \"<id2>\", \"title\": \"Second Task\", \"description\": \"Description 2\", " +
-            "\"completed\": true, \"createdAt\": \"<timestamp>\", \"updatedAt\": \"<timestamp>\"}]";
+            "\"completed\": true, \"createdAt\": \"<timestamp>\", \"updatedAt\": \"<timestamp>\", \"version\": 0}]";
+    
+    public static final String TODO_PAGE =
+            "{\"content\": [{\"id\": \"<id1>\", \"title\": \"First Task\", \"description\": \"Description 1\", " +
+            "\"completed\": false, \"createdAt\": \"<timestamp>\", \"updatedAt\": \"<timestamp>\", \"version\": 0}], " +
+            "\"nextCursor\": \"<cursor>\", \"pageSize\": 20, \"hasNext\": true}";
+    
+    public static final String TODO_SEARCH =
+            "{\"content\": [{\"todo\": {\"id\": \"<id1>\", \"title\": \"Buy milk\", \"description\": \"Semi-skimmed milk and bread\", " +
+            "\"completed\": false, \"createdAt\": \"<timestamp>\", \"updatedAt\": \"<timestamp>\", \"version\": 0}, " +
+            "\"rank\": 0.6079271, \"titleHighlight\": \"Buy <mark>milk</mark>\", " +
+            "\"descriptionSnippet\": \"Semi-skimmed <mark>milk</mark> and bread\"}], " +
+            "\"nextCursor\": \"<cursor>\", \"pageSize\": 20, \"hasNext\": true}";
+    
+    public static final String TODO_STATS =
+            "{\"open\": 12, \"completed\": 30, \"total\": 42, \"days\": [" +
+            "{\"date\": \"2024-03-01\", \"created\": 5, \"completed\": 3}, " +
+            "{\"date\": \"2024-03-02\", \"created\": 0, \"completed\": 0}]}";
+    
+    public static final String TODO_BATCH =
+            "{\"succeeded\": 1, \"failed\": 1, \"results\": [" +
+            "{\"index\": 0, \"action\": \"CREATE\", \"id\": \"<generated>\", \"outcome\": \"CREATED\", \"todo\": {\"id\": \"<generated>\", " +
+            "\"title\": \"New Task\", \"description\": \"Task description\", \"completed\": false, " +
+            "\"createdAt\": \"<timestamp>\", \"updatedAt\": \"<timestamp>\", \"version\": 0}}, " +
+            "{\"index\": 1, \"action\": \"DELETE\", \"id\": \"<id>\", \"outcome\": \"NOT_FOUND\", \"todo\": null}]}";
+    
+    public static final String TODO_IMPORT =
+            "{\"imported\": 99998, \"rejected\": 2, \"rejectedLines\": [" +
+            "{\"line\": 17, \"errors\": [\"Title is required\"]}, " +
+            "{\"line\": 42, \"errors\": [\"Description must be less than 1000 characters\"]}], \"complete\": true}";
     
     // ========== Todo-Specific Error Responses ==========
     
     public static final String TODO_NOT_FOUND_ERROR =
             "{\"error\": \"Todo not found\", \"message\": \"Todo with the specified ID does not exist\"}";
     
+    public static final String TODO_PRECONDITION_FAILED_ERROR =
+            "{\"error\": \"Precondition failed\", \"message\": \"Todo with id '<id>' is no longer at version 3\"}";
+    
     public static final String VALIDATION_ERROR =
             "{\"error\": \"Validation failed\", \"message\": \"Title is required and cannot be empty\"}";
     
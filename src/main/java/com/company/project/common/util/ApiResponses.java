@@ -33,7 +33,7 @@ public class ApiResponses {
     }
 
     /**
-     * Response for successful todo deletion (204 No Content + 404)
+     * Response for successful todo deletion (204 No Content + 404/412)
      */
     @Target({ElementType.METHOD})
     @Retention(RetentionPolicy.RUNTIME)
@@ -42,13 +42,17 @@ public class ApiResponses {
             @ApiResponse(responseCode = "404", description = "Todo not found",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
                             examples = @ExampleObject(value = ApiResponseEnums.TODO_NOT_FOUND_ERROR)
+                    )),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = ApiResponseEnums.TODO_PRECONDITION_FAILED_ERROR)
                     ))
     })
     public @interface TodoDeleted {
     }
 
     /**
-     * Response for successful todo update (200 OK + 400/404)
+     * Response for successful todo update (200 OK + 400/404/412)
      */
     @Target({ElementType.METHOD})
     @Retention(RetentionPolicy.RUNTIME)
@@ -64,6 +68,10 @@ public class ApiResponses {
             @ApiResponse(responseCode = "404", description = "Todo not found",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
                             examples = @ExampleObject(value = ApiResponseEnums.TODO_NOT_FOUND_ERROR)
+                    )),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = ApiResponseEnums.TODO_PRECONDITION_FAILED_ERROR)
                     ))
     })
     public @interface TodoUpdated {
@@ -88,7 +96,7 @@ public class ApiResponses {
     }
 
     /**
-     * Response for successful todo retrieval (200 OK + 404)
+     * Response for successful todo retrieval (200 OK + 304/404)
      */
     @Target({ElementType.METHOD})
     @Retention(RetentionPolicy.RUNTIME)
@@ -97,6 +105,7 @@ public class ApiResponses {
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
                             examples = @ExampleObject(value = ApiResponseEnums.TODO_FOUND)
                     )),
+            @ApiResponse(responseCode = "304", description = "If-None-Match matches the current version"),
             @ApiResponse(responseCode = "404", description = "Todo not found",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
                             examples = @ExampleObject(value = ApiResponseEnums.TODO_NOT_FOUND_ERROR)
@@ -105,6 +114,28 @@ public class ApiResponses {
     public @interface TodoFound {
     }
 
+    /**
+     * Response for toggling todo completion (200 OK + 404/412)
+     */
+    @Target({ElementType.METHOD})
+    @Retention(RetentionPolicy.RUNTIME)
+    @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Todo completion toggled",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = ApiResponseEnums.TODO_UPDATED)
+                    )),
+            @ApiResponse(responseCode = "404", description = "Todo not found",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = ApiResponseEnums.TODO_NOT_FOUND_ERROR)
+                    )),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = ApiResponseEnums.TODO_PRECONDITION_FAILED_ERROR)
+                    ))
+    })
+    public @interface TodoToggled {
+    }
+
     /**
      * Response for successful todo list retrieval (200 OK)
      */
@@ -119,6 +150,111 @@ public class ApiResponses {
     public @interface TodoListRetrieved {
     }
 
+    /**
+     * Response for cursor-paginated todo retrieval (200 OK + 400)
+     */
+    @Target({ElementType.METHOD})
+    @Retention(RetentionPolicy.RUNTIME)
+    @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved page of todos",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = ApiResponseEnums.TODO_PAGE)
+                    )),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = ApiResponseEnums.BAD_REQUEST_ERROR)
+                    ))
+    })
+    public @interface TodoPageRetrieved {
+    }
+
+    /**
+     * Response for a filtered todo query (200 OK + 400)
+     */
+    @Target({ElementType.METHOD})
+    @Retention(RetentionPolicy.RUNTIME)
+    @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved page of matching todos",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = ApiResponseEnums.TODO_PAGE)
+                    )),
+            @ApiResponse(responseCode = "400", description = "Unsupported sort key, invalid range or invalid cursor",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = ApiResponseEnums.BAD_REQUEST_ERROR)
+                    ))
+    })
+    public @interface TodoQueryResults {
+    }
+
+    /**
+     * Response for todo statistics (200 OK + 400)
+     */
+    @Target({ElementType.METHOD})
+    @Retention(RetentionPolicy.RUNTIME)
+    @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved todo statistics",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = ApiResponseEnums.TODO_STATS)
+                    )),
+            @ApiResponse(responseCode = "400", description = "Invalid date or range",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = ApiResponseEnums.BAD_REQUEST_ERROR)
+                    ))
+    })
+    public @interface TodoStatsFound {
+    }
+
+    /**
+     * Response for a todo search (200 OK + 400)
+     */
+    @Target({ElementType.METHOD})
+    @Retention(RetentionPolicy.RUNTIME)
+    @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved page of matching todos",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = ApiResponseEnums.TODO_SEARCH)
+                    )),
+            @ApiResponse(responseCode = "400", description = "Blank or too long query, or invalid cursor",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = ApiResponseEnums.BAD_REQUEST_ERROR)
+                    ))
+    })
+    public @interface TodoSearchResults {
+    }
+
+    /**
+     * Response for a todo batch (200 OK with per-operation outcomes + 400)
+     */
+    @Target({ElementType.METHOD})
+    @Retention(RetentionPolicy.RUNTIME)
+    @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch applied; see each result's outcome",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = ApiResponseEnums.TODO_BATCH)
+                    )),
+            @ApiResponse(responseCode = "400", description = "Invalid operation in batch",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = ApiResponseEnums.VALIDATION_ERROR)
+                    ))
+    })
+    public @interface TodoBatchExecuted {
+    }
+
+    /**
+     * Response for a bulk import (200 OK with the rejected lines + 415)
+     */
+    @Target({ElementType.METHOD})
+    @Retention(RetentionPolicy.RUNTIME)
+    @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Valid lines imported; see rejectedLines for the others",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(value = ApiResponseEnums.TODO_IMPORT)
+                    )),
+            @ApiResponse(responseCode = "415", description = "Body is neither text/csv nor application/x-ndjson")
+    })
+    public @interface TodoImported {
+    }
+
     // ========== Generic CRUD Response Annotations ==========
 
     /**
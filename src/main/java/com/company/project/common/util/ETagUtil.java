@@ -0,0 +1,85 @@
+package com.company.project.common.util;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Reusable utility class for strong entity tags derived from row versions.
+ * A tag names the version and the representation, e.g. {@code "3-json"}, because the JSON and binary encodings
+ * of one version are different bytes and must not validate each other's cache entries.
+ */
+public class ETagUtil {
+    
+    private static final long NEVER_MATCHES = -1L;
+    
+    private ETagUtil() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+    
+    public static String of(long version) {
+        return "\"" + version + "\"";
+    }
+    
+    /**
+     * Tag of one version in the given representation; only the version when the representation is unknown.
+     */
+    public static String of(long version, MediaType representation) {
+        if (representation == null) {
+            return of(version);
+        }
+        return "\"" + version + "-" + representation.getSubtype() + "\"";
+    }
+    
+    /**
+     * Extracts the version an If-Match header requires, whichever representation the tag came from, since every
+     * representation of a version holds the same state.
+     * Returns null when the header is absent or "*", and a version no row can have when the tag is weak
+     * or not one of ours, since If-Match uses strong comparison.
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        if (ifMatch.contains(",")) {
+            throw new IllegalArgumentException("If-Match supports a single entity tag");
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            return NEVER_MATCHES;
+        }
+        return parseVersion(tag);
+    }
+    
+    /**
+     * Weak comparison against the current tag, as required for If-None-Match.
+     */
+    public static boolean matchesIfNoneMatch(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static long parseVersion(String tag) {
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return NEVER_MATCHES;
+        }
+        int end = tag.indexOf('-');
+        try {
+            return Long.parseLong(tag.substring(1, end > 0 ? end : tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            return NEVER_MATCHES;
+        }
+    }
+}
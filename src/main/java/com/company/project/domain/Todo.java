@@ -10,14 +10,21 @@ public class Todo {
     private final boolean completed;
     private final LocalDateTime createdAt;
     private final LocalDateTime updatedAt;
+    private final long version;
 
-    public Todo(String id, String title, String description, boolean completed, LocalDateTime createdAt, LocalDateTime updatedAt) {
+    public Todo(String id, String title, String description, boolean completed, LocalDateTime createdAt,
+                LocalDateTime updatedAt, long version) {
         this.id = id;
         this.title = title;
         this.description = description;
         this.completed = completed;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
+        this.version = version;
+    }
+
+    public Todo(String id, String title, String description, boolean completed, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, title, description, completed, createdAt, updatedAt, 0L);
     }
 
     public Todo(String title, String description) {
@@ -48,11 +55,15 @@ public class Todo {
         return updatedAt;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public Todo withCompletion(boolean completed) {
-        return new Todo(this.id, this.title, this.description, completed, this.createdAt, LocalDateTime.now());
+        return new Todo(this.id, this.title, this.description, completed, this.createdAt, LocalDateTime.now(), this.version);
     }
 
     public Todo withUpdates(String title, String description) {
-        return new Todo(this.id, title, description, this.completed, this.createdAt, LocalDateTime.now());
+        return new Todo(this.id, title, description, this.completed, this.createdAt, LocalDateTime.now(), this.version);
     }
 }
@@ -0,0 +1,23 @@
+package com.company.project.domain;
+
+/**
+ * A single create, update or delete inside a todo batch
+ */
+public record TodoBatchOperation(Action action, String id, Todo todo) {
+
+    public enum Action {
+        CREATE, UPDATE, DELETE
+    }
+
+    public TodoBatchOperation {
+        if (action == null) {
+            throw new IllegalArgumentException("Batch operation action is required");
+        }
+        if (action != Action.CREATE && (id == null || id.isBlank())) {
+            throw new IllegalArgumentException(action + " operation requires an id");
+        }
+        if (action != Action.DELETE && todo == null) {
+            throw new IllegalArgumentException(action + " operation requires a todo");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.company.project.domain;
+
+/**
+ * Outcome of one batch operation, reported at the operation's position in the batch
+ */
+public record TodoBatchResult(int index, TodoBatchOperation.Action action, String id, Outcome outcome, Todo todo) {
+
+    public enum Outcome {
+        CREATED, UPDATED, DELETED, NOT_FOUND
+    }
+
+    public boolean succeeded() {
+        return outcome != Outcome.NOT_FOUND;
+    }
+}
@@ -0,0 +1,30 @@
+package com.company.project.domain;
+
+import java.time.Instant;
+
+/**
+ * A committed change to a todo, published to downstream services.
+ * The todo snapshot is null for deletions. Every event carries the todo's version after the change, which orders
+ * events for the same todo; a deletion counts as one more change, so it follows the todo's last update.
+ */
+public record TodoChangeEvent(Type type, String todoId, long version, Todo todo, Instant occurredAt) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static TodoChangeEvent created(Todo todo) {
+        return new TodoChangeEvent(Type.CREATED, todo.getId(), todo.getVersion(), todo, Instant.now());
+    }
+
+    public static TodoChangeEvent updated(Todo todo) {
+        return new TodoChangeEvent(Type.UPDATED, todo.getId(), todo.getVersion(), todo, Instant.now());
+    }
+
+    /**
+     * @param lastVersion version of the todo as it was deleted
+     */
+    public static TodoChangeEvent deleted(String todoId, long lastVersion) {
+        return new TodoChangeEvent(Type.DELETED, todoId, lastVersion + 1, null, Instant.now());
+    }
+}
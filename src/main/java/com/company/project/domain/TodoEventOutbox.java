@@ -0,0 +1,15 @@
+package com.company.project.domain;
+
+import java.util.List;
+
+/**
+ * Records change events in the caller's transaction, so an event exists exactly when its change commits.
+ */
+public interface TodoEventOutbox {
+
+    void append(List<TodoChangeEvent> events);
+
+    default void append(TodoChangeEvent event) {
+        append(List.of(event));
+    }
+}
@@ -0,0 +1,97 @@
+package com.company.project.domain;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Filters and order for listing todos. Ranges are half-open ({@code from <= value < to}); null means unbounded.
+ * <p>
+ * Only keys with an index path can be sorted on, so no combination of filters and order forces a full sort.
+ */
+public record TodoQuery(
+        Boolean completed,
+        LocalDateTime createdFrom,
+        LocalDateTime createdTo,
+        LocalDateTime updatedFrom,
+        LocalDateTime updatedTo,
+        SortKey sortKey,
+        boolean descending
+) {
+
+    public TodoQuery {
+        if (sortKey == null) {
+            throw new IllegalArgumentException("Sort key is required");
+        }
+        requireOrdered("created", createdFrom, createdTo);
+        requireOrdered("updated", updatedFrom, updatedTo);
+    }
+
+    /**
+     * Keyset position of a todo in this query's order.
+     */
+    public Position positionOf(Todo todo) {
+        return new Position(sortKey.valueOf(todo), todo.getId());
+    }
+
+    private static void requireOrdered(String field, LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException(field + "From must be before " + field + "To");
+        }
+    }
+
+    public enum SortKey {
+        CREATED_AT("createdAt", Todo::getCreatedAt),
+        UPDATED_AT("updatedAt", Todo::getUpdatedAt);
+
+        private final String property;
+        private final Function<Todo, LocalDateTime> accessor;
+
+        SortKey(String property, Function<Todo, LocalDateTime> accessor) {
+            this.property = property;
+            this.accessor = accessor;
+        }
+
+        public String property() {
+            return property;
+        }
+
+        public LocalDateTime valueOf(Todo todo) {
+            return accessor.apply(todo);
+        }
+
+        public static SortKey fromProperty(String property) {
+            return Arrays.stream(values())
+                    .filter(key -> key.property.equals(property))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Cannot sort by '" + property + "'; sortable keys are "
+                            + Arrays.stream(values()).map(SortKey::property).collect(Collectors.joining(", "))));
+        }
+    }
+
+    /**
+     * Sort value and id of the last todo on the previous page; the id breaks ties between equal timestamps.
+     */
+    public record Position(LocalDateTime value, String id) {
+
+        private static final char SEPARATOR = '|';
+
+        public static Position parse(String key) {
+            int separator = key.indexOf(SEPARATOR);
+            if (separator < 1 || separator == key.length() - 1) {
+                throw new IllegalArgumentException("Invalid query cursor");
+            }
+            try {
+                return new Position(LocalDateTime.parse(key.substring(0, separator)), key.substring(separator + 1));
+            } catch (DateTimeParseException ex) {
+                throw new IllegalArgumentException("Invalid query cursor");
+            }
+        }
+
+        public String key() {
+            return value.toString() + SEPARATOR + id;
+        }
+    }
+}
@@ -1,17 +1,87 @@
 package com.company.project.domain;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TodoRepository {
 
     Todo save(Todo todo);
 
+    /**
+     * Inserts todos without an id and updates the rest, leaving statements to the JDBC batch.
+     * Results are returned in input order.
+     */
+    List<Todo> saveAll(List<Todo> todos);
+
+    /**
+     * Inserts new todos the fastest way the store allows; meant for bulk imports of many rows per call.
+     * Results carry the assigned ids and are returned in input order.
+     */
+    default List<Todo> insertAll(List<Todo> todos) {
+        return saveAll(todos);
+    }
+
     Optional<Todo> findById(String id);
 
+    List<Todo> findAllById(Collection<String> ids);
+
     List<Todo> findAll();
 
+    /**
+     * Keyset page ordered by id; ULIDs are monotonic so this is also creation order.
+     * A null afterId starts from the first row.
+     */
+    List<Todo> findAfter(String afterId, int limit);
+
+    /**
+     * Streams every todo ordered by id through a server-side cursor.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    Stream<Todo> streamAll();
+
+    /**
+     * Keyset page of the todos matching the query's filters, in its order.
+     * @param after position of the last todo of the previous page; null starts from the first match
+     */
+    List<Todo> findByQuery(TodoQuery query, TodoQuery.Position after, int limit);
+
+    /**
+     * Full-text search over title and description, best match first.
+     * @param after position of the last hit of the previous page; null starts from the best match
+     */
+    List<TodoSearchHit> search(String query, TodoSearchHit.Position after, int limit);
+
+    Optional<Long> findVersionById(String id);
+
+    /**
+     * Replaces title and description in a single statement.
+     * @param expectedVersion only update the row at this version; null skips the check
+     * @return the updated todo, or empty when no row has this id (and version)
+     */
+    Optional<Todo> update(String id, String title, String description, Long expectedVersion);
+
+    /**
+     * Flips the completion flag atomically in the database, so concurrent toggles are never lost.
+     * @param expectedVersion only toggle the row at this version; null skips the check
+     * @return the toggled todo, or empty when no row has this id (and version)
+     */
+    Optional<Todo> toggleCompletion(String id, Long expectedVersion);
+
     void deleteById(String id);
 
+    /**
+     * Deletes with a single statement.
+     * @param expectedVersion only delete the row at this version; null skips the check
+     * @return the deleted todo, or empty when no row has this id (and version)
+     */
+    Optional<Todo> deleteIfExists(String id, Long expectedVersion);
+
+    /**
+     * Deletes all given ids with a single statement.
+     */
+    void deleteAllById(Collection<String> ids);
+
     boolean existsById(String id);
 }
@@ -0,0 +1,38 @@
+package com.company.project.domain;
+
+/**
+ * A todo matching a full-text query.
+ * <p>
+ * {@code titleHighlight} and {@code descriptionSnippet} are HTML-escaped, with matched terms wrapped in
+ * {@code <mark>} tags.
+ */
+public record TodoSearchHit(Todo todo, double rank, String titleHighlight, String descriptionSnippet) {
+
+    public Position position() {
+        return new Position(rank, todo.getId());
+    }
+
+    /**
+     * Keyset position in a result list ordered by rank descending, then id.
+     */
+    public record Position(double rank, String id) {
+
+        private static final char SEPARATOR = '|';
+
+        public static Position parse(String key) {
+            int separator = key.indexOf(SEPARATOR);
+            if (separator < 1 || separator == key.length() - 1) {
+                throw new IllegalArgumentException("Invalid search cursor");
+            }
+            try {
+                return new Position(Double.parseDouble(key.substring(0, separator)), key.substring(separator + 1));
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid search cursor");
+            }
+        }
+
+        public String key() {
+            return Double.toString(rank) + SEPARATOR + id;
+        }
+    }
+}
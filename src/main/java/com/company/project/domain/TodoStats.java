@@ -0,0 +1,30 @@
+package com.company.project.domain;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Todo counters read from the rollup tables.
+ * @param days one entry per day of the requested range, by the day the todos were created
+ */
+public record TodoStats(long open, long completed, List<Day> days) {
+
+    public long total() {
+        return open + completed;
+    }
+
+    /**
+     * @param created   todos created on this day that still exist
+     * @param completed of those, the ones currently completed
+     */
+    public record Day(LocalDate date, long created, long completed) {
+
+        public Day plus(Day other) {
+            return new Day(date, created + other.created, completed + other.completed);
+        }
+
+        public boolean isZero() {
+            return created == 0 && completed == 0;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.company.project.domain;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Net change to the todo counters made by one unit of work, applied to the rollups in the same transaction.
+ * Days are kept in date order so every writer touches rollup rows in the same order.
+ */
+public final class TodoStatsDelta {
+
+    private long open;
+    private long completed;
+    private final SortedMap<LocalDate, TodoStats.Day> days = new TreeMap<>();
+
+    public TodoStatsDelta created(Todo todo) {
+        return count(todo, 1);
+    }
+
+    public TodoStatsDelta deleted(Todo todo) {
+        return count(todo, -1);
+    }
+
+    /**
+     * @param toggled the todo as it is after the toggle
+     */
+    public TodoStatsDelta toggled(Todo toggled) {
+        long sign = toggled.isCompleted() ? 1 : -1;
+        open -= sign;
+        completed += sign;
+        merge(toggled, 0, sign);
+        return this;
+    }
+
+    public long open() {
+        return open;
+    }
+
+    public long completed() {
+        return completed;
+    }
+
+    /**
+     * @return changed days in date order; days whose changes cancelled out are left out
+     */
+    public List<TodoStats.Day> days() {
+        return days.values().stream()
+                .filter(day -> !day.isZero())
+                .toList();
+    }
+
+    public boolean isEmpty() {
+        return open == 0 && completed == 0 && days().isEmpty();
+    }
+
+    private TodoStatsDelta count(Todo todo, long sign) {
+        if (todo.isCompleted()) {
+            completed += sign;
+        } else {
+            open += sign;
+        }
+        merge(todo, sign, todo.isCompleted() ? sign : 0);
+        return this;
+    }
+
+    private void merge(Todo todo, long created, long completed) {
+        LocalDate date = todo.getCreatedAt().toLocalDate();
+        days.merge(date, new TodoStats.Day(date, created, completed), TodoStats.Day::plus);
+    }
+}
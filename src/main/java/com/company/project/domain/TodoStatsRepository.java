@@ -0,0 +1,22 @@
+package com.company.project.domain;
+
+import java.time.LocalDate;
+
+/**
+ * Counter rollups kept next to the todos, so reading them never counts rows of the todo store.
+ */
+public interface TodoStatsRepository {
+
+    void apply(TodoStatsDelta delta);
+
+    /**
+     * @return the totals and the days in [from, to) that have counts, in date order
+     */
+    TodoStats find(LocalDate from, LocalDate to);
+
+    /**
+     * Recomputes the rollups from the todos and overwrites the ones that drifted.
+     * @return number of corrected rollup entries (the totals count as one)
+     */
+    int reconcile();
+}
@@ -0,0 +1,17 @@
+package com.company.project.dto;
+
+import com.company.project.domain.TodoBatchOperation;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+public record TodoBatchOperationRequest(
+
+        @NotNull(message = "Action is required")
+        TodoBatchOperation.Action action,
+
+        String id,
+
+        @Valid
+        TodoRequest todo
+) {
+}
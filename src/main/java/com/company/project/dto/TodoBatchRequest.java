@@ -0,0 +1,16 @@
+package com.company.project.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record TodoBatchRequest(
+
+        @NotEmpty(message = "At least one operation is required")
+        @Size(max = 1000, message = "A batch may contain at most 1000 operations")
+        List<@Valid @NotNull TodoBatchOperationRequest> operations
+) {
+}
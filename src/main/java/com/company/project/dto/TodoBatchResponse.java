@@ -0,0 +1,22 @@
+package com.company.project.dto;
+
+import com.company.project.domain.TodoBatchOperation;
+import com.company.project.domain.TodoBatchResult;
+
+import java.util.List;
+
+public record TodoBatchResponse(
+        int succeeded,
+        int failed,
+        List<Item> results
+) {
+
+    public record Item(
+            int index,
+            TodoBatchOperation.Action action,
+            String id,
+            TodoBatchResult.Outcome outcome,
+            TodoResponse todo
+    ) {
+    }
+}
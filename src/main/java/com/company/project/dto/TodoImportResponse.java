@@ -0,0 +1,21 @@
+package com.company.project.dto;
+
+import java.util.List;
+
+/**
+ * @param rejectedLines the first rejected lines, in file order; {@code rejected} counts all of them
+ * @param complete false when a malformed line stopped the import before the end of the file
+ */
+public record TodoImportResponse(
+        long imported,
+        long rejected,
+        List<RejectedLine> rejectedLines,
+        boolean complete
+) {
+
+    public record RejectedLine(
+            long line,
+            List<String> errors
+    ) {
+    }
+}
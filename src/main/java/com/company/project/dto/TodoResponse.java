@@ -8,6 +8,7 @@ public record TodoResponse(
         String description,
         boolean completed,
         LocalDateTime createdAt,
-        LocalDateTime updatedAt
+        LocalDateTime updatedAt,
+        long version
 ) {
 }
@@ -0,0 +1,12 @@
+package com.company.project.dto;
+
+/**
+ * A search hit; highlights are HTML-escaped with matched terms wrapped in {@code <mark>} tags.
+ */
+public record TodoSearchResponse(
+        TodoResponse todo,
+        double rank,
+        String titleHighlight,
+        String descriptionSnippet
+) {
+}
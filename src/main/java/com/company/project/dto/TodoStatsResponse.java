@@ -0,0 +1,26 @@
+package com.company.project.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Todo counters; days are bucketed by creation day and cover the requested range without gaps.
+ */
+public record TodoStatsResponse(
+        long open,
+        long completed,
+        long total,
+        List<Day> days
+) {
+
+    /**
+     * @param created   todos created on this day that still exist
+     * @param completed of those, the ones currently completed
+     */
+    public record Day(
+            LocalDate date,
+            long created,
+            long completed
+    ) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.company.project.infrastructure;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One request handled by a BaseController, committed by {@link ApiRequestEventInterceptor} while a flight
+ * recording is running.
+ */
+@Name(ApiRequestEvent.NAME)
+@Label("API Request")
+@Description("A request handled by a resource controller")
+@Category({"Application", "HTTP"})
+@StackTrace(false)
+public class ApiRequestEvent extends Event {
+
+    public static final String NAME = "com.company.project.ApiRequest";
+
+    @Label("Resource")
+    String resource;
+
+    @Label("Method")
+    String method;
+
+    @Label("URI")
+    String uri;
+
+    @Label("Status")
+    int status;
+
+    @Label("Outcome")
+    String outcome;
+}
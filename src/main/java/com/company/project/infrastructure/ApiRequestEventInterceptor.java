@@ -0,0 +1,46 @@
+package com.company.project.infrastructure;
+
+import com.company.project.common.controller.BaseController;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Brackets requests to {@link BaseController} handlers with an {@link ApiRequestEvent}, which is only filled in
+ * and kept while a recording has it enabled.
+ */
+public class ApiRequestEventInterceptor implements HandlerInterceptor {
+
+    private static final String EVENT_ATTRIBUTE = ApiRequestEventInterceptor.class.getName() + ".event";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method && method.getBean() instanceof BaseController<?, ?, ?, ?> controller) {
+            ApiRequestEvent event = new ApiRequestEvent();
+            if (event.isEnabled()) {
+                event.resource = controller.getResourceName();
+                event.method = request.getMethod();
+                event.begin();
+                request.setAttribute(EVENT_ATTRIBUTE, event);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(EVENT_ATTRIBUTE) instanceof ApiRequestEvent event) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.uri = String.valueOf(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+                event.status = ex != null && response.getStatus() < 400 ? 500 : response.getStatus();
+                HttpStatus.Series series = HttpStatus.Series.resolve(event.status);
+                event.outcome = series != null ? series.name() : "UNKNOWN";
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.company.project.infrastructure;
+
+import com.company.project.common.concurrency.ConcurrencyLimiter;
+import com.company.project.common.concurrency.FixedConcurrencyLimiter;
+import com.company.project.common.concurrency.GradientConcurrencyLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Adaptive concurrency limit and bulkheads in front of the API handlers, with their metrics.
+ */
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(prefix = "app.concurrency-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    private final GradientConcurrencyLimiter adaptiveLimiter;
+    private final Map<String, ConcurrencyLimiter> bulkheads;
+
+    public ConcurrencyLimitConfig(ConcurrencyLimitProperties properties) {
+        this.adaptiveLimiter = new GradientConcurrencyLimiter("adaptive", properties.initialLimit(),
+                properties.minLimit(), properties.maxLimit(), properties.rttTolerance(), properties.smoothing(),
+                properties.longWindow());
+        this.bulkheads = properties.bulkheads().entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey,
+                        entry -> new FixedConcurrencyLimiter(entry.getKey(), entry.getValue())));
+    }
+
+    @Bean
+    public ConcurrencyLimitMetrics concurrencyLimitMetrics() {
+        List<ConcurrencyLimiter> limiters = new ArrayList<>(bulkheads.values());
+        limiters.add(adaptiveLimiter);
+        return new ConcurrencyLimitMetrics(limiters);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConcurrencyLimitInterceptor(adaptiveLimiter, bulkheads));
+    }
+}
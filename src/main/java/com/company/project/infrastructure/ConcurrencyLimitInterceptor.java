@@ -0,0 +1,86 @@
+package com.company.project.infrastructure;
+
+import com.company.project.common.concurrency.ConcurrencyLimiter;
+import com.company.project.common.controller.BaseController;
+import com.company.project.common.controller.Bulkhead;
+import com.company.project.common.exception.ServiceOverloadedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Map;
+
+/**
+ * Sheds requests to {@link BaseController} and {@link Bulkhead} handlers once their bulkhead or the adaptive
+ * limit is full, by throwing a {@link ServiceOverloadedException} (503) before the handler runs.
+ * <p>
+ * GET and HEAD requests use the {@value #READS} bulkhead and everything else {@value #WRITES}, unless the handler
+ * names its own. Requests in the default bulkheads also need a permit from the adaptive limit and report their
+ * time to it; named bulkheads are bounded by their size alone, as their run time says little about load.
+ * Handlers elsewhere, such as health checks, are never limited.
+ */
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    public static final String READS = "reads";
+    public static final String WRITES = "writes";
+
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    private final ConcurrencyLimiter adaptiveLimiter;
+    private final Map<String, ConcurrencyLimiter> bulkheads;
+
+    /**
+     * @param bulkheads by name; requests for a bulkhead that is not configured only take an adaptive permit
+     */
+    public ConcurrencyLimitInterceptor(ConcurrencyLimiter adaptiveLimiter, Map<String, ConcurrencyLimiter> bulkheads) {
+        this.adaptiveLimiter = adaptiveLimiter;
+        this.bulkheads = Map.copyOf(bulkheads);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method) || request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return true;
+        }
+        Bulkhead named = method.getMethodAnnotation(Bulkhead.class);
+        if (named == null && !(method.getBean() instanceof BaseController<?, ?, ?, ?>)) {
+            return true;
+        }
+        String bulkheadName = named != null ? named.value() : isRead(request) ? READS : WRITES;
+        ConcurrencyLimiter bulkhead = bulkheads.get(bulkheadName);
+        if (bulkhead != null && !bulkhead.tryAcquire()) {
+            throw new ServiceOverloadedException(bulkheadName);
+        }
+        ConcurrencyLimiter adaptive = named == null ? adaptiveLimiter : null;
+        if (adaptive != null && !adaptive.tryAcquire()) {
+            if (bulkhead != null) {
+                bulkhead.release(0);
+            }
+            throw new ServiceOverloadedException(adaptive.getName());
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, new Permit(bulkhead, adaptive, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            long rttNanos = System.nanoTime() - permit.startNanos();
+            if (permit.bulkhead() != null) {
+                permit.bulkhead().release(rttNanos);
+            }
+            if (permit.adaptive() != null) {
+                permit.adaptive().release(rttNanos);
+            }
+        }
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        return "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+    }
+
+    private record Permit(ConcurrencyLimiter bulkhead, ConcurrencyLimiter adaptive, long startNanos) {
+    }
+}
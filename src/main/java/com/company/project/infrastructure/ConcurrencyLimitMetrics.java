@@ -0,0 +1,40 @@
+package com.company.project.infrastructure;
+
+import com.company.project.common.concurrency.ConcurrencyLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.List;
+
+/**
+ * {@code concurrency.limit}, {@code concurrency.in.flight} and {@code concurrency.rejected} per limiter, tagged
+ * {@code limiter} with the adaptive limit's or the bulkhead's name.
+ */
+public class ConcurrencyLimitMetrics implements MeterBinder {
+
+    private final List<ConcurrencyLimiter> limiters;
+
+    public ConcurrencyLimitMetrics(List<ConcurrencyLimiter> limiters) {
+        this.limiters = List.copyOf(limiters);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (ConcurrencyLimiter limiter : limiters) {
+            Gauge.builder("concurrency.limit", limiter, ConcurrencyLimiter::getLimit)
+                    .description("Requests allowed to run at once")
+                    .tag("limiter", limiter.getName())
+                    .register(registry);
+            Gauge.builder("concurrency.in.flight", limiter, ConcurrencyLimiter::getInFlight)
+                    .description("Requests running now")
+                    .tag("limiter", limiter.getName())
+                    .register(registry);
+            FunctionCounter.builder("concurrency.rejected", limiter, ConcurrencyLimiter::getRejectedCount)
+                    .description("Requests shed with 503 because the limit was reached")
+                    .tag("limiter", limiter.getName())
+                    .register(registry);
+        }
+    }
+}
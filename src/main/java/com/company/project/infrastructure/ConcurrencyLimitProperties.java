@@ -0,0 +1,26 @@
+package com.company.project.infrastructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Settings for load shedding in front of the API handlers (app.concurrency-limit.*)
+ * @param rttTolerance how much slower than their long-term average requests may get before the limit shrinks
+ * @param smoothing weight of each new limit estimate, between 0 and 1
+ * @param longWindow requests in the long-term latency average
+ * @param bulkheads concurrent requests per bulkhead: {@code reads}, {@code writes} and those named by handlers
+ */
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public record ConcurrencyLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20") int initialLimit,
+        @DefaultValue("4") int minLimit,
+        @DefaultValue("200") int maxLimit,
+        @DefaultValue("1.5") double rttTolerance,
+        @DefaultValue("0.2") double smoothing,
+        @DefaultValue("600") int longWindow,
+        @DefaultValue Map<String, Integer> bulkheads
+) {
+}
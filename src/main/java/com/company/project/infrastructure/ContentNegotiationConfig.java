@@ -0,0 +1,76 @@
+package com.company.project.infrastructure;
+
+import com.company.project.common.controller.RepresentationNegotiator;
+import com.company.project.presentation.TodoProtobufHttpMessageConverter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.List;
+
+/**
+ * Binary representations of the API next to JSON, chosen through Accept and Content-Type.
+ * They are appended after the JSON converter, so JSON stays the answer to a missing or wildcard Accept.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class ContentNegotiationConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    /**
+     * Spring registers Smile and CBOR on its own once the formats are on the classpath, but with mappers
+     * that ignore the spring.jackson settings; these are rebuilt from the same builder as the JSON mapper.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+                || converter instanceof MappingJackson2CborHttpMessageConverter);
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                objectMapperBuilder.getObject().factory(new SmileFactory()).build()));
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                objectMapperBuilder.getObject().factory(new CBORFactory()).build()));
+        converters.add(new TodoProtobufHttpMessageConverter());
+    }
+
+    /**
+     * Built on the handler adapter's final converter list, so it picks the representation these converters would.
+     */
+    @Bean
+    public RepresentationNegotiator representationNegotiator(
+            @Qualifier("mvcContentNegotiationManager") ContentNegotiationManager contentNegotiationManager,
+            RequestMappingHandlerAdapter handlerAdapter) {
+        return new RepresentationNegotiator(contentNegotiationManager, handlerAdapter.getMessageConverters());
+    }
+
+    /**
+     * Responses differ by Accept, so shared caches must key on it. Entity tags name the representation as well
+     * (see {@link RepresentationNegotiator}), so a client switching formats never revalidates into the wrong one.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/api/v1/**");
+    }
+}
@@ -0,0 +1,39 @@
+package com.company.project.infrastructure;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * Defers taking a pooled connection until the first statement, so transactions that never reach JDBC
+     * (document-store calls, cache hits) neither check out a connection nor send BEGIN/COMMIT.
+     * Statements are timed by a {@link StatementCountingDataSource}, and on virtual threads the pool is
+     * additionally fronted by a {@link ConnectionPermitDataSource}.
+     */
+    @Bean
+    public static BeanPostProcessor lazyConnectionDataSourcePostProcessor(Environment environment) {
+        boolean virtualThreads = Threading.VIRTUAL.isActive(environment);
+        SqlStatisticsProperties sqlStatistics = Binder.get(environment)
+                .bindOrCreate("app.sql.statistics", SqlStatisticsProperties.class);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof LazyConnectionDataSourceProxy)) {
+                    DataSource target = virtualThreads ? ConnectionPermitDataSource.forPool(dataSource) : dataSource;
+                    return new LazyConnectionDataSourceProxy(
+                            new StatementCountingDataSource(target, sqlStatistics.slowThreshold()));
+                }
+                return bean;
+            }
+        };
+    }
+}
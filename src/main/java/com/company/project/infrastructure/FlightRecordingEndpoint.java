@@ -0,0 +1,75 @@
+package com.company.project.infrastructure;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@code /actuator/jfr}: starts a bounded flight recording (POST with an optional {@code duration}), lists
+ * recordings, summarizes a finished one at {@code /{id}}, downloads it at {@code /{id}/{file}} and stops it
+ * early with DELETE {@code /{id}}.
+ */
+@WebEndpoint(id = "jfr")
+public class FlightRecordingEndpoint {
+
+    private static final int DEFAULT_TOP = 10;
+
+    private final FlightRecordings recordings;
+
+    public FlightRecordingEndpoint(FlightRecordings recordings) {
+        this.recordings = recordings;
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Object> start(@Nullable Duration duration) {
+        try {
+            return new WebEndpointResponse<>(recordings.start(duration), WebEndpointResponse.STATUS_OK);
+        } catch (IllegalStateException ex) {
+            return new WebEndpointResponse<>(ex.getMessage(), 409);
+        }
+    }
+
+    @ReadOperation
+    public List<FlightRecordings.RecordingInfo> recordings() {
+        return recordings.list();
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<RecordingReport> recording(@Selector long id, @Nullable Integer top) {
+        return recordings.find(id)
+                .map(info -> new RecordingReport(info, recordings.summarize(id, top != null ? top : DEFAULT_TOP).orElse(null)))
+                .map(WebEndpointResponse::new)
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> download(@Selector long id, @Selector String file) {
+        Optional<Path> path = recordings.file(id).filter(candidate -> candidate.getFileName().toString().equals(file));
+        return path.<WebEndpointResponse<Resource>>map(candidate -> new WebEndpointResponse<>(new FileSystemResource(candidate)))
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<FlightRecordings.RecordingInfo> stop(@Selector long id) {
+        return recordings.stop(id)
+                .map(WebEndpointResponse::new)
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    /**
+     * The summary is absent while the recording is still running.
+     */
+    public record RecordingReport(FlightRecordings.RecordingInfo recording, FlightRecordingSummary summary) {
+    }
+}
@@ -0,0 +1,166 @@
+package com.company.project.infrastructure;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What a flight recording says about where time went: the methods on top of the most execution samples, the
+ * sites that allocated the most sampled bytes, the monitors and parks threads waited longest on, and latency of
+ * the application's own service and request events.
+ */
+public record FlightRecordingSummary(
+        long executionSamples,
+        List<HotMethod> hotMethods,
+        List<AllocationSite> allocationSites,
+        List<Contention> lockContention,
+        List<OperationLatency> serviceOperations,
+        List<OperationLatency> apiRequests
+) {
+
+    public static FlightRecordingSummary read(Path file, int top) throws IOException {
+        Map<String, Long> samples = new HashMap<>();
+        Map<String, Long> allocations = new HashMap<>();
+        Map<String, Tally> contention = new HashMap<>();
+        Map<String, Tally> services = new HashMap<>();
+        Map<String, Tally> requests = new HashMap<>();
+        long totalSamples = 0;
+
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                switch (event.getEventType().getName()) {
+                    case "jdk.ExecutionSample" -> {
+                        totalSamples++;
+                        samples.merge(topFrame(event), 1L, Long::sum);
+                    }
+                    case "jdk.ObjectAllocationSample" -> allocations.merge(
+                            className(event, "objectClass") + " in " + topFrame(event), event.getLong("weight"), Long::sum);
+                    case "jdk.JavaMonitorEnter" -> contention.computeIfAbsent(
+                            "monitor " + className(event, "monitorClass") + " in " + callerFrame(event), key -> new Tally())
+                            .add(event.getDuration());
+                    case "jdk.ThreadPark" -> {
+                        String parkedClass = className(event, "parkedClass");
+                        // Condition waits are mostly idle pool threads waiting for work, not contention
+                        if (!parkedClass.endsWith("$ConditionObject")) {
+                            contention.computeIfAbsent("park on " + parkedClass + " in " + callerFrame(event),
+                                    key -> new Tally()).add(event.getDuration());
+                        }
+                    }
+                    case ServiceOperationEvent.NAME -> services.computeIfAbsent(
+                            event.getString("component") + "." + event.getString("operation") + " " + event.getString("outcome"),
+                            key -> new Tally()).add(event.getDuration());
+                    case ApiRequestEvent.NAME -> requests.computeIfAbsent(
+                            event.getString("resource") + " " + event.getString("method") + " " + event.getString("uri")
+                                    + " " + event.getString("outcome"),
+                            key -> new Tally()).add(event.getDuration());
+                    default -> {
+                    }
+                }
+            }
+        }
+
+        long sampled = totalSamples;
+        return new FlightRecordingSummary(
+                totalSamples,
+                samples.entrySet().stream()
+                        .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                        .limit(top)
+                        .map(entry -> new HotMethod(entry.getKey(), entry.getValue(), 100.0 * entry.getValue() / sampled))
+                        .toList(),
+                allocations.entrySet().stream()
+                        .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                        .limit(top)
+                        .map(entry -> new AllocationSite(entry.getKey(), entry.getValue()))
+                        .toList(),
+                contention.entrySet().stream()
+                        .sorted(Comparator.comparing((Map.Entry<String, Tally> entry) -> entry.getValue().total).reversed())
+                        .limit(top)
+                        .map(entry -> new Contention(entry.getKey(), entry.getValue().count, millis(entry.getValue().total)))
+                        .toList(),
+                latencies(services, top),
+                latencies(requests, top));
+    }
+
+    private static List<OperationLatency> latencies(Map<String, Tally> tallies, int top) {
+        return tallies.entrySet().stream()
+                .sorted(Comparator.comparing((Map.Entry<String, Tally> entry) -> entry.getValue().total).reversed())
+                .limit(top)
+                .map(entry -> {
+                    Tally tally = entry.getValue();
+                    return new OperationLatency(entry.getKey(), tally.count, millis(tally.total),
+                            millis(tally.total.dividedBy(tally.count)), millis(tally.max));
+                })
+                .toList();
+    }
+
+    private static String topFrame(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "<no stack>";
+        }
+        RecordedFrame frame = stackTrace.getFrames().get(0);
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+
+    /**
+     * The first frame outside the JDK's locking internals, i.e. the code that asked for the lock.
+     */
+    private static String callerFrame(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return "<no stack>";
+        }
+        return stackTrace.getFrames().stream()
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                .filter(method -> !method.startsWith("java.util.concurrent.") && !method.startsWith("jdk.internal."))
+                .findFirst()
+                .orElseGet(() -> topFrame(event));
+    }
+
+    private static String className(RecordedEvent event, String field) {
+        RecordedClass type = event.hasField(field) ? event.getClass(field) : null;
+        return type != null ? type.getName() : "<unknown>";
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+
+    private static final class Tally {
+
+        private long count;
+        private Duration total = Duration.ZERO;
+        private Duration max = Duration.ZERO;
+
+        private void add(Duration duration) {
+            count++;
+            total = total.plus(duration);
+            if (duration.compareTo(max) > 0) {
+                max = duration;
+            }
+        }
+    }
+
+    public record HotMethod(String method, long samples, double percent) {
+    }
+
+    public record AllocationSite(String site, long sampledBytes) {
+    }
+
+    public record Contention(String site, long events, double totalMs) {
+    }
+
+    public record OperationLatency(String operation, long count, double totalMs, double averageMs, double maxMs) {
+    }
+}
@@ -0,0 +1,168 @@
+package com.company.project.infrastructure;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Time-bounded Java Flight Recorder sessions written to {@code app.profiling.directory}, one at a time.
+ * <p>
+ * Recordings use the JDK's low-overhead {@code default} settings (execution samples every 20ms, throttled
+ * allocation samples, monitor and park events over 20ms) plus the application's {@link ServiceOperationEvent}
+ * and {@link ApiRequestEvent}. Events that would copy the environment, system properties or JVM arguments into
+ * the file are left out, since those carry the database, Redis and Kafka credentials. Only the newest
+ * {@code retainedRecordings} files are kept.
+ */
+@Slf4j
+public class FlightRecordings implements DisposableBean {
+
+    static final List<String> SENSITIVE_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation");
+
+    private final ProfilingProperties properties;
+    private final NavigableMap<Long, Recording> recordings = new ConcurrentSkipListMap<>();
+
+    public FlightRecordings(ProfilingProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Starts a recording that stops by itself after the duration, capped at {@code maxDuration}.
+     *
+     * @throws IllegalStateException when a recording is already running
+     */
+    public synchronized RecordingInfo start(Duration duration) {
+        if (recordings.values().stream().anyMatch(recording -> recording.getState() == RecordingState.RUNNING)) {
+            throw new IllegalStateException("A flight recording is already running");
+        }
+        Duration bounded = duration == null ? properties.defaultDuration()
+                : duration.compareTo(properties.maxDuration()) > 0 ? properties.maxDuration()
+                : duration;
+        // Registered here rather than at startup, so JFR is only initialized once someone profiles
+        FlightRecorder.register(ServiceOperationEvent.class);
+        FlightRecorder.register(ApiRequestEvent.class);
+        Recording recording;
+        try {
+            Files.createDirectories(properties.directory());
+            recording = new Recording(Configuration.getConfiguration(properties.settings()));
+            recording.enable(ServiceOperationEvent.NAME);
+            recording.enable(ApiRequestEvent.NAME);
+            SENSITIVE_EVENTS.forEach(recording::disable);
+            recording.setName("profiling-" + recording.getId());
+            recording.setToDisk(true);
+            recording.setDuration(bounded);
+            recording.setDestination(properties.directory().resolve("recording-" + recording.getId() + ".jfr"));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } catch (ParseException ex) {
+            throw new IllegalStateException("Unreadable JFR settings " + properties.settings(), ex);
+        }
+        recording.start();
+        recordings.put(recording.getId(), recording);
+        log.info("Started flight recording {} for {}s into {}", recording.getId(), bounded.toSeconds(),
+                recording.getDestination());
+        discardOldRecordings();
+        return info(recording);
+    }
+
+    /**
+     * Stops a running recording early and writes its file.
+     */
+    public Optional<RecordingInfo> stop(long id) {
+        return Optional.ofNullable(recordings.get(id)).map(recording -> {
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+                log.info("Stopped flight recording {}", id);
+            }
+            return info(recording);
+        });
+    }
+
+    public List<RecordingInfo> list() {
+        return recordings.descendingMap().values().stream().map(FlightRecordings::info).toList();
+    }
+
+    public Optional<RecordingInfo> find(long id) {
+        return Optional.ofNullable(recordings.get(id)).map(FlightRecordings::info);
+    }
+
+    /**
+     * The file of a finished recording; empty while it is still running.
+     */
+    public Optional<Path> file(long id) {
+        return Optional.ofNullable(recordings.get(id))
+                .filter(FlightRecordings::finished)
+                .map(Recording::getDestination)
+                .filter(Files::isReadable);
+    }
+
+    /**
+     * Hot methods, allocation sites, contention and application events of a finished recording.
+     */
+    public Optional<FlightRecordingSummary> summarize(long id, int top) {
+        return file(id).map(path -> {
+            try {
+                return FlightRecordingSummary.read(path, top);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        recordings.values().forEach(Recording::close);
+    }
+
+    private void discardOldRecordings() {
+        while (recordings.size() > properties.retainedRecordings()) {
+            Map.Entry<Long, Recording> oldest = recordings.pollFirstEntry();
+            Recording recording = oldest.getValue();
+            Path file = recording.getDestination();
+            recording.close();
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex) {
+                log.warn("Could not delete old flight recording {}: {}", file, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * A recording with a destination is closed as soon as it has been written there.
+     */
+    private static boolean finished(Recording recording) {
+        return recording.getState() == RecordingState.STOPPED || recording.getState() == RecordingState.CLOSED;
+    }
+
+    private static RecordingInfo info(Recording recording) {
+        Path file = recording.getDestination();
+        Long size = null;
+        try {
+            size = finished(recording) && Files.exists(file) ? Files.size(file) : null;
+        } catch (IOException ex) {
+            // Reported without a size
+        }
+        return new RecordingInfo(recording.getId(), recording.getState().name(), recording.getStartTime(),
+                recording.getDuration(), file.getFileName().toString(), size);
+    }
+
+    public record RecordingInfo(long id, String state, Instant startTime, Duration duration, String file, Long size) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.company.project.infrastructure;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+@Configuration
+public class FlywayConfig {
+
+    /**
+     * Takes the migration lock per session instead of per transaction. The transactional lock keeps a connection
+     * idle in transaction for the whole run, and CREATE INDEX CONCURRENTLY (V10) waits for it forever.
+     * Set here because spring.flyway.postgresql.transactional-lock only reaches the Flyway 9 extension.
+     */
+    @Bean
+    public FlywayConfigurationCustomizer sessionLevelMigrationLock() {
+        return configuration -> configuration.configuration(Map.of("flyway.postgresql.transactional.lock", "false"));
+    }
+}
@@ -0,0 +1,151 @@
+package com.company.project.infrastructure;
+
+import com.company.project.common.service.CrudService;
+import com.company.project.domain.TodoRepository;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Times every public method of {@link CrudService} and {@link TodoRepository} beans into
+ * {@value #SERVICE_METER} and {@value #REPOSITORY_METER}, tagged with the bean name as {@code component},
+ * the method name as {@code operation}, {@code outcome} SUCCESS or ERROR and the {@code exception} class.
+ * <p>
+ * A bean that is already proxied, e.g. for transactions, gets the timer as its outermost advice, so the time
+ * includes the commit. Histograms and SLO boundaries come from {@code management.metrics.distribution}.
+ * Service calls are also committed as {@link ServiceOperationEvent}s while a flight recording enables them.
+ */
+public class InvocationMetricsPostProcessor implements BeanPostProcessor, BeanClassLoaderAware {
+
+    public static final String SERVICE_METER = "service.invocations";
+    public static final String REPOSITORY_METER = "repository.invocations";
+
+    private static final Pointcut PUBLIC_METHODS = new StaticMethodMatcherPointcut() {
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+        }
+    };
+
+    private final Supplier<MeterRegistry> meterRegistry;
+    private ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+
+    /**
+     * The registry is looked up on the first timed call, so this early-created post-processor does not
+     * instantiate it before Boot's meter filters are registered.
+     */
+    public InvocationMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = SingletonSupplier.of(meterRegistry::getObject);
+    }
+
+    @Override
+    public void setBeanClassLoader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        String meterName = bean instanceof CrudService<?, ?> ? SERVICE_METER
+                : bean instanceof TodoRepository ? REPOSITORY_METER
+                : null;
+        if (meterName == null) {
+            return bean;
+        }
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(PUBLIC_METHODS,
+                new TimingInterceptor(meterName, beanName, meterRegistry));
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvisor(0, advisor);
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(advisor);
+        return proxyFactory.getProxy(classLoader);
+    }
+
+    /**
+     * Resolves the success timer once per method, so a successful call costs a map hit and two clock reads;
+     * failures look their timer up by exception type.
+     */
+    private static final class TimingInterceptor implements MethodInterceptor {
+
+        private final String meterName;
+        private final String component;
+        private final Supplier<MeterRegistry> meterRegistry;
+        private final boolean serviceEvents;
+        private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+        private TimingInterceptor(String meterName, String component, Supplier<MeterRegistry> meterRegistry) {
+            this.meterName = meterName;
+            this.component = component;
+            this.meterRegistry = meterRegistry;
+            this.serviceEvents = SERVICE_METER.equals(meterName);
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            MeterRegistry registry = meterRegistry.get();
+            Clock clock = registry.config().clock();
+            ServiceOperationEvent event = serviceEvents ? new ServiceOperationEvent() : null;
+            if (event != null) {
+                event.begin();
+            }
+            long start = clock.monotonicTime();
+            try {
+                Object result = invocation.proceed();
+                successTimers.computeIfAbsent(invocation.getMethod(), method -> timer(registry, method, "SUCCESS", "none"))
+                        .record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+                commit(event, invocation.getMethod(), "SUCCESS", "none");
+                return result;
+            } catch (Throwable ex) {
+                timer(registry, invocation.getMethod(), "ERROR", ex.getClass().getSimpleName())
+                        .record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+                commit(event, invocation.getMethod(), "ERROR", ex.getClass().getSimpleName());
+                throw ex;
+            }
+        }
+
+        private void commit(ServiceOperationEvent event, Method method, String outcome, String exception) {
+            if (event == null) {
+                return;
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.component = component;
+                event.operation = method.getName();
+                event.outcome = outcome;
+                event.exception = exception;
+                event.commit();
+            }
+        }
+
+        private Timer timer(MeterRegistry registry, Method method, String outcome, String exception) {
+            return Timer.builder(meterName)
+                    .description("Duration of public method calls on the component")
+                    .tag("component", component)
+                    .tag("operation", method.getName())
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.company.project.infrastructure;
+
+import com.company.project.domain.Todo;
+import com.company.project.domain.TodoChangeEvent;
+import com.company.project.domain.TodoEventOutbox;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.UncheckedIOException;
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Outbox table access over plain JDBC: appends are one batched INSERT, or one COPY for bulk imports, and the
+ * relay side needs row locking that JPQL cannot express.
+ */
+@Repository
+public class JdbcTodoEventOutbox implements TodoEventOutbox {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO todo_outbox (aggregate_id, event_type, payload, created_at) VALUES (?, ?, ?, ?)";
+
+    private static final String LOCK_BATCH_SQL =
+            "SELECT id, aggregate_id, event_type, payload, created_at FROM todo_outbox "
+                    + "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    /**
+     * From this many events a COPY is cheaper than the batched INSERT
+     */
+    private static final int COPY_THRESHOLD = 500;
+
+    private static final String DELETE_SQL = "DELETE FROM todo_outbox WHERE id = ANY (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public JdbcTodoEventOutbox(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void append(List<TodoChangeEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (events.size() >= COPY_THRESHOLD) {
+            PostgresCopy copy = new PostgresCopy("todo_outbox", "aggregate_id", "event_type", "payload", "created_at");
+            copy.execute(jdbcTemplate, rows -> {
+                for (TodoChangeEvent event : events) {
+                    rows.field(event.todoId())
+                            .field(event.type().name())
+                            .field(write(TodoEventPayload.from(event)))
+                            .field(event.occurredAt())
+                            .endRow();
+                }
+            });
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setString(1, event.todoId());
+            ps.setString(2, event.type().name());
+            ps.setString(3, write(TodoEventPayload.from(event)));
+            ps.setTimestamp(4, Timestamp.from(event.occurredAt()));
+        });
+    }
+
+    /**
+     * Locks the oldest unpublished rows for the current transaction, skipping rows another relay holds.
+     */
+    public List<TodoOutboxRecord> lockNextBatch(int limit) {
+        return jdbcTemplate.query(LOCK_BATCH_SQL, (rs, rowNum) -> new TodoOutboxRecord(
+                rs.getLong("id"),
+                rs.getString("aggregate_id"),
+                rs.getString("event_type"),
+                rs.getString("payload"),
+                rs.getTimestamp("created_at").toInstant()), limit);
+    }
+
+    public void delete(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(DELETE_SQL, ps -> {
+            Array array = ps.getConnection().createArrayOf("bigint", ids.toArray());
+            ps.setArray(1, array);
+        });
+    }
+
+    private String write(TodoEventPayload payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    record TodoEventPayload(String type, String todoId, long version, Instant occurredAt, TodoSnapshot todo) {
+
+        static TodoEventPayload from(TodoChangeEvent event) {
+            return new TodoEventPayload(event.type().name(), event.todoId(), event.version(), event.occurredAt(),
+                    event.todo() == null ? null : TodoSnapshot.from(event.todo()));
+        }
+    }
+
+    record TodoSnapshot(String id, String title, String description, boolean completed,
+                        LocalDateTime createdAt, LocalDateTime updatedAt, long version) {
+
+        static TodoSnapshot from(Todo todo) {
+            return new TodoSnapshot(todo.getId(), todo.getTitle(), todo.getDescription(), todo.isCompleted(),
+                    todo.getCreatedAt(), todo.getUpdatedAt(), todo.getVersion());
+        }
+    }
+}
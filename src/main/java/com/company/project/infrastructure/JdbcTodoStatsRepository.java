@@ -0,0 +1,117 @@
+package com.company.project.infrastructure;
+
+import com.company.project.domain.TodoStats;
+import com.company.project.domain.TodoStatsDelta;
+import com.company.project.domain.TodoStatsRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Rollup tables over plain JDBC: increments are upserts that add to the stored counts, which JPA cannot express.
+ * <p>
+ * Each delta goes to one random slot of the striped tables, days first and in date order, then the totals, so
+ * concurrent writers neither queue on one row nor lock rows in opposite orders.
+ */
+@Repository
+public class JdbcTodoStatsRepository implements TodoStatsRepository {
+
+    static final int SLOTS = 16;
+
+    private static final String UPSERT_DAY_SQL =
+            "INSERT INTO todo_stats_daily (day, slot, created_count, completed_count) VALUES (?, ?, ?, ?) "
+                    + "ON CONFLICT (day, slot) DO UPDATE SET "
+                    + "created_count = todo_stats_daily.created_count + EXCLUDED.created_count, "
+                    + "completed_count = todo_stats_daily.completed_count + EXCLUDED.completed_count";
+
+    private static final String UPSERT_TOTALS_SQL =
+            "INSERT INTO todo_stats_totals (slot, open_count, completed_count) VALUES (?, ?, ?) "
+                    + "ON CONFLICT (slot) DO UPDATE SET "
+                    + "open_count = todo_stats_totals.open_count + EXCLUDED.open_count, "
+                    + "completed_count = todo_stats_totals.completed_count + EXCLUDED.completed_count";
+
+    private static final String TOTALS_SQL =
+            "SELECT COALESCE(SUM(open_count), 0), COALESCE(SUM(completed_count), 0) FROM todo_stats_totals";
+
+    private static final String DAYS_SQL =
+            "SELECT day, SUM(created_count) AS created_count, SUM(completed_count) AS completed_count "
+                    + "FROM todo_stats_daily WHERE day >= ? AND day < ? GROUP BY day ORDER BY day";
+
+    /**
+     * Adds the difference between the todos and the recorded days to slot 0 of each day that drifted. Both sides are
+     * read from the statement's one snapshot, in which a write's todo and its increments are either both visible or
+     * both missing, so writes committing meanwhile are neither counted twice nor lost.
+     */
+    private static final String CORRECT_DAYS_SQL =
+            "INSERT INTO todo_stats_daily (day, slot, created_count, completed_count) "
+                    + "SELECT day, 0, SUM(created_count), SUM(completed_count) FROM ("
+                    + "SELECT CAST(created_at AS DATE) AS day, COUNT(*) AS created_count, "
+                    + "COUNT(*) FILTER (WHERE completed) AS completed_count FROM todos GROUP BY CAST(created_at AS DATE) "
+                    + "UNION ALL SELECT day, -SUM(created_count), -SUM(completed_count) FROM todo_stats_daily GROUP BY day"
+                    + ") drift GROUP BY day HAVING SUM(created_count) <> 0 OR SUM(completed_count) <> 0 "
+                    + "ON CONFLICT (day, slot) DO UPDATE SET "
+                    + "created_count = todo_stats_daily.created_count + EXCLUDED.created_count, "
+                    + "completed_count = todo_stats_daily.completed_count + EXCLUDED.completed_count";
+
+    private static final String CORRECT_TOTALS_SQL =
+            "INSERT INTO todo_stats_totals (slot, open_count, completed_count) "
+                    + "SELECT 0, actual.open_count - recorded.open_count, actual.completed_count - recorded.completed_count "
+                    + "FROM (SELECT COUNT(*) FILTER (WHERE NOT completed) AS open_count, "
+                    + "COUNT(*) FILTER (WHERE completed) AS completed_count FROM todos) actual, "
+                    + "(SELECT COALESCE(SUM(open_count), 0) AS open_count, COALESCE(SUM(completed_count), 0) AS completed_count "
+                    + "FROM todo_stats_totals) recorded "
+                    + "WHERE actual.open_count <> recorded.open_count OR actual.completed_count <> recorded.completed_count "
+                    + "ON CONFLICT (slot) DO UPDATE SET "
+                    + "open_count = todo_stats_totals.open_count + EXCLUDED.open_count, "
+                    + "completed_count = todo_stats_totals.completed_count + EXCLUDED.completed_count";
+
+    private static final RowMapper<TodoStats.Day> DAY_MAPPER = (rs, rowNum) -> new TodoStats.Day(
+            rs.getDate("day").toLocalDate(), rs.getLong("created_count"), rs.getLong("completed_count"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcTodoStatsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void apply(TodoStatsDelta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        int slot = ThreadLocalRandom.current().nextInt(SLOTS);
+        List<TodoStats.Day> days = delta.days();
+        jdbcTemplate.batchUpdate(UPSERT_DAY_SQL, days, days.size(), (ps, day) -> {
+            ps.setDate(1, Date.valueOf(day.date()));
+            ps.setInt(2, slot);
+            ps.setLong(3, day.created());
+            ps.setLong(4, day.completed());
+        });
+        jdbcTemplate.update(UPSERT_TOTALS_SQL, slot, delta.open(), delta.completed());
+    }
+
+    @Override
+    public TodoStats find(LocalDate from, LocalDate to) {
+        long[] totals = findTotals();
+        List<TodoStats.Day> days = jdbcTemplate.query(DAYS_SQL, DAY_MAPPER, Date.valueOf(from), Date.valueOf(to));
+        return new TodoStats(totals[0], totals[1], days);
+    }
+
+    /**
+     * Corrects drifted rows by adding the difference rather than replacing them, so no table lock is taken and writers
+     * keep going while the todos are scanned. Only the corrected rows are locked, and only until the caller commits.
+     */
+    @Override
+    public int reconcile() {
+        return jdbcTemplate.update(CORRECT_DAYS_SQL) + jdbcTemplate.update(CORRECT_TOTALS_SQL);
+    }
+
+    private long[] findTotals() {
+        return jdbcTemplate.queryForObject(TOTALS_SQL, (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+    }
+}
@@ -0,0 +1,54 @@
+package com.company.project.infrastructure;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+
+/**
+ * Runs each callback of the current transaction under a JDBC savepoint, set on the connection that the transaction
+ * shares with JdbcTemplate. Spring's JPA support does not nest transactions through savepoints, hence this.
+ * <p>
+ * The callback's entity changes are flushed and the persistence context is cleared before its savepoint is
+ * released, so no callback sees entities loaded by an earlier one. Native {@code ... RETURNING *} queries would
+ * otherwise resolve to the entity already in the context instead of the row they just wrote, e.g. for two toggles of
+ * one todo in the same batch. When a callback throws, the context holds only its own pending changes, and clearing it
+ * keeps them from being flushed at commit after the rollback to the savepoint.
+ * <p>
+ * A database error raised through Hibernate, e.g. by the flush, or any exception that passes through a participating
+ * {@code @Transactional} call still marks the whole transaction rollback-only, and the commit then fails.
+ */
+class JpaSavepointOperations implements TransactionOperations {
+
+    private final EntityManager entityManager;
+
+    JpaSavepointOperations(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public <T> T execute(TransactionCallback<T> action) {
+        Session session = entityManager.unwrap(Session.class);
+        Savepoint savepoint = session.doReturningWork(Connection::setSavepoint);
+        T result;
+        try {
+            result = action.doInTransaction(new SimpleTransactionStatus(false));
+            entityManager.flush();
+            entityManager.clear();
+        } catch (RuntimeException | Error ex) {
+            entityManager.clear();
+            try {
+                session.doWork(connection -> connection.rollback(savepoint));
+            } catch (RuntimeException rollbackEx) {
+                ex.addSuppressed(rollbackEx);
+            }
+            throw ex;
+        }
+        session.doWork(connection -> connection.releaseSavepoint(savepoint));
+        return result;
+    }
+}
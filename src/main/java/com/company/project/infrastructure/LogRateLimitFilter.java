@@ -0,0 +1,87 @@
+package com.company.project.infrastructure;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import com.company.project.common.ratelimit.TokenBucket;
+import org.slf4j.Marker;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps how many events per second each configured logger may emit at or below {@code maxLevel}; warnings and
+ * errors above it always pass. Runs before the event is built, so a suppressed call costs a few atomic
+ * operations. Each logger has its own {@link TokenBucket} allowing a one-second burst.
+ * <pre>
+ * &lt;turboFilter class="com.company.project.infrastructure.LogRateLimitFilter"&gt;
+ *     &lt;logger&gt;com.company.project.application.TodoService&lt;/logger&gt;
+ *     &lt;permitsPerSecond&gt;50&lt;/permitsPerSecond&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+public class LogRateLimitFilter extends TurboFilter {
+
+    private final Set<String> loggers = new LinkedHashSet<>();
+    private volatile Map<String, Bucket> buckets = Map.of();
+    private Level maxLevel = Level.INFO;
+    private double permitsPerSecond = 50;
+
+    public void addLogger(String logger) {
+        loggers.add(logger.trim());
+    }
+
+    public void setMaxLevel(String maxLevel) {
+        this.maxLevel = Level.toLevel(maxLevel, Level.INFO);
+    }
+
+    public void setPermitsPerSecond(double permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    /**
+     * Events suppressed per configured logger since startup.
+     */
+    public Map<String, Long> getSuppressedCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        buckets.forEach((logger, bucket) -> counts.put(logger, bucket.suppressed.sum()));
+        return counts;
+    }
+
+    @Override
+    public void start() {
+        long capacity = Math.max(1, Math.round(permitsPerSecond));
+        Map<String, Bucket> configured = new HashMap<>();
+        loggers.forEach(logger -> configured.put(logger,
+                new Bucket(new TokenBucket(capacity, permitsPerSecond, System.nanoTime()))));
+        buckets = Map.copyOf(configured);
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // Bare isXxxEnabled() checks arrive without a format and must not spend permits; the effective level is
+        // compared directly, as isEnabledFor would run the turbo filters again
+        if (format == null || level == null || level.toInt() > maxLevel.toInt()
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        Bucket bucket = buckets.get(logger.getName());
+        if (bucket == null || bucket.permits.tryAcquire(System.nanoTime())) {
+            return FilterReply.NEUTRAL;
+        }
+        bucket.suppressed.increment();
+        return FilterReply.DENY;
+    }
+
+    private record Bucket(TokenBucket permits, LongAdder suppressed) {
+
+        private Bucket(TokenBucket permits) {
+            this(permits, new LongAdder());
+        }
+    }
+}
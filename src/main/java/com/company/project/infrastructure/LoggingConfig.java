@@ -0,0 +1,27 @@
+package com.company.project.infrastructure;
+
+import ch.qos.logback.classic.LoggerContext;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Request ids in the MDC and metrics for the non-blocking appenders and rate limits set up in logback-spring.xml.
+ */
+@Configuration
+public class LoggingConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestIdFilter> requestIdFilter() {
+        FilterRegistrationBean<RequestIdFilter> registration = new FilterRegistrationBean<>(new RequestIdFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public LoggingMetrics loggingMetrics() {
+        return new LoggingMetrics((LoggerContext) LoggerFactory.getILoggerFactory());
+    }
+}
@@ -0,0 +1,66 @@
+package com.company.project.infrastructure;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Iterator;
+
+/**
+ * {@code logback.events.dropped} per {@link NonBlockingAsyncAppender} and {@code logback.events.suppressed} per
+ * logger limited by a {@link LogRateLimitFilter}. The counts are read from the current logback configuration at
+ * each scrape, so they restart from zero after a configuration reload.
+ */
+public class LoggingMetrics implements MeterBinder {
+
+    private final LoggerContext loggerContext;
+
+    public LoggingMetrics(LoggerContext loggerContext) {
+        this.loggerContext = loggerContext;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Logger logger : loggerContext.getLoggerList()) {
+            for (Iterator<Appender<ILoggingEvent>> it = logger.iteratorForAppenders(); it.hasNext(); ) {
+                if (it.next() instanceof NonBlockingAsyncAppender appender) {
+                    String name = appender.getName();
+                    FunctionCounter.builder("logback.events.dropped", loggerContext, context -> dropped(context, name))
+                            .description("Log events dropped because the async appender's ring buffer was full")
+                            .tag("appender", name)
+                            .register(registry);
+                }
+            }
+        }
+        loggerContext.getTurboFilterList().stream()
+                .filter(LogRateLimitFilter.class::isInstance)
+                .map(LogRateLimitFilter.class::cast)
+                .flatMap(filter -> filter.getSuppressedCounts().keySet().stream())
+                .distinct()
+                .forEach(logger -> FunctionCounter.builder("logback.events.suppressed", loggerContext,
+                                context -> suppressed(context, logger))
+                        .description("Log events suppressed by the per-logger rate limit")
+                        .tag("logger", logger)
+                        .register(registry));
+    }
+
+    private static double dropped(LoggerContext context, String appenderName) {
+        return context.getLoggerList().stream()
+                .map(logger -> logger.getAppender(appenderName))
+                .filter(NonBlockingAsyncAppender.class::isInstance)
+                .findFirst()
+                .map(appender -> (double) ((NonBlockingAsyncAppender) appender).getDroppedCount())
+                .orElse(0.0);
+    }
+
+    private static double suppressed(LoggerContext context, String logger) {
+        return context.getTurboFilterList().stream()
+                .filter(LogRateLimitFilter.class::isInstance)
+                .mapToLong(filter -> ((LogRateLimitFilter) filter).getSuppressedCounts().getOrDefault(logger, 0L))
+                .sum();
+    }
+}
@@ -0,0 +1,15 @@
+package com.company.project.infrastructure;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public static InvocationMetricsPostProcessor invocationMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new InvocationMetricsPostProcessor(meterRegistry);
+    }
+}
@@ -0,0 +1,342 @@
+package com.company.project.infrastructure;
+
+import com.company.project.domain.Todo;
+import com.company.project.domain.TodoQuery;
+import com.company.project.domain.TodoRepository;
+import com.company.project.domain.TodoSearchHit;
+import com.github.f4b6a3.ulid.UlidCreator;
+import com.mongodb.bulk.BulkWriteResult;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.BooleanOperators;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.web.util.HtmlUtils;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Document-store implementation of {@link TodoRepository}.
+ * <p>
+ * Every mutation is a single server-side command (findAndModify, delete or one unordered bulk write), reads
+ * project only the mapped fields, and the version is bumped by the same command that changes the document.
+ */
+public class MongoTodoRepository implements TodoRepository {
+
+    private static final String ID = "_id";
+    private static final String SCORE = "score";
+    private static final int STREAM_BATCH_SIZE = 500;
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoTodoRepository(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Creates the secondary indexes; the ULID {@code _id} index already serves id lookups and keyset paging.
+     * Each sortable key of {@link TodoQuery} gets a (key, _id) and a (completed, key, _id) index.
+     */
+    public void ensureIndexes() {
+        for (String key : List.of(TodoDocument.CREATED_AT, TodoDocument.UPDATED_AT)) {
+            mongoTemplate.indexOps(TodoDocument.class).ensureIndex(new Index()
+                    .on(key, Sort.Direction.ASC)
+                    .on(ID, Sort.Direction.ASC));
+            mongoTemplate.indexOps(TodoDocument.class).ensureIndex(new Index()
+                    .on(TodoDocument.COMPLETED, Sort.Direction.ASC)
+                    .on(key, Sort.Direction.ASC)
+                    .on(ID, Sort.Direction.ASC));
+        }
+        mongoTemplate.indexOps(TodoDocument.class).ensureIndex(TextIndexDefinition.builder()
+                .onField(TodoDocument.TITLE, 2F)
+                .onField(TodoDocument.DESCRIPTION)
+                .withDefaultLanguage("english")
+                .build());
+    }
+
+    @Override
+    public Todo save(Todo todo) {
+        if (todo.getId() == null) {
+            return toDomain(mongoTemplate.insert(newDocument(todo)));
+        }
+        Update overwrite = new Update()
+                .set(TodoDocument.TITLE, todo.getTitle())
+                .set(TodoDocument.DESCRIPTION, todo.getDescription())
+                .set(TodoDocument.COMPLETED, todo.isCompleted())
+                .set(TodoDocument.UPDATED_AT, todo.getUpdatedAt())
+                .inc(TodoDocument.VERSION, 1);
+        return findAndModify(byId(todo.getId()), overwrite)
+                .orElseThrow(() -> new IllegalArgumentException("Todo not found with id: " + todo.getId()));
+    }
+
+    /**
+     * Sends all inserts and updates as one unordered bulk write. Updates are guarded by the version the caller
+     * read, so a concurrent change fails the batch instead of being overwritten.
+     */
+    @Override
+    public List<Todo> saveAll(List<Todo> todos) {
+        if (todos.isEmpty()) {
+            return List.of();
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TodoDocument.class);
+        // Unordered writes may apply in any order, so repeated updates of one todo collapse into its last state
+        Map<String, Todo> updates = new LinkedHashMap<>();
+        List<Todo> saved = new ArrayList<>(todos.size());
+        for (Todo todo : todos) {
+            if (todo.getId() == null) {
+                TodoDocument document = newDocument(todo);
+                bulk.insert(document);
+                saved.add(toDomain(document));
+            } else {
+                updates.put(todo.getId(), todo);
+                saved.add(null);
+            }
+        }
+        for (Todo todo : updates.values()) {
+            bulk.updateOne(
+                    Query.query(Criteria.where(ID).is(todo.getId()).and(TodoDocument.VERSION).is(todo.getVersion())),
+                    new Update()
+                            .set(TodoDocument.TITLE, todo.getTitle())
+                            .set(TodoDocument.DESCRIPTION, todo.getDescription())
+                            .set(TodoDocument.COMPLETED, todo.isCompleted())
+                            .set(TodoDocument.UPDATED_AT, todo.getUpdatedAt())
+                            .inc(TodoDocument.VERSION, 1));
+        }
+        BulkWriteResult result = bulk.execute();
+        if (result.getMatchedCount() != updates.size()) {
+            throw new OptimisticLockingFailureException("Batch updated " + result.getMatchedCount() + " of "
+                    + updates.size() + " todos; the rest changed concurrently");
+        }
+        for (int i = 0; i < todos.size(); i++) {
+            if (saved.get(i) == null) {
+                Todo last = updates.get(todos.get(i).getId());
+                saved.set(i, new Todo(last.getId(), last.getTitle(), last.getDescription(), last.isCompleted(),
+                        last.getCreatedAt(), last.getUpdatedAt(), last.getVersion() + 1));
+            }
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<Todo> findById(String id) {
+        return Optional.ofNullable(mongoTemplate.findOne(projected(byId(id)), TodoDocument.class))
+                .map(this::toDomain);
+    }
+
+    @Override
+    public List<Todo> findAllById(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return find(projected(Query.query(Criteria.where(ID).in(ids))));
+    }
+
+    @Override
+    public List<Todo> findAll() {
+        return find(projected(new Query()));
+    }
+
+    @Override
+    public List<Todo> findAfter(String afterId, int limit) {
+        Query query = afterId == null ? new Query() : Query.query(Criteria.where(ID).gt(afterId));
+        return find(projected(query).with(Sort.by(ID)).limit(limit));
+    }
+
+    @Override
+    public Stream<Todo> streamAll() {
+        Query query = projected(new Query()).with(Sort.by(ID)).cursorBatchSize(STREAM_BATCH_SIZE);
+        return mongoTemplate.stream(query, TodoDocument.class).map(this::toDomain);
+    }
+
+    @Override
+    public List<Todo> findByQuery(TodoQuery query, TodoQuery.Position after, int limit) {
+        String sortField = query.sortKey() == TodoQuery.SortKey.CREATED_AT ? TodoDocument.CREATED_AT : TodoDocument.UPDATED_AT;
+        List<Criteria> conditions = new ArrayList<>();
+        if (query.completed() != null) {
+            conditions.add(Criteria.where(TodoDocument.COMPLETED).is(query.completed()));
+        }
+        addRange(conditions, TodoDocument.CREATED_AT, query.createdFrom(), query.createdTo());
+        addRange(conditions, TodoDocument.UPDATED_AT, query.updatedFrom(), query.updatedTo());
+        if (after != null) {
+            conditions.add(query.descending()
+                    ? new Criteria().orOperator(Criteria.where(sortField).lt(after.value()),
+                            Criteria.where(sortField).is(after.value()).and(ID).lt(after.id()))
+                    : new Criteria().orOperator(Criteria.where(sortField).gt(after.value()),
+                            Criteria.where(sortField).is(after.value()).and(ID).gt(after.id())));
+        }
+        Query mongoQuery = conditions.isEmpty() ? new Query() : Query.query(new Criteria().andOperator(conditions));
+        Sort.Direction direction = query.descending() ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return find(projected(mongoQuery).with(Sort.by(direction, sortField, ID)).limit(limit));
+    }
+
+    private static void addRange(List<Criteria> conditions, String field, LocalDateTime from, LocalDateTime to) {
+        if (from != null || to != null) {
+            Criteria range = Criteria.where(field);
+            if (from != null) {
+                range = range.gte(from);
+            }
+            if (to != null) {
+                range = range.lt(to);
+            }
+            conditions.add(range);
+        }
+    }
+
+    /**
+     * Matches through the text index and orders by text score. The store has no headline function, so
+     * highlights are the escaped text without marks.
+     */
+    @Override
+    public List<TodoSearchHit> search(String query, TodoSearchHit.Position after, int limit) {
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(Aggregation.match(TextCriteria.forDefaultLanguage().matching(query)));
+        stages.add(context -> new Document("$addFields", new Document(SCORE, new Document("$meta", "textScore"))));
+        if (after != null) {
+            stages.add(Aggregation.match(new Criteria().orOperator(
+                    Criteria.where(SCORE).lt(after.rank()),
+                    Criteria.where(SCORE).is(after.rank()).and(ID).gt(after.id()))));
+        }
+        stages.add(Aggregation.sort(Sort.by(Sort.Order.desc(SCORE), Sort.Order.asc(ID))));
+        stages.add(Aggregation.limit(limit));
+        return mongoTemplate.aggregate(Aggregation.newAggregation(stages), TodoDocument.class, Document.class)
+                .getMappedResults().stream()
+                .map(document -> {
+                    Todo todo = toDomain(mongoTemplate.getConverter().read(TodoDocument.class, document));
+                    return new TodoSearchHit(todo, document.getDouble(SCORE), HtmlUtils.htmlEscape(todo.getTitle()),
+                            todo.getDescription() != null ? HtmlUtils.htmlEscape(todo.getDescription()) : null);
+                })
+                .toList();
+    }
+
+    @Override
+    public Optional<Long> findVersionById(String id) {
+        Query query = byId(id);
+        query.fields().include(TodoDocument.VERSION);
+        return Optional.ofNullable(mongoTemplate.findOne(query, TodoDocument.class))
+                .map(TodoDocument::getVersion);
+    }
+
+    @Override
+    public Optional<Todo> update(String id, String title, String description, Long expectedVersion) {
+        Update update = new Update()
+                .set(TodoDocument.TITLE, title)
+                .set(TodoDocument.DESCRIPTION, description)
+                .set(TodoDocument.UPDATED_AT, now())
+                .inc(TodoDocument.VERSION, 1);
+        return findAndModify(byIdAndVersion(id, expectedVersion), update);
+    }
+
+    /**
+     * Negates the flag inside an update pipeline, so the server flips it atomically without a prior read.
+     */
+    @Override
+    public Optional<Todo> toggleCompletion(String id, Long expectedVersion) {
+        AggregationUpdate toggle = AggregationUpdate.update()
+                .set(TodoDocument.COMPLETED).toValue(BooleanOperators.Not.not("$" + TodoDocument.COMPLETED))
+                .set(TodoDocument.UPDATED_AT).toValue(now())
+                .set(TodoDocument.VERSION).toValue(ArithmeticOperators.valueOf(TodoDocument.VERSION).add(1));
+        return findAndModify(byIdAndVersion(id, expectedVersion), toggle);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        mongoTemplate.remove(byId(id), TodoDocument.class);
+    }
+
+    @Override
+    public Optional<Todo> deleteIfExists(String id, Long expectedVersion) {
+        return Optional.ofNullable(mongoTemplate.findAndRemove(projected(byIdAndVersion(id, expectedVersion)), TodoDocument.class))
+                .map(this::toDomain);
+    }
+
+    @Override
+    public void deleteAllById(Collection<String> ids) {
+        if (!ids.isEmpty()) {
+            mongoTemplate.remove(Query.query(Criteria.where(ID).in(ids)), TodoDocument.class);
+        }
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return mongoTemplate.exists(byId(id), TodoDocument.class);
+    }
+
+    private Optional<Todo> findAndModify(Query query, UpdateDefinition update) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(projected(query), update, RETURN_NEW, TodoDocument.class))
+                .map(this::toDomain);
+    }
+
+    private List<Todo> find(Query query) {
+        return mongoTemplate.find(query, TodoDocument.class).stream()
+                .map(this::toDomain)
+                .toList();
+    }
+
+    private static Query byId(String id) {
+        return Query.query(Criteria.where(ID).is(id));
+    }
+
+    private static Query byIdAndVersion(String id, Long expectedVersion) {
+        Criteria criteria = Criteria.where(ID).is(id);
+        if (expectedVersion != null) {
+            criteria = criteria.and(TodoDocument.VERSION).is(expectedVersion);
+        }
+        return Query.query(criteria);
+    }
+
+    /**
+     * Restricts the returned fields to the mapped ones, leaving out the mapping type hint.
+     */
+    private static Query projected(Query query) {
+        query.fields().include(ID, TodoDocument.TITLE, TodoDocument.DESCRIPTION, TodoDocument.COMPLETED,
+                TodoDocument.CREATED_AT, TodoDocument.UPDATED_AT, TodoDocument.VERSION);
+        return query;
+    }
+
+    private static TodoDocument newDocument(Todo todo) {
+        LocalDateTime createdAt = now();
+        return new TodoDocument(UlidCreator.getMonotonicUlid().toString(), todo.getTitle(), todo.getDescription(),
+                false, createdAt, createdAt, 0L);
+    }
+
+    /**
+     * BSON dates hold milliseconds; truncating up front keeps returned todos equal to what a later read sees.
+     */
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    private Todo toDomain(TodoDocument document) {
+        return new Todo(
+                document.getId(),
+                document.getTitle(),
+                document.getDescription(),
+                document.isCompleted(),
+                document.getCreatedAt(),
+                document.getUpdatedAt(),
+                document.getVersion()
+        );
+    }
+}
@@ -0,0 +1,140 @@
+package com.company.project.infrastructure;
+
+import com.company.project.domain.TodoStats;
+import com.company.project.domain.TodoStatsDelta;
+import com.company.project.domain.TodoStatsRepository;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Document-store rollups: one document per creation day keyed by its ISO date, which sorts like the date, and one
+ * totals document. A delta is one unordered bulk of {@code $inc} upserts, each atomic on its document.
+ * <p>
+ * Without a table lock, a reconcile racing a write can leave that write's increment out; the next run corrects it.
+ */
+public class MongoTodoStatsRepository implements TodoStatsRepository {
+
+    static final String DAILY_COLLECTION = "todo_stats_daily";
+    static final String TOTALS_COLLECTION = "todo_stats_totals";
+
+    private static final String ID = "_id";
+    private static final String TOTALS_ID = "totals";
+    private static final String DAY = "day";
+    private static final String OPEN = "open";
+    private static final String CREATED = "created";
+    private static final String COMPLETED = "completed";
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoTodoStatsRepository(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void apply(TodoStatsDelta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        List<TodoStats.Day> days = delta.days();
+        if (!days.isEmpty()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DAILY_COLLECTION);
+            for (TodoStats.Day day : days) {
+                bulk.upsert(byId(day.date().toString()), new Update()
+                        .inc(CREATED, day.created())
+                        .inc(COMPLETED, day.completed()));
+            }
+            bulk.execute();
+        }
+        mongoTemplate.upsert(byId(TOTALS_ID), new Update()
+                .inc(OPEN, delta.open())
+                .inc(COMPLETED, delta.completed()), TOTALS_COLLECTION);
+    }
+
+    @Override
+    public TodoStats find(LocalDate from, LocalDate to) {
+        Document totals = mongoTemplate.findOne(byId(TOTALS_ID), Document.class, TOTALS_COLLECTION);
+        Query daysInRange = Query.query(Criteria.where(ID).gte(from.toString()).lt(to.toString()))
+                .with(Sort.by(ID));
+        List<TodoStats.Day> days = mongoTemplate.find(daysInRange, Document.class, DAILY_COLLECTION).stream()
+                .map(MongoTodoStatsRepository::toDay)
+                .toList();
+        return new TodoStats(count(totals, OPEN), count(totals, COMPLETED), days);
+    }
+
+    @Override
+    public int reconcile() {
+        Map<LocalDate, TodoStats.Day> recorded = byDate(mongoTemplate.findAll(Document.class, DAILY_COLLECTION));
+        Map<LocalDate, TodoStats.Day> actual = byDate(mongoTemplate.aggregate(Aggregation.newAggregation(
+                        Aggregation.project()
+                                .and(DateOperators.DateToString.dateOf(TodoDocument.CREATED_AT)
+                                        .toString("%Y-%m-%d")
+                                        .withTimezone(DateOperators.Timezone.valueOf(ZoneId.systemDefault().getId())))
+                                .as(DAY)
+                                .and(ConditionalOperators.when(Criteria.where(TodoDocument.COMPLETED).is(true))
+                                        .then(1).otherwise(0))
+                                .as(COMPLETED),
+                        Aggregation.group(DAY)
+                                .count().as(CREATED)
+                                .sum(COMPLETED).as(COMPLETED)),
+                TodoDocument.class, Document.class).getMappedResults());
+
+        List<LocalDate> drifted = new ArrayList<>();
+        recorded.forEach((date, day) -> {
+            if (!day.equals(actual.getOrDefault(date, new TodoStats.Day(date, 0, 0)))) {
+                drifted.add(date);
+            }
+        });
+        actual.keySet().stream().filter(date -> !recorded.containsKey(date)).forEach(drifted::add);
+        for (LocalDate date : drifted) {
+            TodoStats.Day day = actual.getOrDefault(date, new TodoStats.Day(date, 0, 0));
+            mongoTemplate.upsert(byId(date.toString()), new Update()
+                    .set(CREATED, day.created())
+                    .set(COMPLETED, day.completed()), DAILY_COLLECTION);
+        }
+
+        long total = actual.values().stream().mapToLong(TodoStats.Day::created).sum();
+        long completed = actual.values().stream().mapToLong(TodoStats.Day::completed).sum();
+        Document totals = mongoTemplate.findOne(byId(TOTALS_ID), Document.class, TOTALS_COLLECTION);
+        boolean totalsDrifted = count(totals, OPEN) != total - completed || count(totals, COMPLETED) != completed;
+        if (totalsDrifted) {
+            mongoTemplate.upsert(byId(TOTALS_ID), new Update()
+                    .set(OPEN, total - completed)
+                    .set(COMPLETED, completed), TOTALS_COLLECTION);
+        }
+        return drifted.size() + (totalsDrifted ? 1 : 0);
+    }
+
+    private static Query byId(String id) {
+        return Query.query(Criteria.where(ID).is(id));
+    }
+
+    private static Map<LocalDate, TodoStats.Day> byDate(List<Document> documents) {
+        return documents.stream()
+                .map(MongoTodoStatsRepository::toDay)
+                .collect(Collectors.toMap(TodoStats.Day::date, Function.identity()));
+    }
+
+    private static TodoStats.Day toDay(Document document) {
+        return new TodoStats.Day(LocalDate.parse(document.getString(ID)), count(document, CREATED), count(document, COMPLETED));
+    }
+
+    private static long count(Document document, String field) {
+        return document == null ? 0 : document.get(field, Number.class).longValue();
+    }
+}
@@ -0,0 +1,71 @@
+package com.company.project.infrastructure;
+
+import com.company.project.application.TodoService;
+import com.company.project.common.cache.RemoteCacheTier;
+import com.company.project.common.concurrency.GroupCommitter;
+import com.company.project.common.concurrency.SingleFlight;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * Wires a second {@link TodoService} over the document store for the /api/v1/nosql/todo endpoints.
+ * <p>
+ * It publishes no change events: the outbox lives in PostgreSQL and writing to it would put every document
+ * write back on the relational database this store is meant to offload.
+ */
+@Slf4j
+@Configuration
+public class NoSqlTodoConfig {
+
+    private final MongoTemplate mongoTemplate;
+
+    public NoSqlTodoConfig(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Not an autowire candidate, so injection points asking for a {@code TodoRepository} keep getting the JPA one.
+     */
+    @Bean(autowireCandidate = false)
+    public MongoTodoRepository mongoTodoRepository() {
+        return new MongoTodoRepository(mongoTemplate);
+    }
+
+    @Bean(autowireCandidate = false)
+    public MongoTodoStatsRepository mongoTodoStatsRepository() {
+        return new MongoTodoStatsRepository(mongoTemplate);
+    }
+
+    @Bean
+    public TodoService noSqlTodoService(TodoCacheProperties cacheProperties, ObjectProvider<RemoteCacheTier> remoteCacheTier,
+                                       ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new TodoService(
+                mongoTodoRepository(),
+                TodoCacheConfig.newTodoCache("nosql-todos", cacheProperties, remoteCacheTier.getIfAvailable(),
+                        objectMapper, meterRegistry),
+                events -> {
+                },
+                mongoTodoStatsRepository(),
+                new SingleFlight<>("nosql-todos", meterRegistry),
+                GroupCommitter.disabled("nosql-todos"));
+    }
+
+    /**
+     * Runs once the application is serving, so an unreachable Mongo delays index creation rather than startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureTodoIndexes() {
+        try {
+            mongoTodoRepository().ensureIndexes();
+        } catch (RuntimeException ex) {
+            log.warn("Could not ensure todo document indexes, queries on completed/createdAt will scan: {}", ex.getMessage());
+        }
+    }
+}
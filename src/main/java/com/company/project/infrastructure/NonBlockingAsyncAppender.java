@@ -0,0 +1,26 @@
+package com.company.project.infrastructure;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import net.logstash.logback.appender.LoggingEventAsyncDisruptorAppender;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hands events to its appenders through a lock-free ring buffer and drops them when the buffer is full, so a
+ * slow disk or console never blocks the logging thread. Dropped events are counted for
+ * {@link LoggingMetrics}.
+ */
+public class NonBlockingAsyncAppender extends LoggingEventAsyncDisruptorAppender {
+
+    private final LongAdder dropped = new LongAdder();
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    @Override
+    protected void fireEventAppendFailed(ILoggingEvent event, Throwable reason) {
+        dropped.increment();
+        super.fireEventAppendFailed(event, reason);
+    }
+}
@@ -0,0 +1,101 @@
+package com.company.project.infrastructure;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * One {@code COPY ... FROM STDIN} in CSV format, without per-row statements.
+ * Rows are streamed to the server as they are written, through a buffer of {@value #BUFFER_SIZE} bytes, so memory
+ * use does not depend on how many there are. Runs on the connection of the surrounding transaction; every value is
+ * quoted, so only a null field is NULL.
+ */
+final class PostgresCopy {
+
+    private static final int BUFFER_SIZE = 65_536;
+
+    private final String sql;
+    private Writer csv;
+    private boolean rowStarted;
+
+    PostgresCopy(String table, String... columns) {
+        this.sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN (FORMAT csv)";
+    }
+
+    /**
+     * Only valid while {@link #execute} runs the row writer.
+     */
+    PostgresCopy field(Object value) {
+        try {
+            if (rowStarted) {
+                csv.write(',');
+            }
+            rowStarted = true;
+            if (value == null) {
+                return this;
+            }
+            String text = value.toString();
+            csv.write('"');
+            int start = 0;
+            for (int quote = text.indexOf('"'); quote >= 0; quote = text.indexOf('"', quote + 1)) {
+                // Up to and including the quote, which is then doubled
+                csv.write(text, start, quote + 1 - start);
+                csv.write('"');
+                start = quote + 1;
+            }
+            csv.write(text, start, text.length() - start);
+            csv.write('"');
+            return this;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    PostgresCopy endRow() {
+        try {
+            csv.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        rowStarted = false;
+        return this;
+    }
+
+    /**
+     * Starts the COPY and hands this to {@code rows}, which writes every row with {@link #field} and
+     * {@link #endRow}. The COPY is cancelled if the writer fails. The connection is busy until it returns, so the
+     * writer must not run statements of its own.
+     * @return number of rows copied
+     */
+    long execute(JdbcTemplate jdbcTemplate, Consumer<PostgresCopy> rows) {
+        Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+            PGCopyOutputStream out = new PGCopyOutputStream(copyIn, BUFFER_SIZE);
+            csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            try {
+                rows.accept(this);
+                csv.flush();
+                return out.endCopy();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            } finally {
+                csv = null;
+                rowStarted = false;
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        });
+        return copied == null ? 0 : copied;
+    }
+}
@@ -0,0 +1,30 @@
+package com.company.project.infrastructure;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * On-demand flight recordings through {@code /actuator/jfr}, and the request events they capture.
+ */
+@Configuration
+@EnableConfigurationProperties(ProfilingProperties.class)
+public class ProfilingConfig implements WebMvcConfigurer {
+
+    @Bean
+    public FlightRecordings flightRecordings(ProfilingProperties properties) {
+        return new FlightRecordings(properties);
+    }
+
+    @Bean
+    public FlightRecordingEndpoint flightRecordingEndpoint(FlightRecordings flightRecordings) {
+        return new FlightRecordingEndpoint(flightRecordings);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ApiRequestEventInterceptor());
+    }
+}
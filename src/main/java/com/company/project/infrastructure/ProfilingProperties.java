@@ -0,0 +1,20 @@
+package com.company.project.infrastructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for on-demand flight recordings (app.profiling.*)
+ */
+@ConfigurationProperties(prefix = "app.profiling")
+public record ProfilingProperties(
+        Path directory,
+        @DefaultValue("default") String settings,
+        @DefaultValue("30s") Duration defaultDuration,
+        @DefaultValue("5m") Duration maxDuration,
+        @DefaultValue("5") int retainedRecordings
+) {
+}
@@ -0,0 +1,59 @@
+package com.company.project.infrastructure;
+
+import com.company.project.common.ratelimit.QuotaStore;
+import com.company.project.common.ratelimit.RateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+/**
+ * Builds the {@link RateLimitFilter} that {@link SecurityConfig} adds to the security chain.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.rate-limit.redis", name = "enabled", havingValue = "true")
+    public QuotaStore rateLimitQuotaStore(StringRedisTemplate redisTemplate) {
+        return new RedisQuotaStore(redisTemplate);
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimitProperties properties, ObjectProvider<QuotaStore> quotaStore,
+                                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        RateLimitProperties.Redis redis = properties.redis();
+        RateLimiter.SharedQuota sharedQuota = quotaStore.getIfAvailable() == null ? null
+                : new RateLimiter.SharedQuota(quotaStore.getObject(), redis.window(), redis.leaseSize(), redis.backoff());
+        List<RateLimitFilter.Route> routes = properties.routes().stream()
+                .map(route -> new RateLimitFilter.Route(
+                        PathPatternParser.defaultInstance.parse(route.pattern()),
+                        route.methods(),
+                        new RateLimiter(route.name(), route.capacity(), route.refillPerSecond(),
+                                properties.idleTimeout(), properties.maxClients(), sharedQuota,
+                                Ticker.systemTicker(), meterRegistry)))
+                .toList();
+        return new RateLimitFilter(routes, objectMapper);
+    }
+
+    /**
+     * The filter runs inside the security chain only, not a second time as a servlet filter.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
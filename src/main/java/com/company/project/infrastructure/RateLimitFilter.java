@@ -0,0 +1,90 @@
+package com.company.project.infrastructure;
+
+import com.company.project.common.ratelimit.RateLimiter;
+import com.company.project.dto.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Rejects requests over their route's per-client rate with {@code 429 Too Many Requests} and a {@code Retry-After}
+ * in seconds. Requests that match no route are not limited.
+ * <p>
+ * A client is its authenticated principal, or else its address. Unverified identities such as an API key or
+ * bearer token subject are never used: a client could send a new one with every request to get a full bucket each
+ * time, and push other clients' buckets out of the limiter.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final List<Route> routes;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(List<Route> routes, ObjectMapper objectMapper) {
+        this.routes = List.copyOf(routes);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Route route = route(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        RateLimiter.Decision decision = route.limiter().tryAcquire(clientKey(request));
+        if (decision.allowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long retryAfterSeconds = Math.max(1, (decision.retryAfter().toMillis() + 999) / 1000);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse("Too many requests",
+                "Rate limit '" + route.limiter().getName() + "' exceeded, retry in " + retryAfterSeconds + "s"));
+    }
+
+    private Route route(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        for (Route route : routes) {
+            if ((route.methods().isEmpty() || route.methods().contains(method)) && route.pattern().matches(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    /**
+     * @param methods methods the route applies to, all when empty
+     */
+    public record Route(PathPattern pattern, Set<HttpMethod> methods, RateLimiter limiter) {
+    }
+}
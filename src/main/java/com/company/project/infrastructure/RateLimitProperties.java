@@ -0,0 +1,46 @@
+package com.company.project.infrastructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.http.HttpMethod;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Settings for per-client request rate limits (app.rate-limit.*)
+ * @param idleTimeout how long a client's bucket is kept after its last request
+ * @param maxClients upper bound on buckets held per route
+ * @param routes checked in order; the first whose pattern and methods match limits the request
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10m") Duration idleTimeout,
+        @DefaultValue("100000") long maxClients,
+        @DefaultValue List<Route> routes,
+        @DefaultValue Redis redis
+) {
+
+    /**
+     * @param pattern path pattern such as {@code /api/**}
+     * @param methods methods the route applies to, all when empty
+     * @param capacity requests a client may burst
+     * @param refillPerSecond sustained requests per second per client
+     */
+    public record Route(String name, String pattern, @DefaultValue Set<HttpMethod> methods,
+                        long capacity, double refillPerSecond) {
+    }
+
+    /**
+     * Cluster-wide quotas shared through Redis; each node leases {@code leaseSize} permits at a time
+     */
+    public record Redis(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("10s") Duration window,
+            @DefaultValue("20") long leaseSize,
+            @DefaultValue("30s") Duration backoff
+    ) {
+    }
+}
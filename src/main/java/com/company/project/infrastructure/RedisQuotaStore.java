@@ -0,0 +1,43 @@
+package com.company.project.infrastructure;
+
+import com.company.project.common.ratelimit.QuotaStore;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Redis-backed quota counters; one key per client and window, counted and expired in a single script call so
+ * concurrent leases from several nodes never overshoot the limit.
+ */
+public class RedisQuotaStore implements QuotaStore {
+
+    // Returns {granted, milliseconds left in the window}; the window starts with the key's first increment
+    private static final RedisScript<List> LEASE = RedisScript.of("""
+            local used = redis.call('INCRBY', KEYS[1], ARGV[1])
+            if used == tonumber(ARGV[1]) then
+                redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            end
+            local granted = math.max(0, math.min(tonumber(ARGV[1]), tonumber(ARGV[2]) - used + tonumber(ARGV[1])))
+            return {granted, redis.call('PTTL', KEYS[1])}
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisQuotaStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Lease lease(String key, long requested, long limit, Duration window) {
+        List<?> result = redisTemplate.execute(LEASE, List.of(key),
+                Long.toString(requested), Long.toString(limit), Long.toString(window.toMillis()));
+        if (result == null || result.size() != 2) {
+            throw new IllegalStateException("Unexpected quota script result " + result);
+        }
+        long remainingMillis = ((Number) result.get(1)).longValue();
+        return new Lease(((Number) result.get(0)).longValue(),
+                remainingMillis > 0 ? Duration.ofMillis(remainingMillis) : window);
+    }
+}
@@ -1,22 +1,33 @@
 package com.company.project.infrastructure;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, ObjectProvider<RateLimitFilter> rateLimitFilter)
+            throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-            .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+            // Recordings hold heap and stack details, so only the admin user may take or download them
+            .authorizeHttpRequests(auth -> auth
+                .requestMatchers(EndpointRequest.to(FlightRecordingEndpoint.class)).hasRole("ADMIN")
+                .anyRequest().permitAll())
+            .httpBasic(Customizer.withDefaults());
+        // After authentication, so an authenticated principal is limited by name rather than by address
+        rateLimitFilter.ifAvailable(filter -> http.addFilterBefore(filter, AuthorizationFilter.class));
 
         return http.build();
     }
@@ -0,0 +1,34 @@
+package com.company.project.infrastructure;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One public call on a service bean, committed by {@link InvocationMetricsPostProcessor} while a flight
+ * recording is running.
+ */
+@Name(ServiceOperationEvent.NAME)
+@Label("Service Operation")
+@Description("A public method call on a service bean")
+@Category({"Application", "Service"})
+@StackTrace(false)
+public class ServiceOperationEvent extends Event {
+
+    public static final String NAME = "com.company.project.ServiceOperation";
+
+    @Label("Component")
+    String component;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Exception")
+    String exception;
+}
@@ -0,0 +1,26 @@
+package com.company.project.infrastructure;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Per-request SQL statistics; the statements themselves are timed by the {@link StatementCountingDataSource}
+ * that {@link DataSourceConfig} puts in front of the pool.
+ */
+@Configuration
+@EnableConfigurationProperties(SqlStatisticsProperties.class)
+public class SqlStatisticsConfig {
+
+    @Bean
+    public FilterRegistrationBean<StatementStatisticsFilter> statementStatisticsFilter(
+            SqlStatisticsProperties properties, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<StatementStatisticsFilter> registration = new FilterRegistrationBean<>(
+                new StatementStatisticsFilter(meterRegistry, properties.responseHeaders(), properties.repeatedThreshold()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,17 @@
+package com.company.project.infrastructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for per-request SQL statement statistics (app.sql.statistics.*)
+ */
+@ConfigurationProperties(prefix = "app.sql.statistics")
+public record SqlStatisticsProperties(
+        @DefaultValue("true") boolean responseHeaders,
+        @DefaultValue("200ms") Duration slowThreshold,
+        @DefaultValue("10") int repeatedThreshold
+) {
+}
@@ -0,0 +1,103 @@
+package com.company.project.infrastructure;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Times every statement executed through its connections into {@link StatementStatistics} and logs those slower
+ * than the threshold. Both Hibernate and JdbcTemplate statements pass through here.
+ * <p>
+ * Logged SQL never carries bind values: prepared statements only contain placeholders, and string and numeric
+ * literals of plain statements are replaced by {@code ?}.
+ */
+@Slf4j
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+    private static final Pattern LITERALS = Pattern.compile("'(?:[^']|'')*'|\\b\\d+(?:\\.\\d+)?\\b");
+
+    private final long slowThresholdNanos;
+
+    public StatementCountingDataSource(DataSource target, Duration slowThreshold) {
+        super(target);
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    static String redact(String sql) {
+        return LITERALS.matcher(sql).replaceAll("?");
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(method, connection, args);
+            return switch (method.getName()) {
+                case "createStatement" -> wrap(Statement.class, (Statement) result, null);
+                case "prepareStatement" -> wrap(PreparedStatement.class, (Statement) result, (String) args[0]);
+                case "prepareCall" -> wrap(CallableStatement.class, (Statement) result, (String) args[0]);
+                default -> result;
+            };
+        });
+    }
+
+    private <T extends Statement> T wrap(Class<T> type, Statement statement, String preparedSql) {
+        return proxy(type, statement, (proxy, method, args) -> {
+            if (!EXECUTE_METHODS.contains(method.getName())) {
+                return invoke(method, statement, args);
+            }
+            String sql = preparedSql != null ? preparedSql
+                    : args != null && args.length > 0 && args[0] instanceof String text ? text
+                    : "<batch>";
+            long start = System.nanoTime();
+            try {
+                return invoke(method, statement, args);
+            } finally {
+                record(sql, System.nanoTime() - start);
+            }
+        });
+    }
+
+    private void record(String sql, long nanos) {
+        StatementStatistics.record(sql, nanos);
+        if (nanos >= slowThresholdNanos) {
+            log.warn("Slow SQL statement took {}ms: {}", nanos / 1_000_000, redact(sql));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
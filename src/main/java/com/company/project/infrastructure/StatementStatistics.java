@@ -0,0 +1,64 @@
+package com.company.project.infrastructure;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Statements executed on the current thread while a scope is open, as recorded by
+ * {@link StatementCountingDataSource}. A batch counts as one statement, since it is one round trip.
+ * <p>
+ * Work handed to other threads is not counted; those statements are still timed and checked for slowness.
+ */
+public final class StatementStatistics {
+
+    private static final ThreadLocal<StatementStatistics> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> executions = new HashMap<>();
+    private int count;
+    private long nanos;
+
+    private StatementStatistics() {
+    }
+
+    /**
+     * Opens a scope on the current thread; close it with {@link #end()}.
+     */
+    public static StatementStatistics begin() {
+        StatementStatistics statistics = new StatementStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    static void record(String sql, long nanos) {
+        StatementStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.count++;
+            statistics.nanos += nanos;
+            statistics.executions.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    public void end() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public Duration time() {
+        return Duration.ofNanos(nanos);
+    }
+
+    /**
+     * The SQL executed most often in this scope, or null when nothing ran.
+     */
+    public Map.Entry<String, Integer> mostRepeated() {
+        return executions.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElse(null);
+    }
+}
@@ -0,0 +1,129 @@
+package com.company.project.infrastructure;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements and database time of each request.
+ * <p>
+ * Both are recorded as {@code sql.request.statements} and {@code sql.request.time}, tagged with method and URI
+ * pattern, and a statement that runs at least {@code repeatedThreshold} times in one request is logged as a likely
+ * N+1. With response headers enabled, the totals up to the first body write are returned as
+ * {@value #STATEMENTS_HEADER} and a {@code Server-Timing} {@code sql} entry; statements run while streaming a
+ * body are only in the metrics.
+ */
+@Slf4j
+public class StatementStatisticsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean responseHeaders;
+    private final int repeatedThreshold;
+
+    public StatementStatisticsFilter(MeterRegistry meterRegistry, boolean responseHeaders, int repeatedThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.responseHeaders = responseHeaders;
+        this.repeatedThreshold = repeatedThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        StatementStatistics statistics = StatementStatistics.begin();
+        try {
+            if (responseHeaders) {
+                HeaderWritingResponse wrapper = new HeaderWritingResponse(response, statistics);
+                filterChain.doFilter(request, wrapper);
+                wrapper.writeHeaders();
+            } else {
+                filterChain.doFilter(request, response);
+            }
+        } finally {
+            statistics.end();
+            record(request, statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, StatementStatistics statistics) {
+        String uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern
+                ? pattern : "UNKNOWN";
+        DistributionSummary.builder("sql.request.statements")
+                .description("SQL statements executed per request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statistics.count());
+        Timer.builder("sql.request.time")
+                .description("Time spent executing SQL statements per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statistics.time());
+
+        Map.Entry<String, Integer> repeated = statistics.mostRepeated();
+        if (repeated != null && repeated.getValue() >= repeatedThreshold) {
+            log.warn("Possible N+1: {} {} ran the same statement {} times: {}", request.getMethod(), uri,
+                    repeated.getValue(), StatementCountingDataSource.redact(repeated.getKey()));
+        }
+    }
+
+    /**
+     * Writes the headers just before the body is first obtained, since they cannot be added once the response
+     * has been committed; responses without a body get them after the chain.
+     */
+    private static final class HeaderWritingResponse extends HttpServletResponseWrapper {
+
+        private final StatementStatistics statistics;
+        private boolean written;
+
+        private HeaderWritingResponse(HttpServletResponse response, StatementStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        private void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(STATEMENTS_HEADER, Integer.toString(statistics.count()));
+            addHeader(SERVER_TIMING_HEADER, String.format(Locale.ROOT, "sql;dur=%.3f", statistics.time().toNanos() / 1e6));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.company.project.infrastructure;
+
+import com.company.project.common.cache.RemoteCacheTier;
+import com.company.project.common.cache.TwoTierCache;
+import com.company.project.common.concurrency.SingleFlight;
+import com.company.project.domain.Todo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(TodoCacheProperties.class)
+public class TodoCacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cache.todo", name = "redis-enabled", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer todoCacheListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cache.todo", name = "redis-enabled", havingValue = "true", matchIfMissing = true)
+    public RemoteCacheTier todoRemoteCacheTier(StringRedisTemplate redisTemplate,
+                                               RedisMessageListenerContainer todoCacheListenerContainer) {
+        return new RedisCacheTier(redisTemplate, todoCacheListenerContainer);
+    }
+
+    @Bean
+    public TwoTierCache<Todo> todoCache(TodoCacheProperties properties, ObjectProvider<RemoteCacheTier> remoteCacheTier,
+                                        ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return newTodoCache("todos", properties, remoteCacheTier.getIfAvailable(), objectMapper, meterRegistry);
+    }
+
+    /**
+     * Coalesces concurrent identical reads in the primary todo service; named like its cache.
+     */
+    @Bean
+    public SingleFlight<List<?>> todoReads(MeterRegistry meterRegistry) {
+        return new SingleFlight<>("todos", meterRegistry);
+    }
+
+    /**
+     * Builds a todo cache; each store gets its own name so keys and invalidations never cross.
+     */
+    static TwoTierCache<Todo> newTodoCache(String name, TodoCacheProperties properties, RemoteCacheTier remoteCacheTier,
+                                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new TwoTierCache<>(
+                name,
+                Caffeine.newBuilder()
+                        .maximumSize(properties.localMaxSize())
+                        .expireAfterWrite(properties.localTtl())
+                        .recordStats()
+                        .build(),
+                remoteCacheTier,
+                todo -> write(objectMapper, CachedTodo.from(todo)),
+                json -> read(objectMapper, json).toDomain(),
+                properties.remoteTtl(),
+                properties.remoteBackoff(),
+                meterRegistry);
+    }
+
+    private static String write(ObjectMapper objectMapper, CachedTodo todo) {
+        try {
+            return objectMapper.writeValueAsString(todo);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static CachedTodo read(ObjectMapper objectMapper, String json) {
+        try {
+            return objectMapper.readValue(json, CachedTodo.class);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    record CachedTodo(String id, String title, String description, boolean completed,
+                      LocalDateTime createdAt, LocalDateTime updatedAt, long version) {
+
+        static CachedTodo from(Todo todo) {
+            return new CachedTodo(todo.getId(), todo.getTitle(), todo.getDescription(), todo.isCompleted(),
+                    todo.getCreatedAt(), todo.getUpdatedAt(), todo.getVersion());
+        }
+
+        Todo toDomain() {
+            return new Todo(id, title, description, completed, createdAt, updatedAt, version);
+        }
+    }
+}
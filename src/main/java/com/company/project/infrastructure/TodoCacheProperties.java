@@ -0,0 +1,19 @@
+package com.company.project.infrastructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the todo read cache (app.cache.todo.*)
+ */
+@ConfigurationProperties(prefix = "app.cache.todo")
+public record TodoCacheProperties(
+        @DefaultValue("10000") long localMaxSize,
+        @DefaultValue("30s") Duration localTtl,
+        @DefaultValue("10m") Duration remoteTtl,
+        @DefaultValue("30s") Duration remoteBackoff,
+        @DefaultValue("true") boolean redisEnabled
+) {
+}
@@ -0,0 +1,84 @@
+package com.company.project.infrastructure;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+
+/**
+ * Todo as stored in the document store; the ULID is the {@code _id}, so id order is creation order.
+ */
+@Document(collection = "todos")
+public class TodoDocument {
+
+    static final String TITLE = "title";
+    static final String DESCRIPTION = "description";
+    static final String COMPLETED = "completed";
+    static final String CREATED_AT = "createdAt";
+    static final String UPDATED_AT = "updatedAt";
+    static final String VERSION = "version";
+
+    @Id
+    private String id;
+
+    @Field(TITLE)
+    private String title;
+
+    @Field(DESCRIPTION)
+    private String description;
+
+    @Field(COMPLETED)
+    private boolean completed;
+
+    @Field(CREATED_AT)
+    private LocalDateTime createdAt;
+
+    @Field(UPDATED_AT)
+    private LocalDateTime updatedAt;
+
+    @Field(VERSION)
+    private long version;
+
+    protected TodoDocument() {
+    }
+
+    public TodoDocument(String id, String title, String description, boolean completed,
+                        LocalDateTime createdAt, LocalDateTime updatedAt, long version) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.completed = completed;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,31 @@
+package com.company.project.infrastructure;
+
+import com.company.project.common.concurrency.GroupCommitter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableConfigurationProperties(TodoGroupCommitProperties.class)
+public class TodoGroupCommitConfig {
+
+    /**
+     * Disabled unless app.group-commit.todo.enabled is set, in which case single-todo creates and toggles share
+     * commits, each write under its own savepoint; closed on shutdown after committing what is still queued.
+     */
+    @Bean
+    public GroupCommitter todoGroupCommitter(TodoGroupCommitProperties properties,
+                                             PlatformTransactionManager transactionManager, EntityManager entityManager,
+                                             MeterRegistry meterRegistry) {
+        if (!properties.enabled()) {
+            return GroupCommitter.disabled("todo-writes");
+        }
+        return new GroupCommitter("todo-writes", new TransactionTemplate(transactionManager),
+                new JpaSavepointOperations(entityManager),
+                properties.maxBatchSize(), properties.maxDelay(), properties.queueCapacity(), meterRegistry);
+    }
+}
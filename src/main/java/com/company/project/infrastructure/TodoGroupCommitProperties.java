@@ -0,0 +1,18 @@
+package com.company.project.infrastructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for group-committed todo writes (app.group-commit.todo.*)
+ */
+@ConfigurationProperties(prefix = "app.group-commit.todo")
+public record TodoGroupCommitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("64") int maxBatchSize,
+        @DefaultValue("2ms") Duration maxDelay,
+        @DefaultValue("1024") int queueCapacity
+) {
+}
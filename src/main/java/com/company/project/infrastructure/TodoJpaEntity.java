@@ -1,16 +1,26 @@
 package com.company.project.infrastructure;
 
+import com.github.f4b6a3.ulid.Ulid;
 import com.github.f4b6a3.ulid.UlidCreator;
 import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Entity
 @Table(name = "todos")
-public class TodoJpaEntity {
+public class TodoJpaEntity implements Persistable<UUID> {
 
+    /**
+     * The ULID's 128 bits as a native {@code uuid} (16 bytes, compared bytewise, which is ULID order).
+     * The Crockford base32 form only exists at the repository boundary, see {@link #toKey} and {@link #toUlid}.
+     */
     @Id
-    @Column(length = 26)
-    private String id;
+    @JdbcTypeCode(SqlTypes.UUID)
+    private UUID id;
 
     @Column(nullable = false, length = 255)
     private String title;
@@ -27,11 +37,22 @@ public class TodoJpaEntity {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    /**
+     * The ULID is assigned up front, so Spring Data cannot infer newness from a null id;
+     * without this flag save() would merge and issue a SELECT before every INSERT.
+     */
+    @Transient
+    private boolean newEntity = true;
+
     protected TodoJpaEntity() {
     }
 
     public TodoJpaEntity(String title, String description) {
-        this.id = UlidCreator.getMonotonicUlid().toString();
+        this.id = UlidCreator.getMonotonicUlid().toUuid();
         this.title = title;
         this.description = description;
         this.completed = false;
@@ -39,10 +60,33 @@ public class TodoJpaEntity {
         this.updatedAt = LocalDateTime.now();
     }
 
-    public String getId() {
+    /**
+     * @return the stored key for a ULID, or null when the text is not a ULID and so cannot match any row
+     */
+    static UUID toKey(String ulid) {
+        return ulid != null && Ulid.isValid(ulid) ? Ulid.from(ulid).toUuid() : null;
+    }
+
+    static String toUlid(UUID key) {
+        return Ulid.from(key).toString();
+    }
+
+    @Override
+    public UUID getId() {
         return id;
     }
 
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -63,6 +107,10 @@ public class TodoJpaEntity {
         return updatedAt;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public void setTitle(String title) {
         this.title = title;
     }
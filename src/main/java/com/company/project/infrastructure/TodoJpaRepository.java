@@ -1,8 +1,65 @@
 package com.company.project.infrastructure;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
 @Repository
-public interface TodoJpaRepository extends JpaRepository<TodoJpaEntity, String> {
+public interface TodoJpaRepository extends JpaRepository<TodoJpaEntity, UUID> {
+
+    List<TodoJpaEntity> findAllByOrderByIdAsc(Limit limit);
+
+    List<TodoJpaEntity> findByIdGreaterThanOrderByIdAsc(UUID id, Limit limit);
+
+    @Query("SELECT t FROM TodoJpaEntity t ORDER BY t.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    Stream<TodoJpaEntity> streamAllOrderById();
+
+    @Query(value = "UPDATE todos SET title = :title, description = :description, completed = :completed, updated_at = :updatedAt, "
+            + "version = version + 1 WHERE id = :id RETURNING *", nativeQuery = true)
+    Optional<TodoJpaEntity> overwriteReturning(@Param("id") UUID id,
+                                               @Param("title") String title,
+                                               @Param("description") String description,
+                                               @Param("completed") boolean completed,
+                                               @Param("updatedAt") LocalDateTime updatedAt);
+
+    // A null expectedVersion skips the optimistic check; otherwise only the row at that version matches
+
+    @Query(value = "UPDATE todos SET title = :title, description = :description, updated_at = :updatedAt, "
+            + "version = version + 1 WHERE id = :id "
+            + "AND (CAST(:expectedVersion AS BIGINT) IS NULL OR version = :expectedVersion) RETURNING *", nativeQuery = true)
+    Optional<TodoJpaEntity> updateContentReturning(@Param("id") UUID id,
+                                                   @Param("title") String title,
+                                                   @Param("description") String description,
+                                                   @Param("updatedAt") LocalDateTime updatedAt,
+                                                   @Param("expectedVersion") Long expectedVersion);
+
+    @Query(value = "UPDATE todos SET completed = NOT completed, updated_at = :updatedAt, version = version + 1 "
+            + "WHERE id = :id AND (CAST(:expectedVersion AS BIGINT) IS NULL OR version = :expectedVersion) "
+            + "RETURNING *", nativeQuery = true)
+    Optional<TodoJpaEntity> toggleCompletedReturning(@Param("id") UUID id,
+                                                     @Param("updatedAt") LocalDateTime updatedAt,
+                                                     @Param("expectedVersion") Long expectedVersion);
+
+    @Query(value = "DELETE FROM todos WHERE id = :id "
+            + "AND (CAST(:expectedVersion AS BIGINT) IS NULL OR version = :expectedVersion) RETURNING *", nativeQuery = true)
+    Optional<TodoJpaEntity> deleteReturning(@Param("id") UUID id, @Param("expectedVersion") Long expectedVersion);
+
+    @Query("SELECT t.version FROM TodoJpaEntity t WHERE t.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
 }
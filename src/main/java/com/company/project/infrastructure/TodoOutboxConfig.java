@@ -0,0 +1,54 @@
+package com.company.project.infrastructure;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableConfigurationProperties(TodoOutboxProperties.class)
+public class TodoOutboxConfig {
+
+    @Bean
+    public NewTopic todoEventsTopic(TodoOutboxProperties properties) {
+        return TopicBuilder.name(properties.topic())
+                .partitions(properties.partitions())
+                .build();
+    }
+
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(prefix = "app.outbox.todo", name = "relay-enabled", havingValue = "true", matchIfMissing = true)
+    static class RelayConfig implements SchedulingConfigurer {
+
+        private final ObjectProvider<TodoOutboxRelay> relay;
+        private final TodoOutboxProperties properties;
+
+        RelayConfig(ObjectProvider<TodoOutboxRelay> relay, TodoOutboxProperties properties) {
+            this.relay = relay;
+            this.properties = properties;
+        }
+
+        @Bean
+        public TodoOutboxRelay todoOutboxRelay(JdbcTodoEventOutbox outbox, KafkaTemplate<String, String> kafkaTemplate,
+                                               PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+            return new TodoOutboxRelay(outbox, kafkaTemplate, new TransactionTemplate(transactionManager),
+                    properties, meterRegistry);
+        }
+
+        @Override
+        public void configureTasks(ScheduledTaskRegistrar registrar) {
+            registrar.addFixedDelayTask(relay.getObject()::drain, properties.pollInterval());
+        }
+    }
+}
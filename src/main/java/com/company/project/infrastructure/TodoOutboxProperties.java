@@ -0,0 +1,20 @@
+package com.company.project.infrastructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the todo event outbox relay (app.outbox.todo.*)
+ */
+@ConfigurationProperties(prefix = "app.outbox.todo")
+public record TodoOutboxProperties(
+        @DefaultValue("true") boolean relayEnabled,
+        @DefaultValue("todo-events") String topic,
+        @DefaultValue("6") int partitions,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("200ms") Duration pollInterval,
+        @DefaultValue("10s") Duration sendTimeout
+) {
+}
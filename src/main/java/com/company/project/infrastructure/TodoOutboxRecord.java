@@ -0,0 +1,9 @@
+package com.company.project.infrastructure;
+
+import java.time.Instant;
+
+/**
+ * An unpublished outbox row as seen by the relay
+ */
+public record TodoOutboxRecord(long id, String aggregateId, String eventType, String payload, Instant createdAt) {
+}
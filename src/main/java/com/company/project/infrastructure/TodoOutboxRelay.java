@@ -0,0 +1,131 @@
+package com.company.project.infrastructure;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes outbox rows to Kafka, keyed by todo id so events for one todo stay on one partition.
+ * <p>
+ * Delivery is at-least-once: a batch is deleted only after every send is acknowledged, and a failed batch is
+ * retried whole. Consumers dedupe on the {@value #OUTBOX_ID_HEADER} header. Relays on several nodes drain
+ * disjoint batches concurrently, so events for one todo can arrive out of order; consumers order them by the
+ * top-level {@code version} of the payload, which every event type carries, and ignore events older than the last
+ * one applied. A deletion's version is one past the todo's last update.
+ */
+@Slf4j
+public class TodoOutboxRelay {
+
+    public static final String OUTBOX_ID_HEADER = "outbox-id";
+    public static final String EVENT_TYPE_HEADER = "event-type";
+
+    private final JdbcTodoEventOutbox outbox;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TransactionOperations transactions;
+    private final TodoOutboxProperties properties;
+    private final Counter published;
+    private final Counter failures;
+    private final Timer lag;
+    private final DistributionSummary batchSizes;
+
+    public TodoOutboxRelay(JdbcTodoEventOutbox outbox, KafkaTemplate<String, String> kafkaTemplate,
+                           TransactionOperations transactions, TodoOutboxProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.outbox = outbox;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactions = transactions;
+        this.properties = properties;
+        this.published = Counter.builder("todo.outbox.published")
+                .description("Todo events published to Kafka")
+                .register(meterRegistry);
+        this.failures = Counter.builder("todo.outbox.failures")
+                .description("Outbox batches that failed and were left for retry")
+                .register(meterRegistry);
+        this.lag = Timer.builder("todo.outbox.lag")
+                .description("Time from the change being recorded to Kafka acknowledging it")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("todo.outbox.batch.size")
+                .description("Events published per relay batch")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Relays batches until one comes back short, so a backlog drains without waiting for the next poll.
+     */
+    public void drain() {
+        try {
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed == properties.batchSize());
+        } catch (RuntimeException ex) {
+            failures.increment();
+            log.warn("Outbox relay failed, batch left for the next poll: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Locks, publishes and deletes one batch in a single transaction.
+     * @return number of events published
+     */
+    public int relayBatch() {
+        Integer relayed = transactions.execute(status -> {
+            List<TodoOutboxRecord> batch = outbox.lockNextBatch(properties.batchSize());
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>(batch.size());
+            for (TodoOutboxRecord record : batch) {
+                sends.add(kafkaTemplate.send(toProducerRecord(record)));
+            }
+            kafkaTemplate.flush();
+            awaitAll(sends);
+            outbox.delete(batch.stream().map(TodoOutboxRecord::id).toList());
+
+            Instant now = Instant.now();
+            batch.forEach(record -> lag.record(Duration.between(record.createdAt(), now)));
+            published.increment(batch.size());
+            batchSizes.record(batch.size());
+            return batch.size();
+        });
+        return relayed == null ? 0 : relayed;
+    }
+
+    private ProducerRecord<String, String> toProducerRecord(TodoOutboxRecord record) {
+        ProducerRecord<String, String> producerRecord =
+                new ProducerRecord<>(properties.topic(), record.aggregateId(), record.payload());
+        producerRecord.headers()
+                .add(OUTBOX_ID_HEADER, Long.toString(record.id()).getBytes(StandardCharsets.UTF_8))
+                .add(EVENT_TYPE_HEADER, record.eventType().getBytes(StandardCharsets.UTF_8));
+        return producerRecord;
+    }
+
+    private void awaitAll(List<CompletableFuture<SendResult<String, String>>> sends) {
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(properties.sendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing outbox batch", ex);
+        } catch (ExecutionException | TimeoutException ex) {
+            throw new IllegalStateException("Failed to publish outbox batch", ex);
+        }
+    }
+}
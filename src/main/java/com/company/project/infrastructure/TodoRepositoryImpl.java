@@ -1,41 +1,158 @@
 package com.company.project.infrastructure;
 
 import com.company.project.domain.Todo;
+import com.company.project.domain.TodoQuery;
 import com.company.project.domain.TodoRepository;
+import com.company.project.domain.TodoSearchHit;
+import com.github.f4b6a3.ulid.Ulid;
+import com.github.f4b6a3.ulid.UlidCreator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.web.util.HtmlUtils;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 
+/**
+ * JPA TodoRepository. Ids are ULID text in the domain and {@code uuid} keys in the table; text that is not a ULID
+ * matches no row, so lookups by such ids behave like lookups of a missing todo.
+ */
 @Repository
 public class TodoRepositoryImpl implements TodoRepository {
 
+    // Private-use characters cannot occur in parsed text, so they survive HTML escaping as unambiguous markers
+    private static final String MARK_START = "\uE000";
+    private static final String MARK_END = "\uE001";
+    private static final String TITLE_HEADLINE_OPTIONS =
+            "HighlightAll=true, StartSel=" + MARK_START + ", StopSel=" + MARK_END;
+    private static final String SNIPPET_HEADLINE_OPTIONS =
+            "MaxFragments=2, MaxWords=20, MinWords=5, FragmentDelimiter=\" ... \", StartSel=" + MARK_START + ", StopSel=" + MARK_END;
+
+    /**
+     * Matches and ranks through the GIN-indexed search_vector column; headlines re-parse the text, so they are
+     * only built for the rows of the requested page.
+     */
+    private static final String SEARCH_SQL = """
+            SELECT id, title, description, completed, created_at, updated_at, version, rank,
+                   ts_headline('english', title, query, ?) AS title_highlight,
+                   ts_headline('english', coalesce(description, ''), query, ?) AS description_snippet
+            FROM (
+                SELECT t.id, t.title, t.description, t.completed, t.created_at, t.updated_at, t.version, q.query,
+                       ts_rank(t.search_vector, q.query) AS rank
+                FROM todos t, websearch_to_tsquery('english', ?) AS q(query)
+                WHERE t.search_vector @@ q.query
+                  AND (CAST(? AS REAL) IS NULL
+                       OR ts_rank(t.search_vector, q.query) < CAST(? AS REAL)
+                       OR (ts_rank(t.search_vector, q.query) = CAST(? AS REAL) AND t.id > ?))
+                ORDER BY rank DESC, t.id
+                LIMIT ?
+            ) hits
+            ORDER BY rank DESC, id
+            """;
+
     private final TodoJpaRepository todoJpaRepository;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
 
-    public TodoRepositoryImpl(TodoJpaRepository todoJpaRepository) {
+    public TodoRepositoryImpl(TodoJpaRepository todoJpaRepository, EntityManager entityManager, JdbcTemplate jdbcTemplate) {
         this.todoJpaRepository = todoJpaRepository;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
     public Todo save(Todo todo) {
-        TodoJpaEntity entity;
         if (todo.getId() == null) {
-            entity = new TodoJpaEntity(todo.getTitle(), todo.getDescription());
-        } else {
-            entity = todoJpaRepository.findById(todo.getId())
-                    .orElseThrow(() -> new IllegalArgumentException("Todo not found with id: " + todo.getId()));
-            entity.setTitle(todo.getTitle());
-            entity.setDescription(todo.getDescription());
-            entity.setCompleted(todo.isCompleted());
-            entity.setUpdatedAt(todo.getUpdatedAt());
+            TodoJpaEntity saved = todoJpaRepository.save(new TodoJpaEntity(todo.getTitle(), todo.getDescription()));
+            return toDomain(saved);
         }
-        TodoJpaEntity saved = todoJpaRepository.save(entity);
-        return toDomain(saved);
+        UUID key = TodoJpaEntity.toKey(todo.getId());
+        return Optional.ofNullable(key)
+                .flatMap(id -> todoJpaRepository.overwriteReturning(id, todo.getTitle(), todo.getDescription(),
+                        todo.isCompleted(), todo.getUpdatedAt()))
+                .map(this::toDomain)
+                .orElseThrow(() -> new IllegalArgumentException("Todo not found with id: " + todo.getId()));
+    }
+
+    @Override
+    public List<Todo> saveAll(List<Todo> todos) {
+        List<TodoJpaEntity> entities = new ArrayList<>(todos.size());
+        for (Todo todo : todos) {
+            TodoJpaEntity entity;
+            if (todo.getId() == null) {
+                entity = new TodoJpaEntity(todo.getTitle(), todo.getDescription());
+                entityManager.persist(entity);
+            } else {
+                // Served from the persistence context when the caller already loaded the rows
+                UUID key = TodoJpaEntity.toKey(todo.getId());
+                entity = key != null ? entityManager.find(TodoJpaEntity.class, key) : null;
+                if (entity == null) {
+                    throw new IllegalArgumentException("Todo not found with id: " + todo.getId());
+                }
+                entity.setTitle(todo.getTitle());
+                entity.setDescription(todo.getDescription());
+                entity.setCompleted(todo.isCompleted());
+                entity.setUpdatedAt(todo.getUpdatedAt());
+            }
+            entities.add(entity);
+        }
+        // Flush so the returned todos carry the versions the batched UPDATEs just wrote
+        entityManager.flush();
+        return entities.stream()
+                .map(this::toDomain)
+                .toList();
+    }
+
+    /**
+     * One COPY for all rows; they bypass the persistence context, so nothing is tracked or flushed per row.
+     */
+    @Override
+    public List<Todo> insertAll(List<Todo> todos) {
+        PostgresCopy copy = new PostgresCopy("todos",
+                "id", "title", "description", "completed", "created_at", "updated_at", "version");
+        List<Todo> inserted = new ArrayList<>(todos.size());
+        copy.execute(jdbcTemplate, rows -> {
+            for (Todo todo : todos) {
+                Ulid id = UlidCreator.getMonotonicUlid();
+                rows.field(id.toUuid())
+                        .field(todo.getTitle())
+                        .field(todo.getDescription())
+                        .field(todo.isCompleted())
+                        .field(todo.getCreatedAt())
+                        .field(todo.getUpdatedAt())
+                        .field(0)
+                        .endRow();
+                inserted.add(new Todo(id.toString(), todo.getTitle(), todo.getDescription(), todo.isCompleted(),
+                        todo.getCreatedAt(), todo.getUpdatedAt(), 0L));
+            }
+        });
+        return inserted;
     }
 
     @Override
     public Optional<Todo> findById(String id) {
-        return todoJpaRepository.findById(id).map(this::toDomain);
+        return Optional.ofNullable(TodoJpaEntity.toKey(id))
+                .flatMap(todoJpaRepository::findById)
+                .map(this::toDomain);
+    }
+
+    @Override
+    public List<Todo> findAllById(Collection<String> ids) {
+        return todoJpaRepository.findAllById(toKeys(ids)).stream()
+                .map(this::toDomain)
+                .toList();
     }
 
     @Override
@@ -45,24 +162,173 @@ public class TodoRepositoryImpl implements TodoRepository {
                 .toList();
     }
 
+    @Override
+    public List<Todo> findAfter(String afterId, int limit) {
+        List<TodoJpaEntity> entities = afterId == null
+                ? todoJpaRepository.findAllByOrderByIdAsc(Limit.of(limit))
+                : todoJpaRepository.findByIdGreaterThanOrderByIdAsc(requireKey(afterId), Limit.of(limit));
+        return entities.stream()
+                .map(this::toDomain)
+                .toList();
+    }
+
+    @Override
+    public Stream<Todo> streamAll() {
+        return todoJpaRepository.streamAllOrderById()
+                .map(entity -> {
+                    entityManager.detach(entity);
+                    return toDomain(entity);
+                });
+    }
+
+    /**
+     * Each sort key has a (key, id) index and a (completed, key, id) index (V6), and the keyset is a row comparison
+     * on the same columns, so a page is one index range scan stopped by the LIMIT.
+     */
+    @Override
+    public List<Todo> findByQuery(TodoQuery query, TodoQuery.Position after, int limit) {
+        String sortProperty = "t." + query.sortKey().property();
+        String direction = query.descending() ? " DESC" : " ASC";
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (query.completed() != null) {
+            conditions.add("t.completed = :completed");
+            parameters.put("completed", query.completed());
+        }
+        addRange(conditions, parameters, "t.createdAt", "created", query.createdFrom(), query.createdTo());
+        addRange(conditions, parameters, "t.updatedAt", "updated", query.updatedFrom(), query.updatedTo());
+        if (after != null) {
+            conditions.add("(" + sortProperty + ", t.id) " + (query.descending() ? "<" : ">") + " (:afterValue, :afterId)");
+            parameters.put("afterValue", after.value());
+            parameters.put("afterId", requireKey(after.id()));
+        }
+
+        StringBuilder jpql = new StringBuilder("SELECT t FROM TodoJpaEntity t");
+        if (!conditions.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        jpql.append(" ORDER BY ").append(sortProperty).append(direction).append(", t.id").append(direction);
+
+        TypedQuery<TodoJpaEntity> typedQuery = entityManager.createQuery(jpql.toString(), TodoJpaEntity.class)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setMaxResults(limit);
+        parameters.forEach(typedQuery::setParameter);
+        return typedQuery.getResultList().stream()
+                .map(this::toDomain)
+                .toList();
+    }
+
+    private static void addRange(List<String> conditions, Map<String, Object> parameters, String property, String name,
+                                 LocalDateTime from, LocalDateTime to) {
+        if (from != null) {
+            conditions.add(property + " >= :" + name + "From");
+            parameters.put(name + "From", from);
+        }
+        if (to != null) {
+            conditions.add(property + " < :" + name + "To");
+            parameters.put(name + "To", to);
+        }
+    }
+
+    @Override
+    public List<TodoSearchHit> search(String query, TodoSearchHit.Position after, int limit) {
+        Double afterRank = after != null ? after.rank() : null;
+        UUID afterId = after != null ? requireKey(after.id()) : null;
+        return jdbcTemplate.query(SEARCH_SQL, (rs, rowNum) -> {
+                    String description = rs.getString("description");
+                    Todo todo = new Todo(
+                            TodoJpaEntity.toUlid(rs.getObject("id", UUID.class)),
+                            rs.getString("title"),
+                            description,
+                            rs.getBoolean("completed"),
+                            rs.getObject("created_at", LocalDateTime.class),
+                            rs.getObject("updated_at", LocalDateTime.class),
+                            rs.getLong("version"));
+                    return new TodoSearchHit(todo, rs.getDouble("rank"), highlight(rs.getString("title_highlight")),
+                            description != null ? highlight(rs.getString("description_snippet")) : null);
+                },
+                TITLE_HEADLINE_OPTIONS, SNIPPET_HEADLINE_OPTIONS, query, afterRank, afterRank, afterRank, afterId, limit);
+    }
+
+    @Override
+    public Optional<Long> findVersionById(String id) {
+        return Optional.ofNullable(TodoJpaEntity.toKey(id))
+                .flatMap(todoJpaRepository::findVersionById);
+    }
+
+    @Override
+    public Optional<Todo> update(String id, String title, String description, Long expectedVersion) {
+        return Optional.ofNullable(TodoJpaEntity.toKey(id))
+                .flatMap(key -> todoJpaRepository.updateContentReturning(key, title, description, LocalDateTime.now(), expectedVersion))
+                .map(this::toDomain);
+    }
+
+    @Override
+    public Optional<Todo> toggleCompletion(String id, Long expectedVersion) {
+        return Optional.ofNullable(TodoJpaEntity.toKey(id))
+                .flatMap(key -> todoJpaRepository.toggleCompletedReturning(key, LocalDateTime.now(), expectedVersion))
+                .map(this::toDomain);
+    }
+
     @Override
     public void deleteById(String id) {
-        todoJpaRepository.deleteById(id);
+        UUID key = TodoJpaEntity.toKey(id);
+        if (key != null) {
+            todoJpaRepository.deleteById(key);
+        }
+    }
+
+    @Override
+    public Optional<Todo> deleteIfExists(String id, Long expectedVersion) {
+        return Optional.ofNullable(TodoJpaEntity.toKey(id))
+                .flatMap(key -> todoJpaRepository.deleteReturning(key, expectedVersion))
+                .map(this::toDomain);
+    }
+
+    @Override
+    public void deleteAllById(Collection<String> ids) {
+        if (!ids.isEmpty()) {
+            todoJpaRepository.deleteAllByIdInBatch(toKeys(ids));
+        }
     }
 
     @Override
     public boolean existsById(String id) {
-        return todoJpaRepository.existsById(id);
+        UUID key = TodoJpaEntity.toKey(id);
+        return key != null && todoJpaRepository.existsById(key);
+    }
+
+    private static List<UUID> toKeys(Collection<String> ids) {
+        return ids.stream()
+                .map(TodoJpaEntity::toKey)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Keyset positions come from cursors this API issued, so an id that is not a ULID means a tampered cursor.
+     */
+    private static UUID requireKey(String id) {
+        UUID key = TodoJpaEntity.toKey(id);
+        if (key == null) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return key;
+    }
+
+    static String highlight(String headline) {
+        return HtmlUtils.htmlEscape(headline).replace(MARK_START, "<mark>").replace(MARK_END, "</mark>");
     }
 
-    private Todo toDomain(TodoJpaEntity entity) {
+    Todo toDomain(TodoJpaEntity entity) {
         return new Todo(
-                entity.getId(),
+                TodoJpaEntity.toUlid(entity.getId()),
                 entity.getTitle(),
                 entity.getDescription(),
                 entity.isCompleted(),
                 entity.getCreatedAt(),
-                entity.getUpdatedAt()
+                entity.getUpdatedAt(),
+                entity.getVersion()
         );
     }
 }
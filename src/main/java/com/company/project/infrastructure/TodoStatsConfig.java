@@ -0,0 +1,48 @@
+package com.company.project.infrastructure;
+
+import com.company.project.application.TodoService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Periodically reconciles the stats rollups of every todo store. The first run waits a full interval so it does
+ * not compete with startup; a store that fails is logged and retried on the next run.
+ */
+@Slf4j
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(TodoStatsProperties.class)
+@ConditionalOnProperty(prefix = "app.stats.todo", name = "reconcile-enabled", havingValue = "true", matchIfMissing = true)
+public class TodoStatsConfig implements SchedulingConfigurer {
+
+    private final ObjectProvider<TodoService> todoServices;
+    private final TodoStatsProperties properties;
+
+    public TodoStatsConfig(ObjectProvider<TodoService> todoServices, TodoStatsProperties properties) {
+        this.todoServices = todoServices;
+        this.properties = properties;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(new FixedDelayTask(this::reconcile,
+                properties.reconcileInterval(), properties.reconcileInterval()));
+    }
+
+    private void reconcile() {
+        todoServices.orderedStream().forEach(todoService -> {
+            try {
+                todoService.reconcileStats();
+            } catch (RuntimeException ex) {
+                log.warn("Todo stats reconciliation failed, retrying in {}: {}", properties.reconcileInterval(), ex.getMessage());
+            }
+        });
+    }
+}
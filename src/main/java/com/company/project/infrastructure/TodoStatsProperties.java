@@ -0,0 +1,16 @@
+package com.company.project.infrastructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the todo stats rollups (app.stats.todo.*)
+ */
+@ConfigurationProperties(prefix = "app.stats.todo")
+public record TodoStatsProperties(
+        @DefaultValue("true") boolean reconcileEnabled,
+        @DefaultValue("1h") Duration reconcileInterval
+) {
+}
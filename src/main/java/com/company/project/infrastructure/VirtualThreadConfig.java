@@ -0,0 +1,26 @@
+package com.company.project.infrastructure;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Active with spring.threads.virtual.enabled=true, which also moves Tomcat, @Async, scheduling and
+ * Kafka listener containers onto virtual threads.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${app.virtual-threads.pinned-threshold:20ms}") Duration pinnedThreshold,
+            MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(pinnedThreshold, meterRegistry);
+    }
+}
@@ -0,0 +1,86 @@
+package com.company.project.infrastructure;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streams {@code jdk.VirtualThreadPinned} JFR events in-process: a virtual thread that blocked while pinned to
+ * its carrier (inside {@code synchronized} or a native frame) for longer than the threshold.
+ * <p>
+ * Every event is timed as {@code jvm.threads.virtual.pinned}; the first occurrence of each pinning frame is
+ * logged with its stack so the offending monitor can be found without attaching a profiler.
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_REPORTED_FRAMES = 1000;
+    private static final int LOGGED_STACK_DEPTH = 12;
+
+    private final Duration threshold;
+    private final Timer pinned;
+    private final Set<String> reportedFrames = ConcurrentHashMap.newKeySet();
+
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(Duration threshold, MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        stream = recording;
+        log.info("Watching for virtual thread pinning longer than {}ms", threshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    void onPinned(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return;
+        }
+        String frame = describe(stackTrace.getFrames().get(0));
+        if (reportedFrames.size() < MAX_REPORTED_FRAMES && reportedFrames.add(frame)) {
+            StringBuilder stack = new StringBuilder();
+            stackTrace.getFrames().stream()
+                    .limit(LOGGED_STACK_DEPTH)
+                    .forEach(f -> stack.append("\n\tat ").append(describe(f)));
+            log.warn("Virtual thread pinned for {}ms at {}{}", event.getDuration().toMillis(), frame, stack);
+        }
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
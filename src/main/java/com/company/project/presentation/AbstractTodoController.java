@@ -0,0 +1,238 @@
+package com.company.project.presentation;
+
+import com.company.project.application.TodoMapperService;
+import com.company.project.application.TodoService;
+import com.company.project.common.controller.BaseController;
+import com.company.project.common.controller.Bulkhead;
+import com.company.project.common.controller.RepresentationNegotiator;
+import com.company.project.common.service.PaginationService;
+import com.company.project.common.service.PaginationService.CursorPageResponse;
+import com.company.project.common.util.ApiResponses;
+import com.company.project.common.util.ETagUtil;
+import com.company.project.domain.Todo;
+import com.company.project.domain.TodoBatchOperation;
+import com.company.project.domain.TodoBatchResult;
+import com.company.project.domain.TodoQuery;
+import com.company.project.domain.TodoSearchHit;
+import com.company.project.dto.TodoBatchRequest;
+import com.company.project.dto.TodoBatchResponse;
+import com.company.project.dto.TodoRequest;
+import com.company.project.dto.TodoResponse;
+import com.company.project.dto.TodoSearchResponse;
+import com.company.project.dto.TodoStatsResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Todo endpoints shared by every store; subclasses only choose the base path and the backing {@link TodoService}.
+ */
+@Slf4j
+public abstract class AbstractTodoController extends BaseController<Todo, TodoRequest, TodoResponse, String> {
+
+    private static final int MAX_QUERY_LENGTH = 200;
+    private static final int DEFAULT_STATS_DAYS = 30;
+    private static final int MAX_STATS_DAYS = 366;
+
+    private final TodoService todoService;
+    private final TodoMapperService todoMapper;
+
+    protected AbstractTodoController(TodoService todoService, TodoMapperService mapperService,
+                                     PaginationService paginationService, RepresentationNegotiator representations) {
+        super(todoService, mapperService, paginationService, representations, "Todo");
+        this.todoService = todoService;
+        this.todoMapper = mapperService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Create a new todo", description = "Creates a new todo item with the provided title and description")
+    @ApiResponses.TodoCreated
+    public ResponseEntity<TodoResponse> createTodo(@Valid @RequestBody TodoRequest request) {
+        return create(request);
+    }
+
+    @GetMapping(params = {"!cursor", "!size"})
+    @Operation(summary = "Get all todos", description = "Retrieves a list of all todo items")
+    @ApiResponses.TodoListRetrieved
+    @Bulkhead("bulk")
+    public ResponseEntity<List<TodoResponse>> getAllTodos() {
+        return findAll();
+    }
+
+    @GetMapping
+    @Operation(summary = "Get a page of todos",
+            description = "Retrieves todos in creation order using an opaque cursor; pass nextCursor to fetch the following page")
+    @ApiResponses.TodoPageRetrieved
+    public ResponseEntity<CursorPageResponse<TodoResponse>> getTodoPage(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 20, max 100)") @RequestParam(required = false) Integer size) {
+        return findPage(cursor, size);
+    }
+
+    @GetMapping("/query")
+    @Operation(summary = "Query todos",
+            description = "Filters by completion and created/updated ranges (from inclusive, to exclusive) and sorts on an indexed key; "
+                    + "pass nextCursor to fetch the following page")
+    @ApiResponses.TodoQueryResults
+    public ResponseEntity<CursorPageResponse<TodoResponse>> queryTodos(
+            @Parameter(description = "Only completed (true) or open (false) todos") @RequestParam(required = false) Boolean completed,
+            @Parameter(description = "Created at or after (ISO date-time)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @Parameter(description = "Created before (ISO date-time)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @Parameter(description = "Updated at or after (ISO date-time)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedFrom,
+            @Parameter(description = "Updated before (ISO date-time)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedTo,
+            @Parameter(description = "createdAt or updatedAt, optionally followed by ,asc or ,desc") @RequestParam(defaultValue = "createdAt,asc") String sort,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 20, max 100)") @RequestParam(required = false) Integer size) {
+        String[] sortParts = sort.split(",", 2);
+        boolean descending = sortParts.length > 1 && parseDescending(sortParts[1]);
+        TodoQuery query = new TodoQuery(completed, createdFrom, createdTo, updatedFrom, updatedTo,
+                TodoQuery.SortKey.fromProperty(sortParts[0].trim()), descending);
+        int pageSize = pagination.resolvePageSize(size);
+        String afterKey = pagination.decodeCursor(cursor);
+        TodoQuery.Position after = afterKey != null ? TodoQuery.Position.parse(afterKey) : null;
+        List<Todo> rows = todoService.findByQuery(query, after, pageSize + 1);
+        CursorPageResponse<Todo> page = pagination.createCursorPageResponse(
+                rows, pageSize, todo -> query.positionOf(todo).key());
+        List<TodoResponse> responses = page.content().stream().map(mapper::toResponse).toList();
+        return ResponseEntity.ok(new CursorPageResponse<>(responses, page.nextCursor(), page.pageSize(), page.hasNext()));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search todos",
+            description = "Full-text search over title and description, best match first; pass nextCursor to fetch the following page")
+    @ApiResponses.TodoSearchResults
+    @Bulkhead("bulk")
+    public ResponseEntity<CursorPageResponse<TodoSearchResponse>> searchTodos(
+            @Parameter(description = "Search terms; supports \"quoted phrases\", OR and -excluded words") @RequestParam(name = "q", required = false) String query,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 20, max 100)") @RequestParam(required = false) Integer size) {
+        if (query == null || query.isBlank() || query.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must be 1 to " + MAX_QUERY_LENGTH + " characters");
+        }
+        int pageSize = pagination.resolvePageSize(size);
+        String afterKey = pagination.decodeCursor(cursor);
+        TodoSearchHit.Position after = afterKey != null ? TodoSearchHit.Position.parse(afterKey) : null;
+        List<TodoSearchHit> hits = todoService.search(query, after, pageSize + 1);
+        CursorPageResponse<TodoSearchHit> page = pagination.createCursorPageResponse(
+                hits, pageSize, hit -> hit.position().key());
+        List<TodoSearchResponse> responses = page.content().stream().map(todoMapper::toSearchResponse).toList();
+        return ResponseEntity.ok(new CursorPageResponse<>(responses, page.nextCursor(), page.pageSize(), page.hasNext()));
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Todo statistics",
+            description = "Open and completed totals plus todos created per day and how many of them are completed; "
+                    + "served from rollups, so the cost does not grow with the number of todos")
+    @ApiResponses.TodoStatsFound
+    public ResponseEntity<TodoStatsResponse> getTodoStats(
+            @Parameter(description = "First day (ISO date); defaults to 30 days before to") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Day after the last one (ISO date); defaults to tomorrow") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate until = to != null ? to : LocalDate.now().plusDays(1);
+        LocalDate since = from != null ? from : until.minusDays(DEFAULT_STATS_DAYS);
+        if (!since.isBefore(until) || since.plusDays(MAX_STATS_DAYS).isBefore(until)) {
+            throw new IllegalArgumentException("Stats range must cover 1 to " + MAX_STATS_DAYS + " days");
+        }
+        return ResponseEntity.ok(todoMapper.toStatsResponse(todoService.stats(since, until)));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get todo by ID", description = "Retrieves a specific todo item by its ID")
+    @ApiResponses.TodoFound
+    public ResponseEntity<TodoResponse> getTodoById(
+            @Parameter(description = "The unique ID of the todo") @PathVariable String id,
+            @Parameter(description = "ETag of a cached copy; answered with 304 when unchanged")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return findById(id, ifNoneMatch);
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Update a todo", description = "Updates an existing todo item with new title and description")
+    @ApiResponses.TodoUpdated
+    public ResponseEntity<TodoResponse> updateTodo(
+            @Parameter(description = "The unique ID of the todo") @PathVariable String id,
+            @Parameter(description = "ETag the update is based on; answered with 412 when outdated")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody TodoRequest request) {
+        return update(id, request, ifMatch);
+    }
+
+    @PatchMapping("/{id}/toggle")
+    @Operation(summary = "Toggle todo completion", description = "Toggles the completion status of a todo item")
+    @ApiResponses.TodoToggled
+    public ResponseEntity<TodoResponse> toggleTodoCompletion(
+            @Parameter(description = "The unique ID of the todo") @PathVariable String id,
+            @Parameter(description = "ETag the toggle is based on; answered with 412 when outdated")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Received request to toggle todo completion with id: {}", id);
+        Todo todo = todoService.toggleCompletion(id, ETagUtil.parseIfMatch(ifMatch));
+        return tagged(ResponseEntity.ok(), todo.getVersion())
+                .body(mapper.toResponse(todo));
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Apply a batch of todo operations",
+            description = "Creates, updates and deletes todos in a single transaction and reports the outcome of each operation")
+    @ApiResponses.TodoBatchExecuted
+    @Bulkhead("bulk")
+    public ResponseEntity<TodoBatchResponse> executeBatch(@Valid @RequestBody TodoBatchRequest request) {
+        log.info("Received batch of {} todo operations", request.operations().size());
+        List<TodoBatchOperation> operations = request.operations().stream()
+                .map(todoMapper::toBatchOperation)
+                .toList();
+        List<TodoBatchResult> results = todoService.executeBatch(operations);
+        return ResponseEntity.ok(todoMapper.toBatchResponse(results));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete a todo", description = "Deletes a todo item by its ID")
+    @ApiResponses.TodoDeleted
+    public ResponseEntity<Void> deleteTodo(
+            @Parameter(description = "The unique ID of the todo") @PathVariable String id,
+            @Parameter(description = "ETag the deletion is based on; answered with 412 when outdated")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return delete(id, ifMatch);
+    }
+
+    private static boolean parseDescending(String direction) {
+        return switch (direction.trim().toLowerCase()) {
+            case "asc" -> false;
+            case "desc" -> true;
+            default -> throw new IllegalArgumentException("Sort direction must be asc or desc");
+        };
+    }
+
+    @Override
+    protected Object getEntityId(Todo entity) {
+        return entity.getId();
+    }
+
+    @Override
+    protected String toId(String value) {
+        return value;
+    }
+
+    @Override
+    protected long getEntityVersion(Todo entity) {
+        return entity.getVersion();
+    }
+
+    @Override
+    protected Class<TodoResponse> getResponseType() {
+        return TodoResponse.class;
+    }
+}
@@ -0,0 +1,25 @@
+package com.company.project.presentation;
+
+import com.company.project.application.TodoMapperService;
+import com.company.project.application.TodoService;
+import com.company.project.common.controller.RepresentationNegotiator;
+import com.company.project.common.service.PaginationService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * The todo API over the document store, with the same endpoints and behaviour as {@link TodoController}.
+ */
+@RestController
+@RequestMapping("/api/v1/nosql/todo")
+@Tag(name = "Todo (NoSQL)", description = "Todo management API backed by MongoDB")
+public class NoSqlTodoController extends AbstractTodoController {
+
+    public NoSqlTodoController(@Qualifier("noSqlTodoService") TodoService todoService,
+                               TodoMapperService mapperService, PaginationService paginationService,
+                               RepresentationNegotiator representations) {
+        super(todoService, mapperService, paginationService, representations);
+    }
+}
@@ -0,0 +1,114 @@
+package com.company.project.presentation;
+
+import com.company.project.application.TodoMapperService;
+import com.company.project.application.TodoService;
+import com.company.project.common.controller.Bulkhead;
+import com.company.project.dto.TodoResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Full-table todo export written row by row, so heap use does not depend on table size
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/sql/todo/export")
+@Tag(name = "Todo", description = "Todo management API")
+public class TodoExportController {
+
+    static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
+    private final TodoService todoService;
+    private final TodoMapperService mapper;
+    private final ObjectMapper objectMapper;
+
+    public TodoExportController(TodoService todoService, TodoMapperService mapper, ObjectMapper objectMapper) {
+        this.todoService = todoService;
+        this.mapper = mapper;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping(produces = NDJSON_MEDIA_TYPE)
+    @Operation(summary = "Export all todos",
+            description = "Streams every todo as newline-delimited JSON; gzip-compressed when the client accepts gzip")
+    @ApiResponse(responseCode = "200", description = "NDJSON stream of todos")
+    @Bulkhead("bulk")
+    public void exportTodos(
+            @Parameter(description = "Send 'gzip' to receive a compressed stream")
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        response.setContentType(NDJSON_MEDIA_TYPE);
+        response.setCharacterEncoding("UTF-8");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        OutputStream out = gzip ? new GZIPOutputStream(response.getOutputStream(), 8192) : response.getOutputStream();
+        try (out; SequenceWriter writer = objectMapper.writerFor(TodoResponse.class)
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValues(out)) {
+            long count = todoService.exportAll(todo -> {
+                try {
+                    writer.write(mapper.toResponse(todo));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            writer.flush();
+            if (count > 0) {
+                out.write('\n');
+            }
+            log.debug("Streamed {} todos (gzip: {})", count, gzip);
+        }
+    }
+
+    /**
+     * True when one of the comma-separated codings is exactly gzip and not refused with a zero q-value.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip") && quality(parts) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double quality(String[] codingParts) {
+        for (int i = 1; i < codingParts.length; i++) {
+            String parameter = codingParts[i].trim();
+            if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
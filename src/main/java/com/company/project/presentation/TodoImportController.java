@@ -0,0 +1,84 @@
+package com.company.project.presentation;
+
+import com.company.project.application.TodoMapperService;
+import com.company.project.application.TodoService;
+import com.company.project.common.controller.Bulkhead;
+import com.company.project.common.util.ApiResponses;
+import com.company.project.dto.TodoImportResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Bulk todo import read from the request body as it arrives, so heap use does not depend on file size
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/sql/todo/import")
+@Tag(name = "Todo", description = "Todo management API")
+public class TodoImportController {
+
+    static final String CSV_MEDIA_TYPE = "text/csv";
+
+    private final TodoService todoService;
+    private final TodoMapperService mapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public TodoImportController(TodoService todoService, TodoMapperService mapper, ObjectMapper objectMapper,
+                                Validator validator) {
+        this.todoService = todoService;
+        this.mapper = mapper;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    @PostMapping(consumes = {CSV_MEDIA_TYPE, TodoExportController.NDJSON_MEDIA_TYPE},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Import todos",
+            description = "Creates a todo per CSV row (header row with title and description columns) or NDJSON line "
+                    + "in a single transaction; invalid lines are skipped and reported. The body may be gzip-compressed")
+    @ApiResponses.TodoImported
+    @Bulkhead("bulk")
+    public ResponseEntity<TodoImportResponse> importTodos(
+            @Parameter(description = "Send 'gzip' with a compressed body")
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            HttpServletRequest request) throws IOException {
+        boolean gzip = contentEncoding != null && contentEncoding.contains("gzip");
+        boolean csv = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType(CSV_MEDIA_TYPE));
+        Charset charset = request.getCharacterEncoding() != null
+                ? Charset.forName(request.getCharacterEncoding())
+                : StandardCharsets.UTF_8;
+
+        InputStream in = gzip ? new GZIPInputStream(request.getInputStream(), 8192) : request.getInputStream();
+        try (Reader body = new InputStreamReader(in, charset)) {
+            TodoImportReader reader = csv
+                    ? TodoImportReader.csv(body, validator, mapper)
+                    : TodoImportReader.ndjson(body, objectMapper, validator, mapper);
+            long imported = todoService.importAll(reader);
+            TodoImportResponse report = reader.report(imported);
+            log.info("Imported {} todos from {} body, rejected {} lines (complete: {})",
+                    imported, csv ? "CSV" : "NDJSON", report.rejected(), report.complete());
+            return ResponseEntity.ok(report);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.company.project.presentation;
+
+import com.company.project.application.TodoMapperService;
+import com.company.project.domain.Todo;
+import com.company.project.dto.TodoImportResponse;
+import com.company.project.dto.TodoRequest;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.core.exc.StreamConstraintsException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvFactory;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.io.BufferedReader;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads todos from a CSV body with a header row or an NDJSON body one record at a time, validating each one
+ * against the {@link TodoRequest} constraints. Only the first {@value #MAX_REPORTED_REJECTIONS} rejected lines are
+ * kept for the report, and a line or quoted CSV value longer than {@value #MAX_LINE_LENGTH} characters fails the
+ * import with an {@link IllegalArgumentException} before it is buffered whole, so memory use does not depend on the
+ * body.
+ */
+final class TodoImportReader implements Iterator<Todo> {
+
+    static final int MAX_REPORTED_REJECTIONS = 1_000;
+
+    /**
+     * Far above the longest valid record, even with every character of the title and description escaped
+     */
+    static final int MAX_LINE_LENGTH = 16_384;
+
+    private static final ObjectReader CSV_READER = CsvMapper.builder(CsvFactory.builder()
+                    // Quoted values may span lines, so they are capped on their own
+                    .streamReadConstraints(StreamReadConstraints.builder().maxStringLength(MAX_LINE_LENGTH).build())
+                    .build())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .build()
+            .readerFor(TodoRequest.class)
+            .with(CsvSchema.emptySchema().withHeader());
+
+    private final Source source;
+    private final Validator validator;
+    private final TodoMapperService mapper;
+    private final List<TodoImportResponse.RejectedLine> rejectedLines = new ArrayList<>();
+    private long rejected;
+    private boolean complete = true;
+    private boolean exhausted;
+    private Todo next;
+
+    private TodoImportReader(Source source, Validator validator, TodoMapperService mapper) {
+        this.source = source;
+        this.validator = validator;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Columns are matched by the header names {@code title} and {@code description}; others are ignored, as are
+     * empty values. Quoted values may span lines.
+     */
+    static TodoImportReader csv(Reader body, Validator validator, TodoMapperService mapper) throws IOException {
+        MappingIterator<TodoRequest> rows = CSV_READER.readValues(new LineLengthLimit(body));
+        return new TodoImportReader(() -> {
+            try {
+                if (!rows.hasNextValue()) {
+                    return null;
+                }
+            } catch (StreamConstraintsException ex) {
+                throw valueTooLong(rows.getCurrentLocation().getLineNr());
+            } catch (JsonProcessingException ex) {
+                return Row.malformed(rows.getCurrentLocation().getLineNr(), ex.getOriginalMessage());
+            }
+            long line = rows.getCurrentLocation().getLineNr();
+            try {
+                return Row.of(line, rows.nextValue());
+            } catch (StreamConstraintsException ex) {
+                throw valueTooLong(line);
+            } catch (JsonParseException ex) {
+                return Row.malformed(line, ex.getOriginalMessage());
+            } catch (JsonProcessingException ex) {
+                return Row.invalid(line, ex.getOriginalMessage());
+            }
+        }, validator, mapper);
+    }
+
+    /**
+     * One JSON object per line; blank lines are skipped and unknown properties ignored, so an export reads back.
+     */
+    static TodoImportReader ndjson(Reader body, ObjectMapper objectMapper, Validator validator, TodoMapperService mapper) {
+        BufferedReader lines = new BufferedReader(new LineLengthLimit(body), 8192);
+        ObjectReader reader = objectMapper.readerFor(TodoRequest.class);
+        return new TodoImportReader(new Source() {
+            private long lineNumber;
+
+            @Override
+            public Row read() throws IOException {
+                String line;
+                do {
+                    line = lines.readLine();
+                    lineNumber++;
+                } while (line != null && line.isBlank());
+                if (line == null) {
+                    return null;
+                }
+                try {
+                    TodoRequest request = reader.readValue(line);
+                    return request != null ? Row.of(lineNumber, request) : Row.invalid(lineNumber, "Expected a JSON object");
+                } catch (JsonProcessingException ex) {
+                    return Row.invalid(lineNumber, ex.getOriginalMessage());
+                }
+            }
+        }, validator, mapper);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !exhausted) {
+            advance();
+        }
+        return next != null;
+    }
+
+    @Override
+    public Todo next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Todo todo = next;
+        next = null;
+        return todo;
+    }
+
+    TodoImportResponse report(long imported) {
+        return new TodoImportResponse(imported, rejected, List.copyOf(rejectedLines), complete);
+    }
+
+    private void advance() {
+        while (true) {
+            Row row;
+            try {
+                row = source.read();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            if (row == null) {
+                exhausted = true;
+                return;
+            }
+            if (row.error() != null) {
+                reject(row.line(), List.of(row.error()));
+                if (row.malformed()) {
+                    // The rest of the body cannot be split into records reliably
+                    complete = false;
+                    exhausted = true;
+                    return;
+                }
+                continue;
+            }
+            List<String> violations = validator.validate(row.request()).stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .toList();
+            if (!violations.isEmpty()) {
+                reject(row.line(), violations);
+                continue;
+            }
+            next = mapper.toEntity(row.request());
+            return;
+        }
+    }
+
+    private static IllegalArgumentException valueTooLong(long line) {
+        return new IllegalArgumentException("Line " + line + " has a value longer than " + MAX_LINE_LENGTH + " characters");
+    }
+
+    private void reject(long line, List<String> errors) {
+        rejected++;
+        if (rejectedLines.size() < MAX_REPORTED_REJECTIONS) {
+            rejectedLines.add(new TodoImportResponse.RejectedLine(line, errors));
+        }
+    }
+
+    /**
+     * Counts the characters of each line as they are read and fails once one runs past {@link #MAX_LINE_LENGTH}.
+     */
+    private static final class LineLengthLimit extends FilterReader {
+
+        private long line = 1;
+        private int length;
+
+        LineLengthLimit(Reader in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int c = super.read();
+            if (c >= 0) {
+                count((char) c);
+            }
+            return c;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int count) throws IOException {
+            int read = super.read(buffer, offset, count);
+            for (int i = offset; i < offset + read; i++) {
+                count(buffer[i]);
+            }
+            return read;
+        }
+
+        private void count(char c) {
+            if (c == '\n') {
+                line++;
+                length = 0;
+            } else if (++length > MAX_LINE_LENGTH) {
+                throw new IllegalArgumentException(
+                        "Line " + line + " is longer than " + MAX_LINE_LENGTH + " characters");
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Source {
+
+        /**
+         * @return the next record, or null at the end of the body
+         */
+        Row read() throws IOException;
+    }
+
+    /**
+     * @param malformed the body is broken at this line, so reading stops
+     */
+    private record Row(long line, TodoRequest request, String error, boolean malformed) {
+
+        static Row of(long line, TodoRequest request) {
+            return new Row(line, request, null, false);
+        }
+
+        static Row invalid(long line, String error) {
+            return new Row(line, null, error, false);
+        }
+
+        static Row malformed(long line, String error) {
+            return new Row(line, null, error, true);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.company.project.presentation;
+
+import com.company.project.common.service.PaginationService.CursorPageResponse;
+import com.company.project.dto.ErrorResponse;
+import com.company.project.dto.TodoRequest;
+import com.company.project.dto.TodoResponse;
+import com.company.project.dto.proto.TodoProtos;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.Timestamp;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Reads and writes the todo DTOs as {@code application/x-protobuf} using the messages in {@code todo.proto}.
+ * Only types with a message are supported, so other endpoints keep answering in JSON or with 406.
+ */
+public class TodoProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private enum Kind { REQUEST, RESPONSE, LIST, PAGE, ERROR, VALIDATION_ERRORS }
+
+    public TodoProtobufHttpMessageConverter() {
+        super(APPLICATION_PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return kindOf(ResolvableType.forClass(clazz)) != null;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return canRead(mediaType) && kindOf(resolve(type, contextClass)) != null;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return canWrite(mediaType) && kindOf(type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz)) != null;
+    }
+
+    /**
+     * Callers pass only the raw class here, after the generic canWrite has already checked the element types
+     * of lists, pages and maps.
+     */
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return getSupportedMediaTypes();
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return read(kindOf(resolve(type, contextClass)), inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return read(kindOf(ResolvableType.forClass(clazz)), inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        toMessage(body).writeTo(outputMessage.getBody());
+    }
+
+    private static ResolvableType resolve(Type type, Class<?> contextClass) {
+        return ResolvableType.forType(GenericTypeResolver.resolveType(type, contextClass));
+    }
+
+    /**
+     * Generic containers are matched on the exact declared interface, which is what handler signatures use
+     * and what {@link #read} can return.
+     */
+    private static Kind kindOf(ResolvableType type) {
+        Class<?> raw = type.toClass();
+        if (raw == TodoRequest.class) {
+            return Kind.REQUEST;
+        }
+        if (raw == TodoResponse.class) {
+            return Kind.RESPONSE;
+        }
+        if (raw == ErrorResponse.class) {
+            return Kind.ERROR;
+        }
+        if (raw == List.class && type.resolveGeneric(0) == TodoResponse.class) {
+            return Kind.LIST;
+        }
+        if (raw == CursorPageResponse.class && type.resolveGeneric(0) == TodoResponse.class) {
+            return Kind.PAGE;
+        }
+        if (raw == Map.class && type.resolveGeneric(0) == String.class && type.resolveGeneric(1) == String.class) {
+            return Kind.VALIDATION_ERRORS;
+        }
+        return null;
+    }
+
+    private Object read(Kind kind, HttpInputMessage inputMessage) throws IOException {
+        InputStream body = inputMessage.getBody();
+        try {
+            return switch (kind) {
+                case REQUEST -> fromMessage(TodoProtos.TodoRequest.parseFrom(body));
+                case RESPONSE -> fromMessage(TodoProtos.TodoResponse.parseFrom(body));
+                case LIST -> TodoProtos.TodoList.parseFrom(body).getTodosList().stream()
+                        .map(TodoProtobufHttpMessageConverter::fromMessage)
+                        .toList();
+                case PAGE -> fromMessage(TodoProtos.TodoPage.parseFrom(body));
+                case ERROR -> fromMessage(TodoProtos.ErrorResponse.parseFrom(body));
+                case VALIDATION_ERRORS -> TodoProtos.ValidationErrors.parseFrom(body).getErrorsMap();
+            };
+        } catch (InvalidProtocolBufferException ex) {
+            throw new HttpMessageNotReadableException("Malformed protobuf message: " + ex.getMessage(), ex, inputMessage);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Message toMessage(Object body) {
+        return switch (body) {
+            case TodoRequest request -> toMessage(request);
+            case TodoResponse response -> toMessage(response);
+            case ErrorResponse error -> TodoProtos.ErrorResponse.newBuilder()
+                    .setError(Objects.requireNonNullElse(error.error(), ""))
+                    .setMessage(Objects.requireNonNullElse(error.message(), ""))
+                    .build();
+            case List<?> todos -> TodoProtos.TodoList.newBuilder()
+                    .addAllTodos(toMessages((List<TodoResponse>) todos))
+                    .build();
+            case CursorPageResponse<?> page -> toMessage((CursorPageResponse<TodoResponse>) page);
+            case Map<?, ?> errors -> {
+                TodoProtos.ValidationErrors.Builder builder = TodoProtos.ValidationErrors.newBuilder();
+                errors.forEach((field, message) -> builder.putErrors(String.valueOf(field), Objects.toString(message, "")));
+                yield builder.build();
+            }
+            default -> throw new HttpMessageNotWritableException("No protobuf message for " + body.getClass().getName());
+        };
+    }
+
+    private static TodoProtos.TodoRequest toMessage(TodoRequest request) {
+        TodoProtos.TodoRequest.Builder builder = TodoProtos.TodoRequest.newBuilder()
+                .setTitle(Objects.requireNonNullElse(request.title(), ""));
+        if (request.description() != null) {
+            builder.setDescription(request.description());
+        }
+        return builder.build();
+    }
+
+    private static TodoProtos.TodoResponse toMessage(TodoResponse response) {
+        TodoProtos.TodoResponse.Builder builder = TodoProtos.TodoResponse.newBuilder()
+                .setId(response.id())
+                .setTitle(response.title())
+                .setCompleted(response.completed())
+                .setVersion(response.version());
+        if (response.description() != null) {
+            builder.setDescription(response.description());
+        }
+        if (response.createdAt() != null) {
+            builder.setCreatedAt(toTimestamp(response.createdAt()));
+        }
+        if (response.updatedAt() != null) {
+            builder.setUpdatedAt(toTimestamp(response.updatedAt()));
+        }
+        return builder.build();
+    }
+
+    private static TodoProtos.TodoPage toMessage(CursorPageResponse<TodoResponse> page) {
+        TodoProtos.TodoPage.Builder builder = TodoProtos.TodoPage.newBuilder()
+                .addAllContent(toMessages(page.content()))
+                .setPageSize(page.pageSize())
+                .setHasNext(page.hasNext());
+        if (page.nextCursor() != null) {
+            builder.setNextCursor(page.nextCursor());
+        }
+        return builder.build();
+    }
+
+    private static List<TodoProtos.TodoResponse> toMessages(List<TodoResponse> todos) {
+        return todos.stream().map(TodoProtobufHttpMessageConverter::toMessage).toList();
+    }
+
+    private static TodoRequest fromMessage(TodoProtos.TodoRequest message) {
+        return new TodoRequest(message.getTitle(), message.hasDescription() ? message.getDescription() : null);
+    }
+
+    private static TodoResponse fromMessage(TodoProtos.TodoResponse message) {
+        return new TodoResponse(message.getId(), message.getTitle(),
+                message.hasDescription() ? message.getDescription() : null,
+                message.getCompleted(),
+                message.hasCreatedAt() ? toLocalDateTime(message.getCreatedAt()) : null,
+                message.hasUpdatedAt() ? toLocalDateTime(message.getUpdatedAt()) : null,
+                message.getVersion());
+    }
+
+    private static CursorPageResponse<TodoResponse> fromMessage(TodoProtos.TodoPage message) {
+        return new CursorPageResponse<>(
+                message.getContentList().stream().map(TodoProtobufHttpMessageConverter::fromMessage).toList(),
+                message.hasNextCursor() ? message.getNextCursor() : null,
+                message.getPageSize(), message.getHasNext());
+    }
+
+    private static ErrorResponse fromMessage(TodoProtos.ErrorResponse message) {
+        return new ErrorResponse(message.getError(), message.getMessage());
+    }
+
+    /**
+     * Carries the zone-less date-time field by field, as the JSON form does, rather than as an instant.
+     */
+    private static Timestamp toTimestamp(LocalDateTime time) {
+        return Timestamp.newBuilder()
+                .setSeconds(time.toEpochSecond(ZoneOffset.UTC))
+                .setNanos(time.getNano())
+                .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return LocalDateTime.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,8 @@
+-- Builds the future primary key and the V6 keyset indexes over the UUID column without blocking writes
+-- (CONCURRENTLY, so Flyway runs this migration outside a transaction)
+
+CREATE UNIQUE INDEX CONCURRENTLY todos_id_uuid_key ON todos (id_uuid);
+CREATE INDEX CONCURRENTLY idx_todos_created_at_id_uuid ON todos (created_at, id_uuid);
+CREATE INDEX CONCURRENTLY idx_todos_updated_at_id_uuid ON todos (updated_at, id_uuid);
+CREATE INDEX CONCURRENTLY idx_todos_completed_created_at_id_uuid ON todos (completed, created_at, id_uuid);
+CREATE INDEX CONCURRENTLY idx_todos_completed_updated_at_id_uuid ON todos (completed, updated_at, id_uuid);
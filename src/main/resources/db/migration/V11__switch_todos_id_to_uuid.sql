@@ -0,0 +1,22 @@
+-- Contract step: swaps the key columns. Every statement only changes the catalog (the validated check lets
+-- SET NOT NULL skip its scan and the primary key adopts the index built by V10), so the exclusive lock on
+-- todos is held for milliseconds regardless of table size. From here on, versions reading VARCHAR ids fail.
+
+ALTER TABLE todos ALTER COLUMN id_uuid SET NOT NULL;
+ALTER TABLE todos DROP CONSTRAINT todos_id_uuid_not_null;
+
+DROP TRIGGER todos_sync_id_uuid ON todos;
+DROP FUNCTION todos_sync_id_uuid();
+
+-- Also drops the V6 indexes, which include the old column; their UUID counterparts take over their names
+ALTER TABLE todos DROP CONSTRAINT todos_pkey;
+ALTER TABLE todos DROP COLUMN id;
+ALTER TABLE todos RENAME COLUMN id_uuid TO id;
+ALTER TABLE todos ADD CONSTRAINT todos_pkey PRIMARY KEY USING INDEX todos_id_uuid_key;
+
+ALTER INDEX idx_todos_created_at_id_uuid RENAME TO idx_todos_created_at_id;
+ALTER INDEX idx_todos_updated_at_id_uuid RENAME TO idx_todos_updated_at_id;
+ALTER INDEX idx_todos_completed_created_at_id_uuid RENAME TO idx_todos_completed_created_at_id;
+ALTER INDEX idx_todos_completed_updated_at_id_uuid RENAME TO idx_todos_completed_updated_at_id;
+
+-- ulid_to_uuid stays for operators: SELECT * FROM todos WHERE id = ulid_to_uuid('01HQZX3Y9F8G7JTRQWKNXVP123')
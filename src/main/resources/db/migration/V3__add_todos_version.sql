@@ -0,0 +1,4 @@
+-- Row version for optimistic locking and ETag support
+-- Existing rows start at version 0
+
+ALTER TABLE todos ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,11 @@
+-- Full-text search over title (weight A) and description (weight B)
+-- The column is generated and stored, so it is never out of date and ranking does not re-parse the text
+-- Adding a stored column rewrites the table; on large tables run this in a maintenance window
+
+ALTER TABLE todos ADD COLUMN search_vector TSVECTOR
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX idx_todos_search_vector ON todos USING GIN (search_vector);
@@ -0,0 +1,12 @@
+-- Index paths for the todo query API: every sortable key gets a (key, id) index for unfiltered listings
+-- and a (completed, key, id) index for listings filtered by completion
+-- The trailing id matches the keyset tie-breaker, so a page is a single index range scan
+
+CREATE INDEX idx_todos_created_at_id ON todos (created_at, id);
+CREATE INDEX idx_todos_updated_at_id ON todos (updated_at, id);
+CREATE INDEX idx_todos_completed_created_at_id ON todos (completed, created_at, id);
+CREATE INDEX idx_todos_completed_updated_at_id ON todos (completed, updated_at, id);
+
+-- Superseded: created_at is the prefix of idx_todos_created_at_id, and a boolean alone is too unselective to be used
+DROP INDEX IF EXISTS idx_todos_created_at;
+DROP INDEX IF EXISTS idx_todos_completed;
@@ -0,0 +1,32 @@
+-- Counter rollups for GET /todo/stats, maintained by the same transactions that write todos
+-- Each table is striped over slots: a writer adds to one random slot, so concurrent writers rarely wait on
+-- the same row lock, and readers sum the slots
+
+CREATE TABLE todo_stats_totals (
+    slot            SMALLINT PRIMARY KEY,
+    open_count      BIGINT NOT NULL,
+    completed_count BIGINT NOT NULL
+);
+
+-- Keyed by the day a todo was created: created_count counts the todos of that day that still exist,
+-- completed_count those of them that are completed
+CREATE TABLE todo_stats_daily (
+    day             DATE NOT NULL,
+    slot            SMALLINT NOT NULL,
+    created_count   BIGINT NOT NULL,
+    completed_count BIGINT NOT NULL,
+    PRIMARY KEY (day, slot)
+);
+
+INSERT INTO todo_stats_totals (slot, open_count, completed_count)
+SELECT 0, COUNT(*) FILTER (WHERE NOT completed), COUNT(*) FILTER (WHERE completed)
+FROM todos;
+
+INSERT INTO todo_stats_daily (day, slot, created_count, completed_count)
+SELECT CAST(created_at AS DATE), 0, COUNT(*), COUNT(*) FILTER (WHERE completed)
+FROM todos
+GROUP BY CAST(created_at AS DATE);
+
+-- Counters are only ever updated in place; free space on each page keeps those updates HOT
+ALTER TABLE todo_stats_totals SET (fillfactor = 50);
+ALTER TABLE todo_stats_daily SET (fillfactor = 50);
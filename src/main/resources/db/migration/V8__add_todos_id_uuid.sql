@@ -0,0 +1,45 @@
+-- Expand step of moving todos.id from VARCHAR(26) to a 16-byte UUID holding the same 128 ULID bits
+-- (V8-V10 leave the VARCHAR key in place, so the previous application version keeps working while they run;
+-- V11 switches the key over)
+-- Byte order is preserved, so UUID order is ULID order and keyset paging by id is unchanged
+
+-- Decodes a Crockford base32 ULID: 26 digits carry 130 bits, of which a valid ULID leaves the top two at zero
+CREATE FUNCTION ulid_to_uuid(ulid TEXT) RETURNS UUID
+    LANGUAGE plpgsql IMMUTABLE STRICT PARALLEL SAFE AS $$
+DECLARE
+    bits BIT VARYING := B'';
+    hex TEXT := '';
+    digit INT;
+BEGIN
+    IF length(ulid) <> 26 THEN
+        RAISE EXCEPTION 'Invalid ULID: %', ulid;
+    END IF;
+    FOR i IN 1..26 LOOP
+        digit := strpos('0123456789ABCDEFGHJKMNPQRSTVWXYZ', upper(substr(ulid, i, 1))) - 1;
+        IF digit < 0 THEN
+            RAISE EXCEPTION 'Invalid ULID: %', ulid;
+        END IF;
+        bits := bits || digit::BIT(5);
+    END LOOP;
+    FOR i IN 0..31 LOOP
+        hex := hex || to_hex(substring(bits FROM 3 + i * 4 FOR 4)::BIT(4)::INT);
+    END LOOP;
+    RETURN hex::UUID;
+END
+$$;
+
+-- Nullable without a default: adding it only touches the catalog
+ALTER TABLE todos ADD COLUMN id_uuid UUID;
+
+-- Rows written while the backfill runs get their UUID on the way in
+CREATE FUNCTION todos_sync_id_uuid() RETURNS TRIGGER
+    LANGUAGE plpgsql AS $$
+BEGIN
+    NEW.id_uuid := ulid_to_uuid(NEW.id);
+    RETURN NEW;
+END
+$$;
+
+CREATE TRIGGER todos_sync_id_uuid
+    BEFORE INSERT OR UPDATE OF id ON todos
+    FOR EACH ROW EXECUTE FUNCTION todos_sync_id_uuid();
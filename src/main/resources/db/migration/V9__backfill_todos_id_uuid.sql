@@ -0,0 +1,30 @@
+-- Backfills todos.id_uuid in primary-key order, committing every batch so no long transaction holds row locks
+-- or keeps vacuum from cleaning up behind it. Runs outside a Flyway transaction (see the .conf file next to it).
+
+CREATE PROCEDURE backfill_todos_id_uuid(batch_size INT)
+    LANGUAGE plpgsql AS $$
+DECLARE
+    last_id VARCHAR(26) := '';
+    next_id VARCHAR(26);
+BEGIN
+    LOOP
+        SELECT max(id) INTO next_id
+        FROM (SELECT id FROM todos WHERE id > last_id ORDER BY id LIMIT batch_size) batch;
+        EXIT WHEN next_id IS NULL;
+        UPDATE todos SET id_uuid = ulid_to_uuid(id)
+        WHERE id > last_id AND id <= next_id AND id_uuid IS NULL;
+        last_id := next_id;
+        COMMIT;
+    END LOOP;
+END
+$$;
+
+CALL backfill_todos_id_uuid(10000);
+
+DROP PROCEDURE backfill_todos_id_uuid(INT);
+
+-- Proves the column is filled without holding a write-blocking lock during the scan; V11 relies on it to set
+-- NOT NULL without scanning again
+ALTER TABLE todos ADD CONSTRAINT todos_id_uuid_not_null CHECK (id_uuid IS NOT NULL) NOT VALID;
+
+ALTER TABLE todos VALIDATE CONSTRAINT todos_id_uuid_not_null;
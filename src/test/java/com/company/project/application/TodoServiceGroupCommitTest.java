@@ -0,0 +1,191 @@
+package com.company.project.application;
+
+import com.company.project.common.concurrency.GroupCommitter;
+import com.company.project.common.exception.PreconditionFailedException;
+import com.company.project.common.exception.ResourceNotFoundException;
+import com.company.project.domain.Todo;
+import com.github.f4b6a3.ulid.Ulid;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Group-committed creates and toggles against a real PostgreSQL. The pool is smaller than the number of callers, so
+ * the test only passes while callers waiting on the committer hold no connection.
+ */
+@SpringBootTest(properties = {
+        "app.outbox.todo.relay-enabled=false",
+        "app.stats.todo.reconcile-enabled=false",
+        "app.cache.todo.redis-enabled=false",
+        "spring.kafka.admin.auto-create=false",
+        "app.group-commit.todo.enabled=true",
+        "app.group-commit.todo.max-batch-size=12",
+        "app.group-commit.todo.max-delay=500ms",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=1000"
+})
+@DirtiesContext
+class TodoServiceGroupCommitTest {
+
+    // Both servers stop with the JVM
+    private static EmbeddedPostgres postgres;
+    private static MongoServer mongo;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private GroupCommitter groupCommitter;
+
+    @DynamicPropertySource
+    static void infrastructure(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        mongo = new MongoServer(new MemoryBackend());
+        InetSocketAddress mongoAddress = mongo.bind();
+
+        registry.add("spring.datasource.url",
+                () -> "jdbc:postgresql://localhost:" + postgres.getPort() + "/postgres?reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.data.mongodb.uri",
+                () -> "mongodb://" + mongoAddress.getHostString() + ":" + mongoAddress.getPort() + "/appdb");
+    }
+
+    @Test
+    void failingWritesRollBackAloneAndTheRestOfTheBatchCommits() throws Exception {
+        Todo toggled = todoService.create(new Todo("Group toggled", null));
+        Todo stale = todoService.create(new Todo("Group stale", null));
+        long outboxBefore = count("SELECT count(*) FROM todo_outbox");
+        double batchesBefore = batches();
+        double retriesBefore = retries();
+
+        List<Future<Todo>> creates = new ArrayList<>();
+        Future<Todo> toggle;
+        Future<Todo> missing;
+        Future<Todo> precondition;
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 8; i++) {
+                Todo todo = new Todo("Group " + i, null);
+                creates.add(callers.submit(() -> todoService.create(todo)));
+            }
+            toggle = callers.submit(() -> todoService.toggleCompletion(toggled.getId(), toggled.getVersion()));
+            missing = callers.submit(() -> todoService.toggleCompletion("01HQZX3Y9F8G7JTRQWKNXVP123"));
+            precondition = callers.submit(() -> todoService.toggleCompletion(stale.getId(), stale.getVersion() + 5));
+        }
+
+        for (Future<Todo> create : creates) {
+            assertThat(create.get(5, TimeUnit.SECONDS).getId()).isNotNull();
+        }
+        assertThat(toggle.get(5, TimeUnit.SECONDS).isCompleted()).isTrue();
+        assertThatThrownBy(() -> missing.get(5, TimeUnit.SECONDS)).cause().isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> precondition.get(5, TimeUnit.SECONDS)).cause().isInstanceOf(PreconditionFailedException.class);
+
+        assertThat(count("SELECT count(*) FROM todos WHERE title LIKE 'Group _'")).isEqualTo(8);
+        assertThat(count("SELECT count(*) FROM todos WHERE title = 'Group stale' AND NOT completed AND version = 0")).isEqualTo(1);
+        // Events only for the writes that committed: eight creates and one toggle
+        assertThat(count("SELECT count(*) FROM todo_outbox") - outboxBefore).isEqualTo(9);
+        assertThat(batches() - batchesBefore).isEqualTo(1);
+        assertThat(retries() - retriesBefore).isZero();
+    }
+
+    @Test
+    void writeRejectedByTheDatabaseFallsBackToOneTransactionPerWrite() throws Exception {
+        double retriesBefore = retries();
+
+        List<Future<Todo>> creates = new ArrayList<>();
+        Future<Todo> tooLong;
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 3; i++) {
+                Todo todo = new Todo("Fallback " + i, null);
+                creates.add(callers.submit(() -> todoService.create(todo)));
+            }
+            // Accepted by the service but rejected by the column when flushed
+            tooLong = callers.submit(() -> todoService.create(new Todo("x".repeat(300), null)));
+        }
+
+        for (Future<Todo> create : creates) {
+            assertThat(create.get(5, TimeUnit.SECONDS).getId()).isNotNull();
+        }
+        assertThatThrownBy(() -> tooLong.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+        assertThat(count("SELECT count(*) FROM todos WHERE title LIKE 'Fallback _'")).isEqualTo(3);
+        assertThat(count("SELECT count(*) FROM todos WHERE length(title) > 255")).isZero();
+        assertThat(retries() - retriesBefore).isEqualTo(1);
+    }
+
+    @Test
+    void writesOfTheSameTodoInOneBatchEachSeeTheRowTheyWrote() throws Exception {
+        Todo todo = todoService.create(new Todo("Group twice", null));
+        double batchesBefore = batches();
+
+        Future<Todo> firstToggle;
+        Future<Todo> secondToggle;
+        Future<Todo> update;
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            firstToggle = callers.submit(() -> todoService.toggleCompletion(todo.getId()));
+            secondToggle = callers.submit(() -> todoService.toggleCompletion(todo.getId()));
+            // Updates are not grouped by the service, so this one joins the batch through the committer itself
+            update = callers.submit(() -> groupCommitter.execute(
+                    () -> todoService.update(todo.getId(), new Todo("Group twice renamed", null))));
+        }
+
+        List<Todo> written = List.of(firstToggle.get(5, TimeUnit.SECONDS), secondToggle.get(5, TimeUnit.SECONDS),
+                update.get(5, TimeUnit.SECONDS));
+        assertThat(batches() - batchesBefore).isEqualTo(1);
+        assertThat(written).extracting(Todo::getVersion).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(written.subList(0, 2)).extracting(Todo::isCompleted).containsExactlyInAnyOrder(true, false);
+        assertThat(count("SELECT count(*) FROM todos WHERE id = '" + uuid(todo) + "' AND version = 3 AND NOT completed"
+                + " AND title = 'Group twice renamed'")).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT (payload::jsonb ->> 'version')::bigint FROM todo_outbox "
+                + "WHERE aggregate_id = ? AND event_type = 'UPDATED'", Long.class, todo.getId()))
+                .containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(count("SELECT sum(open_count) FROM todo_stats_totals"))
+                .isEqualTo(count("SELECT count(*) FROM todos WHERE NOT completed"));
+        assertThat(count("SELECT sum(completed_count) FROM todo_stats_totals"))
+                .isEqualTo(count("SELECT count(*) FROM todos WHERE completed"));
+    }
+
+    private static UUID uuid(Todo todo) {
+        return Ulid.from(todo.getId()).toUuid();
+    }
+
+    private double retries() {
+        return meterRegistry.get("group.commit.retries").counter().count();
+    }
+
+    private double batches() {
+        return meterRegistry.get("group.commit.batch.size").summary().count();
+    }
+
+    private long count(String sql) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class);
+        return count == null ? 0 : count;
+    }
+}
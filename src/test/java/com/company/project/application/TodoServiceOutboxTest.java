@@ -0,0 +1,107 @@
+package com.company.project.application;
+
+import com.company.project.domain.Todo;
+import com.company.project.domain.TodoBatchOperation;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Outbox events as TodoService records them, checked against a real PostgreSQL.
+ */
+@SpringBootTest(properties = {
+        "app.outbox.todo.relay-enabled=false",
+        "app.stats.todo.reconcile-enabled=false",
+        "app.cache.todo.redis-enabled=false",
+        "spring.kafka.admin.auto-create=false"
+})
+@DirtiesContext
+class TodoServiceOutboxTest {
+
+    // Both servers stop with the JVM
+    private static EmbeddedPostgres postgres;
+    private static MongoServer mongo;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void infrastructure(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        mongo = new MongoServer(new MemoryBackend());
+        InetSocketAddress mongoAddress = mongo.bind();
+
+        registry.add("spring.datasource.url",
+                () -> "jdbc:postgresql://localhost:" + postgres.getPort() + "/postgres?reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.data.mongodb.uri",
+                () -> "mongodb://" + mongoAddress.getHostString() + ":" + mongoAddress.getPort() + "/appdb");
+    }
+
+    @Test
+    void everyEventCarriesTheVersionAfterItsChange() {
+        Todo todo = todoService.create(new Todo("Versioned", null));
+        todoService.update(todo.getId(), new Todo("Versioned again", null));
+        todoService.toggleCompletion(todo.getId());
+        todoService.delete(todo.getId());
+
+        assertThat(events(todo.getId()))
+                .extracting(event -> event.get("type").asText(), event -> event.get("version").asLong())
+                .containsExactly(tuple("CREATED", 0L), tuple("UPDATED", 1L), tuple("UPDATED", 2L), tuple("DELETED", 3L));
+    }
+
+    @Test
+    void batchDeletionsFollowUpdatesEarlierInTheBatch() {
+        Todo updatedThenDeleted = todoService.create(new Todo("Batch updated", null));
+        Todo deleted = todoService.toggleCompletion(todoService.create(new Todo("Batch deleted", null)).getId());
+
+        todoService.executeBatch(List.of(
+                new TodoBatchOperation(TodoBatchOperation.Action.UPDATE, updatedThenDeleted.getId(), new Todo("Batch renamed", null)),
+                new TodoBatchOperation(TodoBatchOperation.Action.DELETE, updatedThenDeleted.getId(), null),
+                new TodoBatchOperation(TodoBatchOperation.Action.DELETE, deleted.getId(), null)));
+
+        assertThat(events(updatedThenDeleted.getId()))
+                .extracting(event -> event.get("type").asText(), event -> event.get("version").asLong())
+                .containsExactly(tuple("CREATED", 0L), tuple("UPDATED", 1L), tuple("DELETED", 2L));
+        assertThat(events(deleted.getId()))
+                .extracting(event -> event.get("type").asText(), event -> event.get("version").asLong())
+                .containsExactly(tuple("CREATED", 0L), tuple("UPDATED", 1L), tuple("DELETED", 2L));
+    }
+
+    private List<JsonNode> events(String todoId) {
+        return jdbcTemplate.queryForList("SELECT payload FROM todo_outbox WHERE aggregate_id = ? ORDER BY id",
+                String.class, todoId).stream().map(this::read).toList();
+    }
+
+    private JsonNode read(String payload) {
+        try {
+            return objectMapper.readTree(payload);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
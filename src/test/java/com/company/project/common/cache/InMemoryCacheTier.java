@@ -0,0 +1,91 @@
+package com.company.project.common.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-memory stand-in for Redis: one instance shared by several caches simulates a cluster
+ */
+class InMemoryCacheTier implements RemoteCacheTier {
+
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+    private final Map<String, List<Consumer<String>>> subscribers = new ConcurrentHashMap<>();
+    private final List<Runnable> held = new CopyOnWriteArrayList<>();
+    private volatile boolean down;
+    private volatile boolean holdMessages;
+
+    void setDown(boolean down) {
+        this.down = down;
+    }
+
+    /**
+     * Holds published messages back until {@link #deliverHeldMessages}, like a slow pub/sub connection.
+     */
+    void holdMessages() {
+        this.holdMessages = true;
+    }
+
+    void deliverHeldMessages() {
+        holdMessages = false;
+        held.forEach(Runnable::run);
+        held.clear();
+    }
+
+    boolean contains(String key) {
+        return values.containsKey(key);
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        checkUp();
+        return Optional.ofNullable(values.get(key));
+    }
+
+    @Override
+    public void set(String key, String value, Duration ttl) {
+        checkUp();
+        values.put(key, value);
+    }
+
+    @Override
+    public void delete(String key) {
+        checkUp();
+        values.remove(key);
+    }
+
+    @Override
+    public long increment(String key) {
+        checkUp();
+        return Long.parseLong(values.merge(key, "1", (current, one) -> Long.toString(Long.parseLong(current) + 1)));
+    }
+
+    @Override
+    public void publish(String channel, String message) {
+        checkUp();
+        if (holdMessages) {
+            held.add(() -> deliver(channel, message));
+            return;
+        }
+        deliver(channel, message);
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        subscribers.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    private void deliver(String channel, String message) {
+        subscribers.getOrDefault(channel, List.of()).forEach(listener -> listener.accept(message));
+    }
+
+    private void checkUp() {
+        if (down) {
+            throw new IllegalStateException("Redis connection refused");
+        }
+    }
+}
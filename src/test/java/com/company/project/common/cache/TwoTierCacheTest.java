@@ -0,0 +1,149 @@
+package com.company.project.common.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TwoTierCacheTest {
+
+    private final InMemoryCacheTier redis = new InMemoryCacheTier();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Map<String, String> source = new ConcurrentHashMap<>();
+
+    @Test
+    void getShouldLoadOnceAndServeFromLocalTier() {
+        TwoTierCache<String> cache = newNode();
+
+        assertThat(cache.get("1", this::load)).contains("value-1");
+        assertThat(cache.get("1", this::load)).contains("value-1");
+
+        assertThat(loads).hasValue(1);
+        assertThat(redis.contains("things:0:1")).isTrue();
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "things").tag("result", "hit").functionCounter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void getShouldServeOtherNodesFromSharedTier() {
+        TwoTierCache<String> nodeA = newNode();
+        TwoTierCache<String> nodeB = newNode();
+
+        nodeA.get("1", this::load);
+        assertThat(nodeB.get("1", this::load)).contains("value-1");
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void evictShouldInvalidateLocalTierOnOtherNodes() {
+        TwoTierCache<String> nodeA = newNode();
+        TwoTierCache<String> nodeB = newNode();
+        nodeA.get("1", this::load);
+        nodeB.get("1", this::load);
+
+        nodeA.evict("1");
+        nodeB.get("1", this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void getShouldFallBackToLocalTierWhenSharedTierIsDown() {
+        TwoTierCache<String> cache = newNode();
+        redis.setDown(true);
+
+        assertThat(cache.get("1", this::load)).contains("value-1");
+        assertThat(cache.get("1", this::load)).contains("value-1");
+
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.remote.requests").tag("result", "error").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void getShouldNotCacheMissingValues() {
+        TwoTierCache<String> cache = newNode();
+
+        assertThat(cache.get("1", key -> { loads.incrementAndGet(); return Optional.empty(); })).isEmpty();
+        assertThat(cache.get("1", this::load)).contains("value-1");
+    }
+
+    @Test
+    void evictionLostDuringAnOutageMovesEveryNodeToANewGeneration() {
+        TwoTierCache<String> nodeA = newNode(Duration.ZERO);
+        TwoTierCache<String> nodeB = newNode(Duration.ZERO);
+        nodeA.get("1", this::load);
+        nodeB.get("1", this::load);
+
+        redis.setDown(true);
+        source.put("1", "updated");
+        nodeA.evict("1");
+        redis.setDown(false);
+
+        assertThat(nodeA.get("1", this::load)).contains("updated");
+        assertThat(nodeB.get("1", this::load)).contains("updated");
+        assertThat(newNode(Duration.ZERO).get("1", this::load)).contains("updated");
+        assertThat(redis.contains("things:1:1")).isTrue();
+    }
+
+    @Test
+    void valueReadWhileItsKeyIsEvictedIsNotCached() {
+        TwoTierCache<String> cache = newNode();
+
+        Optional<String> racing = cache.get("1", key -> {
+            Optional<String> stale = load(key);
+            source.put("1", "updated");
+            cache.evict("1");
+            return stale;
+        });
+
+        assertThat(racing).contains("value-1");
+        assertThat(cache.get("1", this::load)).contains("updated");
+        assertThat(redis.contains("things:0:1")).isTrue();
+        assertThat(newNode().get("1", this::load)).contains("updated");
+    }
+
+    @Test
+    void staleValueWrittenBeforeALateInvalidationIsDeletedWhenItArrives() {
+        TwoTierCache<String> writer = newNode();
+        TwoTierCache<String> reader = newNode();
+        redis.holdMessages();
+
+        reader.get("1", key -> {
+            Optional<String> stale = load(key);
+            source.put("1", "updated");
+            writer.evict("1");
+            return stale;
+        });
+        assertThat(reader.peek("1")).contains("value-1");
+        redis.deliverHeldMessages();
+
+        assertThat(reader.peek("1")).isEmpty();
+        assertThat(newNode().get("1", this::load)).contains("updated");
+    }
+
+    private Optional<String> load(String key) {
+        loads.incrementAndGet();
+        return Optional.of(source.getOrDefault(key, "value-" + key));
+    }
+
+    private TwoTierCache<String> newNode() {
+        return newNode(Duration.ofSeconds(30));
+    }
+
+    private TwoTierCache<String> newNode(Duration remoteBackoff) {
+        return new TwoTierCache<>("things",
+                Caffeine.newBuilder().maximumSize(100).recordStats().build(),
+                redis, Function.identity(), Function.identity(),
+                Duration.ofMinutes(1), remoteBackoff, meterRegistry);
+    }
+}
@@ -0,0 +1,64 @@
+package com.company.project.common.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradientConcurrencyLimiterTest {
+
+    private static final long FAST = 10_000_000L;
+    private static final long SLOW = 100_000_000L;
+
+    private final GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter("adaptive", 20, 4, 200, 1.5, 0.2, 600);
+
+    @Test
+    void callsBeyondTheLimitAreRejected() {
+        assertThat(IntStream.range(0, 20).allMatch(i -> limiter.tryAcquire())).isTrue();
+
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(20);
+        assertThat(limiter.getRejectedCount()).isEqualTo(1);
+
+        limiter.release(0);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void limitGrowsWhileBusyAndFastThenShrinksWhenCallsSlowDown() {
+        runBusy(FAST, 50);
+        int grown = limiter.getLimit();
+        assertThat(grown).isGreaterThan(20);
+
+        runBusy(SLOW, 50);
+
+        assertThat(limiter.getLimit()).isLessThan(grown / 2);
+        assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    void limitStaysPutWhileMostlyIdle() {
+        IntStream.range(0, 100).forEach(i -> {
+            limiter.tryAcquire();
+            limiter.release(FAST);
+        });
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    /**
+     * Keeps the limiter full and completes one call per round with the given latency.
+     */
+    private void runBusy(long rttNanos, int rounds) {
+        for (int i = 0; i < rounds; i++) {
+            while (limiter.tryAcquire()) {
+                // fill up to the current limit
+            }
+            limiter.release(rttNanos);
+        }
+        while (limiter.getInFlight() > 0) {
+            limiter.release(0);
+        }
+    }
+}
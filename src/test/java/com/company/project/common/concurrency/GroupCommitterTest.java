@@ -0,0 +1,222 @@
+package com.company.project.common.concurrency;
+
+import com.company.project.common.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GroupCommitterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger transactionCount = new AtomicInteger();
+    private final List<String> committed = new CopyOnWriteArrayList<>();
+    private final FakeTransactions transactions = new FakeTransactions();
+    private GroupCommitter committer;
+
+    @AfterEach
+    void shutDown() throws InterruptedException {
+        if (committer != null) {
+            committer.close();
+        }
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentWritesShareOneTransaction() throws Exception {
+        committer = new GroupCommitter("todos", transactions, transactions.savepoints, 5, Duration.ofSeconds(5), 100, registry);
+
+        List<Future<String>> results = IntStream.range(0, 5)
+                .mapToObj(i -> executor.submit(() -> committer.execute(() -> write("todo-" + i))))
+                .toList();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(results.get(i).get(5, TimeUnit.SECONDS)).isEqualTo("todo-" + i);
+        }
+        assertThat(transactionCount.get()).isEqualTo(1);
+        assertThat(committed).hasSize(5);
+        assertThat(registry.get("group.commit.batch.size").summary().max()).isEqualTo(5);
+        assertThat(registry.get("group.commit.queue.wait").timer().count()).isEqualTo(5);
+    }
+
+    @Test
+    void failingWriteOnlyFailsItsOwnCaller() throws Exception {
+        committer = new GroupCommitter("todos", transactions, transactions.savepoints, 3, Duration.ofSeconds(5), 100, registry);
+
+        Future<String> first = executor.submit(() -> committer.execute(() -> write("first")));
+        Future<String> failing = executor.submit(() -> committer.execute(() -> {
+            throw new IllegalArgumentException("Todo not found");
+        }));
+        Future<String> third = executor.submit(() -> committer.execute(() -> write("third")));
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(third.get(5, TimeUnit.SECONDS)).isEqualTo("third");
+        assertThatThrownBy(() -> failing.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalArgumentException.class)
+                .hasRootCauseMessage("Todo not found");
+        // Only the failing write's savepoint rolled back
+        assertThat(transactionCount.get()).isEqualTo(1);
+        assertThat(committed).containsExactlyInAnyOrder("first", "third");
+        assertThat(registry.get("group.commit.retries").counter().count()).isZero();
+    }
+
+    @Test
+    void failedCommitRunsTheWritesAgainOnePerTransaction() throws Exception {
+        committer = new GroupCommitter("todos", transactions, transactions.savepoints, 2, Duration.ofSeconds(5), 100, registry);
+        transactions.failNextCommit = true;
+
+        Future<String> first = executor.submit(() -> committer.execute(() -> write("first")));
+        Future<String> second = executor.submit(() -> committer.execute(() -> write("second")));
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+        assertThat(transactionCount.get()).isEqualTo(3);
+        assertThat(committed).containsExactlyInAnyOrder("first", "second");
+        assertThat(registry.get("group.commit.retries").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void writesBeyondTheQueueCapacityAreTurnedAway() throws Exception {
+        committer = new GroupCommitter("todos", transactions, transactions.savepoints, 1, Duration.ZERO, 1, registry);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        Future<String> blocking = executor.submit(() -> committer.execute(() -> {
+            started.countDown();
+            await(release);
+            return write("blocking");
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        Future<String> queued = executor.submit(() -> committer.execute(() -> write("queued")));
+        awaitQueued(1);
+
+        assertThatThrownBy(() -> committer.execute(() -> write("rejected")))
+                .isInstanceOf(ServiceOverloadedException.class);
+
+        release.countDown();
+        assertThat(blocking.get(5, TimeUnit.SECONDS)).isEqualTo("blocking");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("queued");
+        assertThat(committed).containsExactly("blocking", "queued");
+    }
+
+    @Test
+    void closeCommitsWhatIsStillQueued() throws Exception {
+        committer = new GroupCommitter("todos", transactions, transactions.savepoints, 10, Duration.ofMillis(200), 100, registry);
+        CountDownLatch submitting = new CountDownLatch(1);
+        Future<String> pending = executor.submit(() -> {
+            submitting.countDown();
+            return committer.execute(() -> write("pending"));
+        });
+        submitting.await(5, TimeUnit.SECONDS);
+        // The committer holds the write for up to 200ms waiting for more
+        Thread.sleep(50);
+
+        committer.close();
+
+        assertThat(pending.get(5, TimeUnit.SECONDS)).isEqualTo("pending");
+        assertThat(committed).containsExactly("pending");
+        assertThatThrownBy(() -> committer.execute(() -> write("late"))).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void disabledCommitterRunsWritesInTheCallersThread() {
+        committer = GroupCommitter.disabled("todos");
+        Thread caller = Thread.currentThread();
+
+        String result = committer.execute(() -> Thread.currentThread() == caller ? "inline" : "elsewhere");
+
+        assertThat(result).isEqualTo("inline");
+        assertThat(committer.isEnabled()).isFalse();
+    }
+
+    /**
+     * Records the value once its transaction commits, like a row would be.
+     */
+    private String write(String value) {
+        transactions.current.get().add(value);
+        return value;
+    }
+
+    private void awaitQueued(int expected) throws InterruptedException {
+        awaitCount(() -> (int) registry.get("group.commit.queue.size").gauge().value(), expected);
+    }
+
+    private static void awaitCount(IntSupplier count, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count.getAsInt() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(count.getAsInt()).isGreaterThanOrEqualTo(expected);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private final class FakeTransactions implements TransactionOperations {
+
+        private final ThreadLocal<List<String>> current = new ThreadLocal<>();
+        private final TransactionOperations savepoints = new FakeSavepoints();
+        private volatile boolean failNextCommit;
+
+        @Override
+        public <T> T execute(TransactionCallback<T> action) {
+            transactionCount.incrementAndGet();
+            List<String> writes = new CopyOnWriteArrayList<>();
+            current.set(writes);
+            try {
+                TransactionStatus status = new SimpleTransactionStatus();
+                T result = action.doInTransaction(status);
+                if (failNextCommit) {
+                    failNextCommit = false;
+                    throw new IllegalStateException("Commit failed");
+                }
+                committed.addAll(writes);
+                return result;
+            } finally {
+                current.remove();
+            }
+        }
+
+        /**
+         * Drops what a callback wrote when it throws, like a rollback to its savepoint.
+         */
+        private final class FakeSavepoints implements TransactionOperations {
+
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                List<String> writes = current.get();
+                int savepoint = writes.size();
+                try {
+                    return action.doInTransaction(new SimpleTransactionStatus(false));
+                } catch (RuntimeException ex) {
+                    writes.subList(savepoint, writes.size()).clear();
+                    throw ex;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.company.project.common.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SingleFlight<String> flight = new SingleFlight<>("todos", registry);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @AfterEach
+    void shutDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallsWithTheSameKeyShareOneCall() throws Exception {
+        List<Future<String>> results = IntStream.range(0, 10)
+                .mapToObj(i -> executor.submit(() -> flight.execute("a", blockingCall(() -> "row"))))
+                .toList();
+        awaitCoalesced(9);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("row");
+        }
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(count("leader")).isEqualTo(1);
+        assertThat(count("coalesced")).isEqualTo(9);
+    }
+
+    @Test
+    void failureReachesEveryWaitingCaller() throws Exception {
+        Future<String> leader = executor.submit(() -> flight.execute("a", blockingCall(() -> {
+            throw new IllegalStateException("database down");
+        })));
+        awaitLeader();
+        Future<String> follower = executor.submit(() -> flight.execute("a", () -> "never runs"));
+        awaitCoalesced(1);
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void completedCallsAreNotReused() {
+        release.countDown();
+
+        flight.execute("a", blockingCall(() -> "first"));
+        String second = flight.execute("a", blockingCall(() -> "second"));
+
+        assertThat(second).isEqualTo("second");
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(count("coalesced")).isZero();
+    }
+
+    @Test
+    void callersAfterForgetAllStartAFreshCall() throws Exception {
+        Future<String> before = executor.submit(() -> flight.execute("a", blockingCall(() -> "before write")));
+        awaitLeader();
+
+        flight.forgetAll();
+        Future<String> after = executor.submit(() -> flight.execute("a", blockingCall(() -> "after write")));
+        release.countDown();
+
+        assertThat(before.get(5, TimeUnit.SECONDS)).isEqualTo("before write");
+        assertThat(after.get(5, TimeUnit.SECONDS)).isEqualTo("after write");
+        assertThat(count("leader")).isEqualTo(2);
+    }
+
+    @Test
+    void forgetOnlyRestartsTheMatchingCalls() throws Exception {
+        Future<String> forgotten = executor.submit(() -> flight.execute("a", blockingCall(() -> "a before write")));
+        Future<String> kept = executor.submit(() -> flight.execute("b", blockingCall(() -> "b")));
+        awaitCount("leader", 2);
+
+        flight.forget("a"::equals);
+        Future<String> fresh = executor.submit(() -> flight.execute("a", blockingCall(() -> "a after write")));
+        Future<String> joined = executor.submit(() -> flight.execute("b", () -> "never runs"));
+        awaitCount("leader", 3);
+        awaitCoalesced(1);
+        release.countDown();
+
+        assertThat(forgotten.get(5, TimeUnit.SECONDS)).isEqualTo("a before write");
+        assertThat(fresh.get(5, TimeUnit.SECONDS)).isEqualTo("a after write");
+        assertThat(kept.get(5, TimeUnit.SECONDS)).isEqualTo("b");
+        assertThat(joined.get(5, TimeUnit.SECONDS)).isEqualTo("b");
+    }
+
+    private <V> Supplier<V> blockingCall(Supplier<V> result) {
+        return () -> {
+            calls.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return result.get();
+        };
+    }
+
+    private void awaitLeader() throws InterruptedException {
+        awaitCount("leader", 1);
+    }
+
+    private void awaitCoalesced(int expected) throws InterruptedException {
+        awaitCount("coalesced", expected);
+    }
+
+    private void awaitCount(String result, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count(result) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(count(result)).isEqualTo(expected);
+    }
+
+    private double count(String result) {
+        return registry.get("singleflight.calls").tags("name", "todos", "result", result).counter().count();
+    }
+}
@@ -0,0 +1,120 @@
+package com.company.project.common.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InMemoryQuotaStore quotaStore = new InMemoryQuotaStore();
+
+    @Test
+    void burstIsAllowedThenRejectedUntilRefilled() {
+        RateLimiter limiter = localLimiter();
+
+        assertThat(IntStream.range(0, 5).mapToObj(i -> limiter.tryAcquire("ip:10.0.0.1")))
+                .allMatch(RateLimiter.Decision::allowed);
+        RateLimiter.Decision rejected = limiter.tryAcquire("ip:10.0.0.1");
+
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.retryAfter()).isEqualTo(Duration.ofMillis(500));
+        assertThat(limiter.tryAcquire("ip:10.0.0.2").allowed()).isTrue();
+
+        advance(Duration.ofMillis(500));
+        assertThat(limiter.tryAcquire("ip:10.0.0.1").allowed()).isTrue();
+        assertThat(meterRegistry.get("rate.limit.requests").tag("result", "rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void idleClientsAreEvicted() {
+        RateLimiter limiter = localLimiter();
+        limiter.tryAcquire("ip:10.0.0.1");
+
+        advance(Duration.ofMinutes(11));
+        limiter.tryAcquire("ip:10.0.0.2");
+
+        assertThat(meterRegistry.get("rate.limit.clients").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void nodesShareQuotaLeasedInBlocks() {
+        RateLimiter nodeA = sharedLimiter();
+        RateLimiter nodeB = sharedLimiter();
+
+        // 2 permits per second over a 10s window is a quota of 20, leased 8 at a time
+        assertThat(IntStream.range(0, 5).mapToObj(i -> nodeA.tryAcquire("sub:alice"))).allMatch(RateLimiter.Decision::allowed);
+        assertThat(IntStream.range(0, 5).mapToObj(i -> nodeB.tryAcquire("sub:alice"))).allMatch(RateLimiter.Decision::allowed);
+        assertThat(quotaStore.leases).hasValue(2);
+
+        advance(Duration.ofSeconds(5));
+        long allowed = IntStream.range(0, 10).filter(i -> nodeA.tryAcquire("sub:alice").allowed()).count();
+
+        // 3 left from the first lease, then the last 4 of the quota
+        assertThat(allowed).isEqualTo(7);
+        assertThat(quotaStore.leases).hasValue(4);
+        RateLimiter.Decision exhausted = nodeA.tryAcquire("sub:alice");
+        assertThat(exhausted.allowed()).isFalse();
+        assertThat(exhausted.retryAfter()).isEqualTo(Duration.ofSeconds(5));
+        assertThat(quotaStore.leases).hasValue(4);
+    }
+
+    @Test
+    void failingQuotaStoreFallsBackToLocalBuckets() {
+        RateLimiter limiter = sharedLimiter();
+        quotaStore.down = true;
+
+        assertThat(IntStream.range(0, 10).mapToObj(i -> limiter.tryAcquire("sub:alice")))
+                .allMatch(RateLimiter.Decision::allowed);
+        assertThat(limiter.tryAcquire("sub:alice").allowed()).isFalse();
+        assertThat(quotaStore.leases).hasValue(0);
+    }
+
+    private RateLimiter localLimiter() {
+        return new RateLimiter("api-writes", 5, 2, Duration.ofMinutes(10), 1000, null, ticker, meterRegistry);
+    }
+
+    private RateLimiter sharedLimiter() {
+        return new RateLimiter("api-writes", 10, 2, Duration.ofMinutes(10), 1000,
+                new RateLimiter.SharedQuota(quotaStore, Duration.ofSeconds(10), 8, Duration.ofSeconds(30)),
+                ticker, new SimpleMeterRegistry());
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    /**
+     * Fixed windows on the test ticker, the way the Redis script keeps them.
+     */
+    private class InMemoryQuotaStore implements QuotaStore {
+
+        private final Map<String, long[]> windows = new HashMap<>();
+        private final AtomicInteger leases = new AtomicInteger();
+        private boolean down;
+
+        @Override
+        public Lease lease(String key, long requested, long limit, Duration window) {
+            if (down) {
+                throw new IllegalStateException("Connection refused");
+            }
+            leases.incrementAndGet();
+            long[] state = windows.compute(key, (k, current) ->
+                    current == null || nanos.get() >= current[1] ? new long[]{0, nanos.get() + window.toNanos()} : current);
+            long granted = Math.max(0, Math.min(requested, limit - state[0]));
+            state[0] += requested;
+            return new Lease(granted, Duration.ofNanos(state[1] - nanos.get()));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.company.project.infrastructure;
+
+import com.company.project.common.concurrency.ConcurrencyLimiter;
+import com.company.project.common.concurrency.FixedConcurrencyLimiter;
+import com.company.project.common.controller.Bulkhead;
+import com.company.project.common.exception.ServiceOverloadedException;
+import com.company.project.presentation.HealthController;
+import com.company.project.presentation.TodoController;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class ConcurrencyLimitInterceptorTest {
+
+    private final ConcurrencyLimiter adaptive = new FixedConcurrencyLimiter("adaptive", 2);
+    private final ConcurrencyLimiter reads = new FixedConcurrencyLimiter("reads", 10);
+    private final ConcurrencyLimiter bulk = new FixedConcurrencyLimiter("bulk", 1);
+    private final ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(adaptive,
+            Map.of("reads", reads, "bulk", bulk));
+    private final TodoController controller = mock(TodoController.class);
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void pointReadsTakeBulkheadAndAdaptivePermitsUntilCompletion() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/sql/todo/01HQZX3Y9F8G7JTRQWKNXVP123");
+        HandlerMethod handler = handler(controller, "getTodoById");
+
+        interceptor.preHandle(request, response, handler);
+        assertThat(reads.getInFlight()).isEqualTo(1);
+        assertThat(adaptive.getInFlight()).isEqualTo(1);
+
+        interceptor.afterCompletion(request, response, handler, null);
+        assertThat(reads.getInFlight()).isZero();
+        assertThat(adaptive.getInFlight()).isZero();
+    }
+
+    @Test
+    void fullAdaptiveLimitShedsAndReturnsTheBulkheadPermit() throws Exception {
+        HandlerMethod handler = handler(controller, "getTodoById");
+        interceptor.preHandle(new MockHttpServletRequest("GET", "/a"), response, handler);
+        interceptor.preHandle(new MockHttpServletRequest("GET", "/b"), response, handler);
+
+        assertThatThrownBy(() -> interceptor.preHandle(new MockHttpServletRequest("GET", "/c"), response, handler))
+                .isInstanceOf(ServiceOverloadedException.class)
+                .hasMessageContaining("adaptive");
+        assertThat(reads.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void namedBulkheadBoundsExpensiveHandlersWithoutAdaptivePermits() throws Exception {
+        HandlerMethod handler = handler(controller, "getAllTodos");
+        assertThat(handler.hasMethodAnnotation(Bulkhead.class)).isTrue();
+        interceptor.preHandle(new MockHttpServletRequest("GET", "/a"), response, handler);
+
+        assertThatThrownBy(() -> interceptor.preHandle(new MockHttpServletRequest("GET", "/b"), response, handler))
+                .isInstanceOf(ServiceOverloadedException.class)
+                .hasMessageContaining("bulk");
+        assertThat(adaptive.getInFlight()).isZero();
+        assertThat(interceptor.preHandle(new MockHttpServletRequest("GET", "/c"), response,
+                handler(controller, "getTodoById"))).isTrue();
+    }
+
+    @Test
+    void writesWithoutConfiguredBulkheadOnlyTakeAdaptivePermits() throws Exception {
+        interceptor.preHandle(new MockHttpServletRequest("DELETE", "/a"), response, handler(controller, "deleteTodo"));
+
+        assertThat(adaptive.getInFlight()).isEqualTo(1);
+        assertThat(reads.getInFlight()).isZero();
+    }
+
+    @Test
+    void otherHandlersAreNeverLimited() throws Exception {
+        HandlerMethod health = handler(mock(HealthController.class), "health");
+        for (int i = 0; i < 5; i++) {
+            assertThat(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/health"), response, health)).isTrue();
+        }
+        assertThat(adaptive.getInFlight()).isZero();
+    }
+
+    private static HandlerMethod handler(Object bean, String methodName) {
+        return new HandlerMethod(bean, Arrays.stream(bean.getClass().getMethods())
+                .filter(method -> method.getName().equals(methodName))
+                .findFirst()
+                .orElseThrow());
+    }
+}
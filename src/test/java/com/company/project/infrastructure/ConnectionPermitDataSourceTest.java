@@ -0,0 +1,74 @@
+package com.company.project.infrastructure;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ConnectionPermitDataSourceTest {
+
+    private final DataSource target = mock(DataSource.class);
+    private final ConnectionPermitDataSource dataSource =
+            new ConnectionPermitDataSource(target, 1, Duration.ofMillis(50));
+
+    @Test
+    void closingConnectionReturnsPermitOnce() throws SQLException {
+        Connection pooled = mock(Connection.class);
+        given(target.getConnection()).willReturn(pooled);
+
+        Connection connection = dataSource.getConnection();
+        assertThat(dataSource.availablePermits()).isZero();
+
+        connection.close();
+        connection.close();
+
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+        verify(pooled, times(2)).close();
+    }
+
+    @Test
+    void waitsForPermitThenTimesOut() throws SQLException {
+        given(target.getConnection()).willReturn(mock(Connection.class));
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+    }
+
+    @Test
+    void failedCheckoutReturnsPermit() throws SQLException {
+        given(target.getConnection()).willThrow(new SQLException("pool exhausted"));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool exhausted");
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void forPoolUsesHikariDefaultSizeBeforePoolStarts() {
+        try (HikariDataSource hikari = new HikariDataSource()) {
+            assertThat(ConnectionPermitDataSource.forPool(hikari))
+                    .isInstanceOfSatisfying(ConnectionPermitDataSource.class,
+                            guarded -> assertThat(guarded.availablePermits()).isEqualTo(10));
+        }
+    }
+
+    @Test
+    void forPoolSizesPermitsFromConfiguredPool() {
+        try (HikariDataSource hikari = new HikariDataSource()) {
+            hikari.setMaximumPoolSize(4);
+            assertThat(ConnectionPermitDataSource.forPool(hikari))
+                    .isInstanceOfSatisfying(ConnectionPermitDataSource.class,
+                            guarded -> assertThat(guarded.availablePermits()).isEqualTo(4));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.company.project.infrastructure;
+
+import jdk.jfr.EventType;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FlightRecordingsTest {
+
+    @TempDir
+    private Path directory;
+
+    private FlightRecordings recordings;
+
+    @AfterEach
+    void tearDown() {
+        recordings.destroy();
+    }
+
+    @Test
+    void stoppedRecordingIsSummarizedWithApplicationEvents() {
+        recordings = new FlightRecordings(properties(5));
+        FlightRecordings.RecordingInfo started = recordings.start(Duration.ofMinutes(1));
+
+        for (int i = 0; i < 3; i++) {
+            ServiceOperationEvent event = new ServiceOperationEvent();
+            event.begin();
+            burnCpu(Duration.ofMillis(400));
+            event.component = "todoService";
+            event.operation = "findById";
+            event.outcome = "SUCCESS";
+            event.exception = "none";
+            event.commit();
+        }
+        assertThat(recordings.summarize(started.id(), 10)).as("summary while running").isEmpty();
+        recordings.stop(started.id());
+
+        assertThat(recordings.file(started.id())).hasValueSatisfying(file -> assertThat(file).isRegularFile());
+        FlightRecordingSummary summary = recordings.summarize(started.id(), 10).orElseThrow();
+        assertThat(summary.serviceOperations()).singleElement().satisfies(operation -> {
+            assertThat(operation.operation()).isEqualTo("todoService.findById SUCCESS");
+            assertThat(operation.count()).isEqualTo(3);
+            assertThat(operation.averageMs()).isGreaterThanOrEqualTo(400);
+        });
+        assertThat(summary.executionSamples()).isPositive();
+        assertThat(summary.hotMethods()).isNotEmpty();
+    }
+
+    @Test
+    void onlyOneRecordingRunsAtATimeAndDurationIsCapped() {
+        recordings = new FlightRecordings(properties(5));
+        FlightRecordings.RecordingInfo started = recordings.start(Duration.ofHours(1));
+
+        assertThat(started.duration()).isEqualTo(Duration.ofMinutes(5));
+        assertThat(started.state()).isEqualTo("RUNNING");
+        assertThatThrownBy(() -> recordings.start(null)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void oldestRecordingsAreDiscarded() {
+        recordings = new FlightRecordings(properties(1));
+        FlightRecordings.RecordingInfo first = recordings.start(null);
+        recordings.stop(first.id());
+        Path firstFile = recordings.file(first.id()).orElseThrow();
+
+        FlightRecordings.RecordingInfo second = recordings.start(null);
+        recordings.stop(second.id());
+
+        assertThat(recordings.list()).extracting(FlightRecordings.RecordingInfo::id).containsExactly(second.id());
+        assertThat(Files.exists(firstFile)).isFalse();
+    }
+
+    @Test
+    void recordingsLeaveOutEnvironmentAndSystemProperties() throws IOException {
+        recordings = new FlightRecordings(properties(5));
+        FlightRecordings.RecordingInfo started = recordings.start(null);
+        recordings.stop(started.id());
+
+        List<String> eventTypes = RecordingFile.readAllEvents(recordings.file(started.id()).orElseThrow()).stream()
+                .map(RecordedEvent::getEventType)
+                .map(EventType::getName)
+                .distinct()
+                .toList();
+
+        assertThat(eventTypes).contains("jdk.CPUInformation").doesNotContainAnyElementsOf(FlightRecordings.SENSITIVE_EVENTS);
+    }
+
+    private ProfilingProperties properties(int retained) {
+        return new ProfilingProperties(directory, "default", Duration.ofSeconds(30), Duration.ofMinutes(5), retained);
+    }
+
+    private static void burnCpu(Duration duration) {
+        CRC32 checksum = new CRC32();
+        long end = System.nanoTime() + duration.toNanos();
+        while (System.nanoTime() < end) {
+            checksum.update(new byte[256]);
+        }
+    }
+}
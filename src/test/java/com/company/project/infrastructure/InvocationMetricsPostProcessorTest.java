@@ -0,0 +1,94 @@
+package com.company.project.infrastructure;
+
+import com.company.project.common.exception.ResourceNotFoundException;
+import com.company.project.domain.Todo;
+import com.company.project.domain.TodoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class InvocationMetricsPostProcessorTest {
+
+    private final MockClock clock = new MockClock();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+    private final InvocationMetricsPostProcessor postProcessor = new InvocationMetricsPostProcessor(meterRegistryProvider());
+
+    @Test
+    void successfulCallsAreTimedPerComponentAndOperation() {
+        TodoRepository target = mock(TodoRepository.class);
+        given(target.findById("01HQZX3Y9F8G7JTRQWKNXVP123")).willAnswer(invocation -> {
+            clock.add(Duration.ofMillis(3));
+            return Optional.empty();
+        });
+        TodoRepository repository = (TodoRepository) postProcessor.postProcessAfterInitialization(target, "todoRepositoryImpl");
+
+        repository.findById("01HQZX3Y9F8G7JTRQWKNXVP123");
+        repository.findById("01HQZX3Y9F8G7JTRQWKNXVP123");
+
+        Timer timer = registry.get(InvocationMetricsPostProcessor.REPOSITORY_METER)
+                .tags("component", "todoRepositoryImpl", "operation", "findById", "outcome", "SUCCESS", "exception", "none")
+                .timer();
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(6);
+    }
+
+    @Test
+    void failedCallsAreTimedWithExceptionAndRethrown() {
+        TodoRepository target = mock(TodoRepository.class);
+        given(target.save(null)).willThrow(new ResourceNotFoundException("Todo", "id", "x"));
+        TodoRepository repository = (TodoRepository) postProcessor.postProcessAfterInitialization(target, "todoRepositoryImpl");
+
+        assertThatThrownBy(() -> repository.save(null)).isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(registry.get(InvocationMetricsPostProcessor.REPOSITORY_METER)
+                .tags("operation", "save", "outcome", "ERROR", "exception", "ResourceNotFoundException")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void existingProxyGetsTimerAsOutermostAdvice() {
+        TodoRepository target = mock(TodoRepository.class);
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+            clock.add(Duration.ofMillis(5));
+            return invocation.proceed();
+        });
+        Object proxy = proxyFactory.getProxy();
+
+        Object processed = postProcessor.postProcessAfterInitialization(proxy, "todoRepositoryImpl");
+        ((TodoRepository) processed).existsById("01HQZX3Y9F8G7JTRQWKNXVP123");
+
+        assertThat(processed).isSameAs(proxy);
+        assertThat(registry.get(InvocationMetricsPostProcessor.REPOSITORY_METER).tag("operation", "existsById")
+                .timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(5);
+    }
+
+    @Test
+    void otherBeansAreLeftAlone() {
+        Todo bean = new Todo("Title", "Description");
+
+        assertThat(postProcessor.postProcessAfterInitialization(bean, "todo")).isSameAs(bean);
+    }
+
+    private ObjectProvider<MeterRegistry> meterRegistryProvider() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", registry);
+        return beanFactory.getBeanProvider(MeterRegistry.class);
+    }
+}
@@ -0,0 +1,126 @@
+package com.company.project.infrastructure;
+
+import com.company.project.domain.Todo;
+import com.company.project.domain.TodoStats;
+import com.company.project.domain.TodoStatsDelta;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against an embedded PostgreSQL migrated by Flyway, as reconcile compares the rollups with the todos table.
+ */
+class JdbcTodoStatsRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    private static EmbeddedPostgres postgres;
+    private static DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactions;
+    private JdbcTodoStatsRepository repository;
+
+    @BeforeAll
+    static void startPostgres() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        dataSource = postgres.getPostgresDatabase();
+        // The V10 CONCURRENTLY indexes would otherwise wait forever on the transaction holding the migration lock
+        Flyway.configure().dataSource(dataSource)
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load().migrate();
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("TRUNCATE todos, todo_stats_daily, todo_stats_totals");
+        transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        repository = new JdbcTodoStatsRepository(jdbcTemplate);
+    }
+
+    @Test
+    void reconcileShouldAddTheDriftToTheRollups() {
+        insertTodo(DAY.atTime(9, 0), false);
+        insertTodo(DAY.atTime(23, 30), true);
+        insertTodo(DAY.plusDays(1).atStartOfDay(), false);
+        // Drifted: a day counted twice, a day missing, and totals off in both directions
+        repository.apply(new TodoStatsDelta().created(todo(DAY.atTime(9, 0))).created(todo(DAY.atTime(10, 0))));
+        jdbcTemplate.update("INSERT INTO todo_stats_daily VALUES (?, 3, 4, 0)", DAY.minusDays(1));
+
+        assertThat(repository.reconcile()).isEqualTo(4);
+
+        TodoStats stats = repository.find(DAY.minusDays(1), DAY.plusDays(2));
+        assertThat(stats.open()).isEqualTo(2);
+        assertThat(stats.completed()).isEqualTo(1);
+        assertThat(stats.days()).containsExactly(
+                new TodoStats.Day(DAY.minusDays(1), 0, 0),
+                new TodoStats.Day(DAY, 2, 1),
+                new TodoStats.Day(DAY.plusDays(1), 1, 0));
+        assertThat(repository.reconcile()).isZero();
+    }
+
+    @Test
+    void writesAreNotBlockedWhileReconcileCorrectsDrift() throws Exception {
+        insertTodo(DAY.atTime(9, 0), false);
+        insertTodo(DAY.plusDays(1).atTime(9, 0), false);
+        repository.apply(new TodoStatsDelta().created(todo(DAY.atTime(9, 0))).created(todo(DAY.atTime(10, 0))));
+
+        try (ExecutorService writer = Executors.newSingleThreadExecutor()) {
+            transactions.executeWithoutResult(status -> {
+                assertThat(repository.reconcile()).isEqualTo(2);
+                // The reconciling transaction is still open; a write elsewhere goes through all the same
+                Future<?> write = writer.submit(() -> transactions.executeWithoutResult(writing -> {
+                    LocalDateTime createdAt = LocalDateTime.now();
+                    insertTodo(createdAt, false);
+                    repository.apply(new TodoStatsDelta().created(todo(createdAt)));
+                }));
+                try {
+                    write.get(5, TimeUnit.SECONDS);
+                } catch (Exception ex) {
+                    throw new AssertionError("Write blocked by reconcile", ex);
+                }
+            });
+        }
+
+        TodoStats stats = repository.find(DAY, LocalDate.now().plusDays(1));
+        assertThat(stats.open()).isEqualTo(3);
+        assertThat(stats.days()).startsWith(new TodoStats.Day(DAY, 1, 0), new TodoStats.Day(DAY.plusDays(1), 1, 0));
+        assertThat(repository.reconcile()).isZero();
+    }
+
+    private void insertTodo(LocalDateTime createdAt, boolean completed) {
+        jdbcTemplate.update("INSERT INTO todos (id, title, completed, created_at, updated_at, version) "
+                + "VALUES (?, 'Todo', ?, ?, ?, 0)", UUID.randomUUID(), completed,
+                Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt));
+    }
+
+    private static Todo todo(LocalDateTime createdAt) {
+        return new Todo("1", "Todo", null, false, createdAt, createdAt, 0L);
+    }
+}
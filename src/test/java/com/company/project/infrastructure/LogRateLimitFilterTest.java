@@ -0,0 +1,66 @@
+package com.company.project.infrastructure;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogRateLimitFilterTest {
+
+    private static final String LIMITED = "com.company.project.application.TodoService";
+
+    private final LoggerContext context = new LoggerContext();
+    private final LogRateLimitFilter filter = new LogRateLimitFilter();
+    private final Logger limited = context.getLogger(LIMITED);
+
+    @BeforeEach
+    void setUp() {
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.DEBUG);
+        filter.addLogger(LIMITED);
+        filter.setPermitsPerSecond(10);
+        filter.start();
+    }
+
+    @Test
+    void eventsBeyondOneSecondBurstAreSuppressedAndCounted() {
+        long passed = IntStream.range(0, 25)
+                .mapToObj(i -> decide(limited, Level.INFO))
+                .filter(reply -> reply == FilterReply.NEUTRAL)
+                .count();
+
+        assertThat(passed).isEqualTo(10);
+        assertThat(filter.getSuppressedCounts()).containsEntry(LIMITED, 15L);
+    }
+
+    @Test
+    void warningsAndOtherLoggersAreNeverLimited() {
+        IntStream.range(0, 20).forEach(i -> decide(limited, Level.INFO));
+
+        assertThat(decide(limited, Level.WARN)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(limited, Level.ERROR)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(context.getLogger("com.company.project.Application"), Level.INFO))
+                .isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void disabledLevelsAndEnabledChecksDoNotSpendPermits() {
+        limited.setLevel(Level.INFO);
+        IntStream.range(0, 20).forEach(i -> {
+            decide(limited, Level.DEBUG);
+            filter.decide(null, limited, Level.INFO, null, null, null);
+        });
+
+        assertThat(decide(limited, Level.INFO)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.getSuppressedCounts()).containsEntry(LIMITED, 0L);
+    }
+
+    private FilterReply decide(Logger logger, Level level) {
+        return filter.decide(null, logger, level, "Created todo with id: {}", new Object[]{"01HQZX3Y9F8G7JTRQWKNXVP123"}, null);
+    }
+}
@@ -0,0 +1,147 @@
+package com.company.project.infrastructure;
+
+import com.company.project.domain.Todo;
+import com.company.project.domain.TodoQuery;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs against an in-process server speaking the Mongo wire protocol. It does not implement update pipelines,
+ * so toggleCompletion is left to tests against a real mongod.
+ */
+class MongoTodoRepositoryTest {
+
+    private static MongoServer server;
+    private static MongoClient client;
+
+    private MongoTemplate mongoTemplate;
+    private MongoTodoRepository repository;
+
+    @BeforeAll
+    static void startMongo() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        client.close();
+        server.shutdown();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = new MongoTemplate(client, "todos-test");
+        mongoTemplate.dropCollection(TodoDocument.class);
+        repository = new MongoTodoRepository(mongoTemplate);
+        repository.ensureIndexes();
+    }
+
+    @Test
+    void ensureIndexesShouldIndexEverySortKeyWithAndWithoutCompleted() {
+        List<List<String>> indexed = mongoTemplate.getCollection("todos").listIndexes().into(new ArrayList<>()).stream()
+                .map(index -> List.copyOf(index.get("key", Document.class).keySet()))
+                .toList();
+
+        assertThat(indexed).contains(
+                List.of("createdAt", "_id"),
+                List.of("completed", "createdAt", "_id"),
+                List.of("updatedAt", "_id"),
+                List.of("completed", "updatedAt", "_id"));
+    }
+
+    @Test
+    void saveShouldAssignUlidAndFindByIdShouldReadItBack() {
+        Todo saved = repository.save(new Todo("Title", "Description"));
+
+        assertThat(saved.getId()).hasSize(26);
+        assertThat(repository.findById(saved.getId())).get()
+                .usingRecursiveComparison()
+                .isEqualTo(saved);
+        assertThat(repository.findVersionById(saved.getId())).contains(0L);
+    }
+
+    @Test
+    void updateAndDeleteShouldBumpVersionAndHonourExpectedVersion() {
+        Todo saved = repository.save(new Todo("Title", null));
+
+        Todo updated = repository.update(saved.getId(), "New title", "New description", 0L).orElseThrow();
+
+        assertThat(updated.getTitle()).isEqualTo("New title");
+        assertThat(updated.getVersion()).isEqualTo(1L);
+        assertThat(repository.update(saved.getId(), "Stale", null, 0L)).isEmpty();
+        assertThat(repository.deleteIfExists(saved.getId(), 0L)).isEmpty();
+        assertThat(repository.deleteIfExists(saved.getId(), 1L)).get().extracting(Todo::getId).isEqualTo(saved.getId());
+        assertThat(repository.existsById(saved.getId())).isFalse();
+    }
+
+    @Test
+    void findAfterAndStreamAllShouldFollowIdOrder() {
+        Todo first = repository.save(new Todo("1", null));
+        Todo second = repository.save(new Todo("2", null));
+        Todo third = repository.save(new Todo("3", null));
+
+        assertThat(repository.findAfter(null, 2)).extracting(Todo::getId).containsExactly(first.getId(), second.getId());
+        assertThat(repository.findAfter(second.getId(), 2)).extracting(Todo::getId).containsExactly(third.getId());
+        try (Stream<Todo> todos = repository.streamAll()) {
+            assertThat(todos.map(Todo::getId)).containsExactly(first.getId(), second.getId(), third.getId());
+        }
+    }
+
+    @Test
+    void findByQueryShouldFilterAndPageInSortOrder() {
+        Todo first = repository.save(new Todo("1", null));
+        Todo second = repository.save(new Todo("2", null));
+        Todo third = repository.save(new Todo("3", null));
+        Todo done = repository.save(new Todo("4", null));
+        repository.save(new Todo(done.getId(), done.getTitle(), null, true, done.getCreatedAt(), done.getUpdatedAt(), 0L));
+        TodoQuery open = new TodoQuery(false, null, null, null, null, TodoQuery.SortKey.CREATED_AT, true);
+
+        List<Todo> page = repository.findByQuery(open, null, 2);
+        assertThat(page).extracting(Todo::getId).containsExactly(third.getId(), second.getId());
+        assertThat(repository.findByQuery(open, open.positionOf(page.get(1)), 2))
+                .extracting(Todo::getId).containsExactly(first.getId());
+    }
+
+    @Test
+    void saveAllShouldInsertAndUpdateInOneBulkWrite() {
+        Todo existing = repository.save(new Todo("Existing", null));
+
+        List<Todo> saved = repository.saveAll(List.of(
+                new Todo("Created", null),
+                existing.withUpdates("Updated", "Changed")));
+
+        assertThat(saved).extracting(Todo::getTitle).containsExactly("Created", "Updated");
+        assertThat(saved.get(1).getVersion()).isEqualTo(1L);
+        assertThat(repository.findAllById(List.of(saved.get(0).getId(), existing.getId())))
+                .extracting(Todo::getTitle)
+                .containsExactlyInAnyOrder("Created", "Updated");
+    }
+
+    @Test
+    void saveAllShouldRejectUpdatesOfConcurrentlyChangedTodos() {
+        Todo existing = repository.save(new Todo("Existing", null));
+        repository.update(existing.getId(), "Changed elsewhere", null, null);
+
+        assertThatThrownBy(() -> repository.saveAll(List.of(existing.withUpdates("Stale", null))))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+    }
+}
@@ -0,0 +1,103 @@
+package com.company.project.infrastructure;
+
+import com.company.project.domain.Todo;
+import com.company.project.domain.TodoStats;
+import com.company.project.domain.TodoStatsDelta;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.InetSocketAddress;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against the same in-process Mongo wire-protocol server as {@link MongoTodoRepositoryTest}.
+ */
+class MongoTodoStatsRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    private static MongoServer server;
+    private static MongoClient client;
+
+    private MongoTemplate mongoTemplate;
+    private MongoTodoStatsRepository repository;
+
+    @BeforeAll
+    static void startMongo() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        client.close();
+        server.shutdown();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = new MongoTemplate(client, "todo-stats-test");
+        mongoTemplate.dropCollection(TodoDocument.class);
+        mongoTemplate.dropCollection(MongoTodoStatsRepository.DAILY_COLLECTION);
+        mongoTemplate.dropCollection(MongoTodoStatsRepository.TOTALS_COLLECTION);
+        repository = new MongoTodoStatsRepository(mongoTemplate);
+    }
+
+    @Test
+    void applyShouldAccumulateDeltasPerCreationDay() {
+        Todo first = todo("1", DAY, false);
+        Todo second = todo("2", DAY.plusDays(1), false);
+
+        repository.apply(new TodoStatsDelta().created(first).created(second));
+        repository.apply(new TodoStatsDelta().toggled(completed(first)));
+        repository.apply(new TodoStatsDelta().deleted(second));
+
+        TodoStats stats = repository.find(DAY, DAY.plusDays(2));
+
+        assertThat(stats.open()).isZero();
+        assertThat(stats.completed()).isEqualTo(1);
+        assertThat(stats.days()).containsExactly(
+                new TodoStats.Day(DAY, 1, 1),
+                new TodoStats.Day(DAY.plusDays(1), 0, 0));
+        assertThat(repository.find(DAY.plusDays(1), DAY.plusDays(2)).days()).hasSize(1);
+    }
+
+    @Test
+    void reconcileShouldOverwriteDriftedRollupsFromTodos() {
+        mongoTemplate.insert(new TodoDocument("1", "Open", null, false, DAY.atTime(9, 0), DAY.atTime(9, 0), 0L));
+        mongoTemplate.insert(new TodoDocument("2", "Done", null, true, DAY.atTime(23, 30), DAY.atTime(23, 30), 0L));
+        mongoTemplate.insert(new TodoDocument("3", "Next day", null, false, DAY.plusDays(1).atStartOfDay(), DAY.plusDays(1).atStartOfDay(), 0L));
+        repository.apply(new TodoStatsDelta().created(todo("1", DAY, false)).created(todo("9", DAY.plusDays(5), true)));
+
+        assertThat(repository.reconcile()).isEqualTo(4);
+        assertThat(repository.reconcile()).isZero();
+
+        TodoStats stats = repository.find(DAY, DAY.plusDays(7));
+        assertThat(stats.open()).isEqualTo(2);
+        assertThat(stats.completed()).isEqualTo(1);
+        assertThat(stats.days()).containsExactly(
+                new TodoStats.Day(DAY, 2, 1),
+                new TodoStats.Day(DAY.plusDays(1), 1, 0),
+                new TodoStats.Day(DAY.plusDays(5), 0, 0));
+    }
+
+    private static Todo todo(String id, LocalDate createdOn, boolean completed) {
+        LocalDateTime createdAt = createdOn.atTime(12, 0);
+        return new Todo(id, "Title " + id, null, completed, createdAt, createdAt);
+    }
+
+    private static Todo completed(Todo todo) {
+        return todo.withCompletion(true);
+    }
+}
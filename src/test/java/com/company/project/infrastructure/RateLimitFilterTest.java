@@ -0,0 +1,112 @@
+package com.company.project.infrastructure;
+
+import com.company.project.common.ratelimit.RateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RateLimitFilter filter = new RateLimitFilter(List.of(
+            route("api-writes", Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE), 2),
+            route("api-reads", Set.of(), 5)),
+            new ObjectMapper());
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void writesAreLimitedBeforeReadsWith429AndRetryAfter() throws ServletException, IOException {
+        assertThat(perform("POST", "/api/v1/todos").getStatus()).isEqualTo(200);
+        assertThat(perform("POST", "/api/v1/todos").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse limited = perform("DELETE", "/api/v1/todos/01HQZX3Y9F8G7JTRQWKNXVP123");
+
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(limited.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(limited.getContentAsString()).contains("Too many requests", "api-writes");
+        assertThat(perform("GET", "/api/v1/todos").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void requestsOutsideTheRoutesAreNotLimited() throws ServletException, IOException {
+        for (int i = 0; i < 10; i++) {
+            assertThat(perform("GET", "/actuator/health").getStatus()).isEqualTo(200);
+        }
+        assertThat(meterRegistry.find("rate.limit.requests").counters())
+                .allSatisfy(counter -> assertThat(counter.count()).isZero());
+    }
+
+    @Test
+    void clientIsThePrincipalOrElseTheAddress() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/todos");
+        request.setRemoteAddr("203.0.113.7");
+        assertThat(filter.clientKey(request)).isEqualTo("ip:203.0.113.7");
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("bob", null, AuthorityUtils.NO_AUTHORITIES));
+        assertThat(filter.clientKey(request)).isEqualTo("user:bob");
+    }
+
+    @Test
+    void unverifiedKeysAndTokensDoNotEarnFreshBuckets() throws ServletException, IOException {
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/todos");
+            request.addHeader("X-API-Key", "key-" + i);
+            request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token("{\"sub\":\"client-" + i + "\"}"));
+            assertThat(perform(request).getStatus()).isEqualTo(200);
+        }
+
+        MockHttpServletRequest rotated = new MockHttpServletRequest("POST", "/api/v1/todos");
+        rotated.addHeader("X-API-Key", "key-2");
+        rotated.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token("{\"sub\":\"client-2\"}"));
+
+        assertThat(perform(rotated).getStatus()).isEqualTo(429);
+    }
+
+    private MockHttpServletResponse perform(String method, String uri) throws ServletException, IOException {
+        return perform(new MockHttpServletRequest(method, uri));
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private RateLimitFilter.Route route(String name, Set<HttpMethod> methods, long capacity) {
+        return new RateLimitFilter.Route(PathPatternParser.defaultInstance.parse("/api/**"), methods,
+                new RateLimiter(name, capacity, 1, Duration.ofMinutes(10), 1000, null, Ticker.disabledTicker(),
+                        meterRegistry));
+    }
+
+    private static String token(String claims) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString("{\"alg\":\"RS256\"}".getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(claims.getBytes(StandardCharsets.UTF_8)) + ".signature";
+    }
+}
@@ -0,0 +1,55 @@
+package com.company.project.infrastructure;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestIdFilterTest {
+
+    private final RequestIdFilter filter = new RequestIdFilter();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private final AtomicReference<String> loggedId = new AtomicReference<>();
+
+    @Test
+    void wellFormedIdIsKeptForLogsAndResponse() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/todos");
+        request.addHeader(RequestIdFilter.HEADER, "gw-4f1c.17");
+
+        filter.doFilter(request, response, chain());
+
+        assertThat(loggedId).hasValue("gw-4f1c.17");
+        assertThat(response.getHeader(RequestIdFilter.HEADER)).isEqualTo("gw-4f1c.17");
+        assertThat(MDC.get(RequestIdFilter.MDC_KEY)).isNull();
+    }
+
+    @Test
+    void missingOrMalformedIdIsReplacedWithUlid() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/todos");
+        request.addHeader(RequestIdFilter.HEADER, "bad id\r\nX-Injected: 1");
+
+        filter.doFilter(request, response, chain());
+
+        assertThat(loggedId.get()).hasSize(26).isEqualTo(response.getHeader(RequestIdFilter.HEADER));
+        assertThat(MDC.get(RequestIdFilter.MDC_KEY)).isNull();
+    }
+
+    private MockFilterChain chain() {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) {
+                loggedId.set(MDC.get(RequestIdFilter.MDC_KEY));
+            }
+        });
+    }
+}
@@ -0,0 +1,85 @@
+package com.company.project.infrastructure;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Which endpoints need the admin user, checked against the real security chain.
+ */
+@SpringBootTest(properties = {
+        "app.outbox.todo.relay-enabled=false",
+        "app.stats.todo.reconcile-enabled=false",
+        "app.cache.todo.redis-enabled=false",
+        "spring.kafka.admin.auto-create=false",
+        "spring.security.user.password=test-admin"
+})
+@AutoConfigureMockMvc
+@DirtiesContext
+class SecurityConfigTest {
+
+    // Both servers stop with the JVM
+    private static EmbeddedPostgres postgres;
+    private static MongoServer mongo;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void infrastructure(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        mongo = new MongoServer(new MemoryBackend());
+        InetSocketAddress mongoAddress = mongo.bind();
+
+        registry.add("spring.datasource.url",
+                () -> "jdbc:postgresql://localhost:" + postgres.getPort() + "/postgres?reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.data.mongodb.uri",
+                () -> "mongodb://" + mongoAddress.getHostString() + ":" + mongoAddress.getPort() + "/appdb");
+    }
+
+    @Test
+    void flightRecordingsNeedTheAdminUser() throws Exception {
+        mockMvc.perform(get("/actuator/jfr"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/jfr/1/recording-1.jfr"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/jfr").with(httpBasic("admin", "wrong")))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/actuator/jfr").with(httpBasic("admin", "test-admin")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void flightRecordingsAreForbiddenToOtherUsers() throws Exception {
+        mockMvc.perform(get("/actuator/jfr"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void apiAndOtherEndpointsStayOpen() throws Exception {
+        mockMvc.perform(get("/actuator/info"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/sql/todo"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,35 @@
+package com.company.project.infrastructure;
+
+import org.assertj.core.api.AbstractIntegerAssert;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MockMvc matchers on the statement count a request reports in {@link StatementStatisticsFilter#STATEMENTS_HEADER},
+ * for tests that run against a real database, e.g. {@code .andExpect(SqlStatements.atMost(2))}.
+ */
+public final class SqlStatements {
+
+    private SqlStatements() {
+    }
+
+    public static ResultMatcher atMost(int max) {
+        return result -> assertThatStatements(result).isLessThanOrEqualTo(max);
+    }
+
+    public static ResultMatcher exactly(int expected) {
+        return result -> assertThatStatements(result).isEqualTo(expected);
+    }
+
+    private static AbstractIntegerAssert<?> assertThatStatements(MvcResult result) {
+        String request = result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+        String header = result.getResponse().getHeader(StatementStatisticsFilter.STATEMENTS_HEADER);
+        assertThat(header)
+                .as("%s header of %s; is the statement statistics filter registered?",
+                        StatementStatisticsFilter.STATEMENTS_HEADER, request)
+                .isNotNull();
+        return assertThat(Integer.parseInt(header)).as("SQL statements issued by %s", request);
+    }
+}
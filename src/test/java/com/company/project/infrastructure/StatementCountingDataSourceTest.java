@@ -0,0 +1,93 @@
+package com.company.project.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class StatementCountingDataSourceTest {
+
+    private static final String SELECT = "select t1_0.id from todos t1_0 where t1_0.id=?";
+
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement preparedStatement = mock(PreparedStatement.class);
+    private final Statement statement = mock(Statement.class);
+    private final DataSource dataSource = new StatementCountingDataSource(target(), Duration.ofSeconds(1));
+
+    @Test
+    void statementsAreCountedPerScopeWithBatchesAsOne() throws SQLException {
+        StatementStatistics statistics = StatementStatistics.begin();
+        try (Connection counted = dataSource.getConnection()) {
+            PreparedStatement select = counted.prepareStatement(SELECT);
+            select.setString(1, "01HQZX3Y9F8G7JTRQWKNXVP123");
+            select.executeQuery();
+            select.executeQuery();
+            PreparedStatement insert = counted.prepareStatement(SELECT);
+            insert.addBatch();
+            insert.addBatch();
+            insert.executeBatch();
+            counted.createStatement().execute("delete from todo_outbox");
+        } finally {
+            statistics.end();
+        }
+
+        assertThat(statistics.count()).isEqualTo(4);
+        assertThat(statistics.mostRepeated()).satisfies(entry -> {
+            assertThat(entry.getKey()).isEqualTo(SELECT);
+            assertThat(entry.getValue()).isEqualTo(3);
+        });
+    }
+
+    @Test
+    void failedStatementsAreCountedAndRethrown() throws SQLException {
+        given(statement.executeUpdate("vacuum")).willThrow(new SQLException("not allowed"));
+        StatementStatistics statistics = StatementStatistics.begin();
+        try (Connection counted = dataSource.getConnection()) {
+            assertThatThrownBy(() -> counted.createStatement().executeUpdate("vacuum")).hasMessage("not allowed");
+        } finally {
+            statistics.end();
+        }
+
+        assertThat(statistics.count()).isEqualTo(1);
+    }
+
+    @Test
+    void statementsOutsideAScopeAreNotCounted() throws SQLException {
+        StatementStatistics statistics = StatementStatistics.begin();
+        statistics.end();
+
+        try (Connection counted = dataSource.getConnection()) {
+            counted.prepareStatement(SELECT).executeQuery();
+        }
+
+        assertThat(statistics.count()).isZero();
+    }
+
+    @Test
+    void redactRemovesLiterals() {
+        assertThat(StatementCountingDataSource.redact(
+                "update todos t1_0 set title='it''s secret', version=12 where t1_0.id=? and score > 0.5"))
+                .isEqualTo("update todos t1_0 set title=?, version=? where t1_0.id=? and score > ?");
+    }
+
+    private DataSource target() {
+        DataSource target = mock(DataSource.class);
+        try {
+            given(target.getConnection()).willReturn(connection);
+            given(connection.prepareStatement(SELECT)).willReturn(preparedStatement);
+            given(connection.createStatement()).willReturn(statement);
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return target;
+    }
+}
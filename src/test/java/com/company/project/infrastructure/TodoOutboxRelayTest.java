@@ -0,0 +1,131 @@
+package com.company.project.infrastructure;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@EmbeddedKafka(partitions = 3, topics = TodoOutboxRelayTest.TOPIC)
+class TodoOutboxRelayTest {
+
+    static final String TOPIC = "todo-events-test";
+
+    private final JdbcTodoEventOutbox outbox = mock(JdbcTodoEventOutbox.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TodoOutboxProperties properties =
+            new TodoOutboxProperties(true, TOPIC, 3, 2, Duration.ofMillis(200), Duration.ofSeconds(10));
+
+    private DefaultKafkaProducerFactory<String, String> producerFactory;
+    private Consumer<String, String> consumer;
+
+    @BeforeEach
+    void setUp(EmbeddedKafkaBroker broker) {
+        Map<String, Object> producerProps = KafkaTestUtils.producerProps(broker);
+        producerProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        producerProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        producerFactory = new DefaultKafkaProducerFactory<>(producerProps, new StringSerializer(), new StringSerializer());
+
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("relay-test", "false", broker);
+        consumer = new DefaultKafkaConsumerFactory<>(consumerProps, new StringDeserializer(), new StringDeserializer())
+                .createConsumer();
+        broker.consumeFromAnEmbeddedTopic(consumer, TOPIC);
+    }
+
+    @AfterEach
+    void tearDown() {
+        consumer.close();
+        producerFactory.destroy();
+    }
+
+    @Test
+    void drainShouldPublishEveryBatchKeyedByTodoIdAndDeleteIt() {
+        given(outbox.lockNextBatch(2))
+                .willReturn(List.of(record(1, "01HQZX3Y9F8G7JTRQWKNXVP123", "CREATED"), record(2, "01HQZX3Y9F8G7JTRQWKNXVP456", "CREATED")))
+                .willReturn(List.of(record(3, "01HQZX3Y9F8G7JTRQWKNXVP123", "UPDATED")));
+
+        newRelay(new KafkaTemplate<>(producerFactory)).drain();
+
+        List<ConsumerRecord<String, String>> received = poll(3);
+        assertThat(received)
+                .extracting(ConsumerRecord::key, this::outboxId)
+                .containsExactlyInAnyOrder(
+                        tuple("01HQZX3Y9F8G7JTRQWKNXVP123", "1"),
+                        tuple("01HQZX3Y9F8G7JTRQWKNXVP456", "2"),
+                        tuple("01HQZX3Y9F8G7JTRQWKNXVP123", "3"));
+        assertThat(received.stream().filter(r -> r.key().equals("01HQZX3Y9F8G7JTRQWKNXVP123")).map(ConsumerRecord::partition).distinct())
+                .hasSize(1);
+        verify(outbox).delete(List.of(1L, 2L));
+        verify(outbox).delete(List.of(3L));
+        assertThat(meterRegistry.get("todo.outbox.published").counter().count()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("todo.outbox.lag").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void drainShouldKeepBatchWhenSendFails() {
+        KafkaTemplate<String, String> failingTemplate = mock();
+        given(failingTemplate.send(ArgumentMatchers.<ProducerRecord<String, String>>any()))
+                .willReturn(CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")));
+        given(outbox.lockNextBatch(anyInt())).willReturn(List.of(record(1, "01HQZX3Y9F8G7JTRQWKNXVP123", "CREATED")));
+
+        newRelay(failingTemplate).drain();
+
+        verify(outbox, never()).delete(any());
+        assertThat(meterRegistry.get("todo.outbox.failures").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("todo.outbox.published").counter().count()).isZero();
+    }
+
+    private TodoOutboxRelay newRelay(KafkaTemplate<String, String> template) {
+        return new TodoOutboxRelay(outbox, template, TransactionOperations.withoutTransaction(), properties, meterRegistry);
+    }
+
+    private List<ConsumerRecord<String, String>> poll(int expected) {
+        List<ConsumerRecord<String, String>> received = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (received.size() < expected && System.currentTimeMillis() < deadline) {
+            ConsumerRecords<String, String> records = KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(1), expected - received.size());
+            records.forEach(received::add);
+        }
+        return received;
+    }
+
+    private String outboxId(ConsumerRecord<String, String> record) {
+        return new String(record.headers().lastHeader(TodoOutboxRelay.OUTBOX_ID_HEADER).value(), StandardCharsets.UTF_8);
+    }
+
+    private static TodoOutboxRecord record(long id, String todoId, String type) {
+        return new TodoOutboxRecord(id, todoId, type, "{\"type\":\"" + type + "\",\"todoId\":\"" + todoId + "\"}",
+                Instant.now().minusMillis(50));
+    }
+}
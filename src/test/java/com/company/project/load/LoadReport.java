@@ -0,0 +1,84 @@
+package com.company.project.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-operation latencies and errors of a measured run.
+ */
+class LoadReport {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final LoadScenario scenario;
+    private final Duration elapsed;
+    private final Map<TodoOperation, Histogram> histograms;
+    private final Map<TodoOperation, AtomicLong> errors;
+
+    LoadReport(LoadScenario scenario, Duration elapsed, Map<TodoOperation, Histogram> histograms,
+               Map<TodoOperation, AtomicLong> errors) {
+        this.scenario = scenario;
+        this.elapsed = elapsed;
+        this.histograms = histograms;
+        this.errors = errors;
+    }
+
+    /**
+     * @return one line per operation that failed requests or missed its p99 budget; empty when the run passed
+     */
+    List<String> violations() {
+        List<String> violations = new ArrayList<>();
+        histograms.forEach((operation, histogram) -> {
+            long failed = errors.get(operation).get();
+            if (failed > 0) {
+                violations.add(operation + ": " + failed + " of " + histogram.getTotalCount() + " requests failed");
+            }
+            Duration budget = scenario.p99Budgets().get(operation);
+            long p99 = histogram.getValueAtPercentile(99.0);
+            if (p99 > budget.toNanos()) {
+                violations.add(String.format("%s: p99 %.1fms exceeds budget %dms", operation, p99 / NANOS_PER_MILLI,
+                        budget.toMillis()));
+            }
+        });
+        return violations;
+    }
+
+    void print(PrintStream out) {
+        long total = histograms.values().stream().mapToLong(Histogram::getTotalCount).sum();
+        out.printf("%n=== %s: %d requests in %.1fs (%.0f req/s, target %d) ===%n", scenario.name(), total,
+                elapsed.toMillis() / 1000.0, total * 1000.0 / elapsed.toMillis(), scenario.ratePerSecond());
+        out.printf("%-8s %8s %7s %9s %9s %9s %9s %9s %8s%n",
+                "op", "count", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "budget");
+        histograms.forEach((operation, histogram) -> out.printf("%-8s %8d %7d %9.2f %9.2f %9.2f %9.2f %9.2f %6dms%n",
+                operation, histogram.getTotalCount(), errors.get(operation).get(),
+                histogram.getValueAtPercentile(50.0) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(90.0) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99.0) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                histogram.getMaxValue() / NANOS_PER_MILLI,
+                scenario.p99Budgets().get(operation).toMillis()));
+    }
+
+    /**
+     * Writes one HdrHistogram percentile distribution per operation, in milliseconds, for plotting and for
+     * comparing runs.
+     */
+    void writeTo(Path directory) throws IOException {
+        Path scenarioDirectory = Files.createDirectories(directory.resolve(scenario.name()));
+        for (Map.Entry<TodoOperation, Histogram> entry : histograms.entrySet()) {
+            Path file = scenarioDirectory.resolve(entry.getKey().name().toLowerCase() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                entry.getValue().outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+    }
+}
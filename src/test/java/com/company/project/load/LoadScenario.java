@@ -0,0 +1,85 @@
+package com.company.project.load;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * What to drive and what to accept: a target arrival rate, a weighted operation mix and a p99 budget per operation.
+ * <p>
+ * Every value can be overridden with a {@code load.*} system property, e.g.
+ * {@code -Dload.rps=500 -Dload.mix=get=80,list=20 -Dload.p99.get=10ms}.
+ */
+record LoadScenario(
+        String name,
+        int ratePerSecond,
+        Duration warmup,
+        Duration duration,
+        int seedSize,
+        Map<TodoOperation, Integer> mix,
+        Map<TodoOperation, Duration> p99Budgets
+) {
+
+    private static final String DEFAULT_MIX = "create=20,get=45,list=15,toggle=15,delete=5";
+    private static final Map<TodoOperation, Duration> DEFAULT_BUDGETS = Map.of(
+            TodoOperation.CREATE, Duration.ofMillis(100),
+            TodoOperation.GET, Duration.ofMillis(50),
+            TodoOperation.LIST, Duration.ofMillis(100),
+            TodoOperation.TOGGLE, Duration.ofMillis(100),
+            TodoOperation.DELETE, Duration.ofMillis(100));
+
+    static LoadScenario fromSystemProperties(String name) {
+        Map<TodoOperation, Duration> budgets = new EnumMap<>(TodoOperation.class);
+        for (TodoOperation operation : TodoOperation.values()) {
+            String budget = System.getProperty("load.p99." + operation.name().toLowerCase());
+            budgets.put(operation, budget != null ? DurationStyle.detectAndParse(budget) : DEFAULT_BUDGETS.get(operation));
+        }
+        return new LoadScenario(
+                name,
+                Integer.getInteger("load.rps", 100),
+                DurationStyle.detectAndParse(System.getProperty("load.warmup", "10s")),
+                DurationStyle.detectAndParse(System.getProperty("load.duration", "30s")),
+                Integer.getInteger("load.seed", 500),
+                parseMix(System.getProperty("load.mix", DEFAULT_MIX)),
+                budgets);
+    }
+
+    /**
+     * The same scenario with an operation taken out of the mix, for stores that cannot serve it.
+     */
+    LoadScenario without(TodoOperation operation) {
+        Map<TodoOperation, Integer> reduced = new EnumMap<>(mix);
+        reduced.remove(operation);
+        return new LoadScenario(name, ratePerSecond, warmup, duration, seedSize, reduced, p99Budgets);
+    }
+
+    TodoOperation pick() {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<TodoOperation, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty operation mix");
+    }
+
+    private static Map<TodoOperation, Integer> parseMix(String mix) {
+        Map<TodoOperation, Integer> weights = new EnumMap<>(TodoOperation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(TodoOperation.valueOf(parts[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("load.mix has no operation with a positive weight: " + mix);
+        }
+        return weights;
+    }
+}
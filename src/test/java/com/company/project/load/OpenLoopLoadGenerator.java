@@ -0,0 +1,73 @@
+package com.company.project.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives requests at a fixed arrival rate regardless of how fast the server answers (an open-loop model).
+ * <p>
+ * Request {@code n} is due at {@code start + n / rate}. Each request runs on its own virtual thread, so a slow
+ * response never delays the next one. Latency is measured from the due time, not from the actual send, so any
+ * time a request spent waiting to be sent counts against the server. This avoids coordinated omission.
+ */
+class OpenLoopLoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    LoadReport run(LoadScenario scenario, TodoApiClient client) throws InterruptedException {
+        Map<TodoOperation, Histogram> histograms = new EnumMap<>(TodoOperation.class);
+        Map<TodoOperation, AtomicLong> errors = new EnumMap<>(TodoOperation.class);
+        for (TodoOperation operation : scenario.mix().keySet()) {
+            histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3));
+            errors.put(operation, new AtomicLong());
+        }
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / scenario.ratePerSecond();
+        long start = System.nanoTime();
+        long measureFrom = start + scenario.warmup().toNanos();
+        long end = measureFrom + scenario.duration().toNanos();
+
+        for (long n = 0; ; n++) {
+            long due = start + n * intervalNanos;
+            if (due >= end) {
+                break;
+            }
+            waitUntil(due);
+            TodoOperation operation = scenario.pick();
+            boolean measured = due >= measureFrom;
+            executor.execute(() -> {
+                int status = client.execute(operation);
+                long latency = System.nanoTime() - due;
+                if (measured) {
+                    histograms.get(operation).recordValue(Math.min(latency, HIGHEST_TRACKABLE_NANOS));
+                    if (status < 200 || status >= 300) {
+                        errors.get(operation).incrementAndGet();
+                    }
+                }
+            });
+        }
+        // Let in-flight requests finish before the histograms are read
+        executor.shutdown();
+        if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Requests still in flight a minute after the run ended");
+        }
+        return new LoadReport(scenario, Duration.ofNanos(System.nanoTime() - measureFrom), histograms, errors);
+    }
+
+    private static void waitUntil(long due) {
+        long remaining;
+        while ((remaining = due - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.company.project.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Issues todo API calls over real HTTP.
+ * <p>
+ * Reads and toggles go to the seeded todos, which are never deleted, so a read cannot race a delete into a 404.
+ * Deletes consume todos created during the run.
+ */
+class TodoApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final ConcurrentLinkedQueue<String> deletable = new ConcurrentLinkedQueue<>();
+    private volatile List<String> seeded = List.of();
+
+    TodoApiClient(String baseUrl, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+    }
+
+    /**
+     * Creates the todos that reads and toggles are spread over.
+     */
+    void seed(int count) throws IOException, InterruptedException {
+        String[] ids = new String[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = create();
+        }
+        seeded = List.of(ids);
+    }
+
+    /**
+     * @return the HTTP status, or -1 when the call failed without one
+     */
+    int execute(TodoOperation operation) {
+        try {
+            return switch (operation) {
+                case CREATE -> {
+                    deletable.add(create());
+                    yield 201;
+                }
+                case GET -> send(request(randomSeeded()).GET());
+                case LIST -> send(request("?size=20").GET());
+                case TOGGLE -> send(request(randomSeeded() + "/toggle").method("PATCH", HttpRequest.BodyPublishers.noBody()));
+                case DELETE -> {
+                    String id = deletable.poll();
+                    yield id != null ? send(request(id).DELETE()) : send(request(randomSeeded()).GET());
+                }
+            };
+        } catch (UnexpectedStatusException ex) {
+            return ex.status;
+        } catch (IOException ex) {
+            return -1;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private String create() throws IOException, InterruptedException {
+        int suffix = ThreadLocalRandom.current().nextInt(1_000_000);
+        byte[] body = objectMapper.writeValueAsBytes(new CreateRequest("Load todo " + suffix, "Created by the load harness"));
+        HttpResponse<byte[]> response = httpClient.send(request("")
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 201) {
+            throw new UnexpectedStatusException(response.statusCode());
+        }
+        return objectMapper.readTree(response.body()).get("id").asText();
+    }
+
+    private int send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        String separator = path.isEmpty() || path.startsWith("?") ? "" : "/";
+        return HttpRequest.newBuilder(URI.create(baseUrl + separator + path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private String randomSeeded() {
+        List<String> ids = seeded;
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("seed() must run before the load starts");
+        }
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private record CreateRequest(String title, String description) {
+    }
+
+    private static final class UnexpectedStatusException extends IOException {
+
+        private final int status;
+
+        UnexpectedStatusException(int status) {
+            super("Unexpected status " + status);
+            this.status = status;
+        }
+    }
+}
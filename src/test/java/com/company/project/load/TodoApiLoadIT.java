@@ -0,0 +1,97 @@
+package com.company.project.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the whole application over HTTP (Tomcat, Spring MVC, caches, Hibernate and Flyway-migrated PostgreSQL,
+ * the outbox relay into Kafka) and fails when a p99 budget is missed. Run with {@code ./mvnw -Pload verify};
+ * see {@link LoadScenario} for the knobs. Requests are served by platform threads here and by virtual threads in
+ * {@link TodoApiVirtualThreadsLoadIT}, which runs the same scenarios so the two reports can be compared.
+ * <p>
+ * PostgreSQL is a real embedded server. MongoDB is an in-process wire-protocol stand-in without update
+ * pipelines, so the document-store run leaves toggles out of the mix.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.threads.virtual.enabled=false",
+                "kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+                "app.cache.todo.redis-enabled=false",
+                "app.rate-limit.enabled=false"
+        })
+@EmbeddedKafka(partitions = 1)
+@DirtiesContext
+class TodoApiLoadIT {
+
+    private static final Path RESULTS = Path.of("target", "load");
+
+    // Both servers stop with the JVM
+    private static EmbeddedPostgres postgres;
+    private static MongoServer mongo;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void infrastructure(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        mongo = new MongoServer(new MemoryBackend());
+        InetSocketAddress mongoAddress = mongo.bind();
+
+        registry.add("spring.datasource.url",
+                () -> "jdbc:postgresql://localhost:" + postgres.getPort() + "/postgres?reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.data.mongodb.uri",
+                () -> "mongodb://" + mongoAddress.getHostString() + ":" + mongoAddress.getPort() + "/appdb");
+    }
+
+    @Test
+    void sqlApiMeetsLatencyBudgets() throws Exception {
+        run("/api/v1/sql/todo", LoadScenario.fromSystemProperties(scenarioName("sql")));
+    }
+
+    @Test
+    void noSqlApiMeetsLatencyBudgets() throws Exception {
+        run("/api/v1/nosql/todo", LoadScenario.fromSystemProperties(scenarioName("nosql")).without(TodoOperation.TOGGLE));
+    }
+
+    private void run(String path, LoadScenario scenario) throws Exception {
+        TodoApiClient client = new TodoApiClient("http://localhost:" + port + path, objectMapper);
+        client.seed(scenario.seedSize());
+
+        LoadReport report = new OpenLoopLoadGenerator().run(scenario, client);
+        report.print(System.out);
+        report.writeTo(RESULTS);
+
+        assertThat(report.violations()).as(scenario.name()).isEmpty();
+    }
+
+    private String scenarioName(String store) {
+        return store + (virtualThreads ? "-virtual-threads" : "-platform-threads");
+    }
+}
@@ -0,0 +1,12 @@
+package com.company.project.load;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * {@link TodoApiLoadIT} with spring.threads.virtual.enabled=true, so Tomcat serves each request on a virtual thread
+ * and Hikari connections are handed out through the permit guard. Its scenarios are named
+ * {@code <store>-virtual-threads}.
+ */
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+class TodoApiVirtualThreadsLoadIT extends TodoApiLoadIT {
+}
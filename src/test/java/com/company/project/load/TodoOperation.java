@@ -0,0 +1,12 @@
+package com.company.project.load;
+
+/**
+ * The todo API calls the load harness can issue.
+ */
+enum TodoOperation {
+    CREATE,
+    GET,
+    LIST,
+    TOGGLE,
+    DELETE
+}
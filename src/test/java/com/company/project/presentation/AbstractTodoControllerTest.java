@@ -0,0 +1,642 @@
+package com.company.project.presentation;
+
+import com.company.project.application.McpToolsService;
+import com.company.project.application.TodoMapperService;
+import com.company.project.application.TodoService;
+import com.company.project.common.exception.PreconditionFailedException;
+import com.company.project.common.exception.ResourceNotFoundException;
+import com.company.project.common.service.PaginationService;
+import com.company.project.domain.Todo;
+import com.company.project.domain.TodoBatchOperation;
+import com.company.project.domain.TodoBatchResult;
+import com.company.project.domain.TodoQuery;
+import com.company.project.domain.TodoSearchHit;
+import com.company.project.domain.TodoStats;
+import com.company.project.dto.TodoBatchOperationRequest;
+import com.company.project.dto.TodoBatchRequest;
+import com.company.project.dto.TodoRequest;
+import com.company.project.dto.TodoResponse;
+import com.company.project.dto.proto.TodoProtos;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Controller behaviour every todo store must provide; subclasses bind it to one controller and its service.
+ */
+@Import({TodoMapperService.class, PaginationService.class})
+abstract class AbstractTodoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SecurityFilterChain securityFilterChain;
+
+    @MockBean
+    private McpToolsService mcpToolsService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    protected abstract String basePath();
+
+    protected abstract TodoService todoService();
+
+    @Test
+    @WithMockUser
+    void createTodoShouldReturnCreatedTodo() throws Exception {
+        TodoRequest request = new TodoRequest("Test Todo", "Test Description");
+        Todo savedTodo = new Todo("01HQZX3Y9F8G7JTRQWKNXVP123", "Test Todo", "Test Description", false, LocalDateTime.now(), LocalDateTime.now());
+
+        given(todoService().create(any(Todo.class))).willReturn(savedTodo);
+
+        mockMvc.perform(post(basePath())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value("01HQZX3Y9F8G7JTRQWKNXVP123"))
+                .andExpect(jsonPath("$.title").value("Test Todo"))
+                .andExpect(jsonPath("$.description").value("Test Description"))
+                .andExpect(jsonPath("$.completed").value(false));
+    }
+
+    @Test
+    @WithMockUser
+    void createTodoWithBlankTitleShouldReturnBadRequest() throws Exception {
+        TodoRequest request = new TodoRequest("", "Test Description");
+
+        mockMvc.perform(post(basePath())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void getAllTodosShouldReturnTodoList() throws Exception {
+        List<Todo> todos = List.of(
+                new Todo("01HQZX3Y9F8G7JTRQWKNXVP123", "Todo 1", "Description 1", false, LocalDateTime.now(), LocalDateTime.now()),
+                new Todo("01HQZX3Y9F8G7JTRQWKNXVP456", "Todo 2", "Description 2", true, LocalDateTime.now(), LocalDateTime.now())
+        );
+
+        given(todoService().findAll()).willReturn(todos);
+
+        mockMvc.perform(get(basePath()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value("01HQZX3Y9F8G7JTRQWKNXVP123"))
+                .andExpect(jsonPath("$[0].title").value("Todo 1"))
+                .andExpect(jsonPath("$[1].id").value("01HQZX3Y9F8G7JTRQWKNXVP456"))
+                .andExpect(jsonPath("$[1].title").value("Todo 2"));
+    }
+
+    @Test
+    @WithMockUser
+    void getTodoPageShouldReturnContentAndNextCursor() throws Exception {
+        List<Todo> todos = List.of(
+                new Todo("01HQZX3Y9F8G7JTRQWKNXVP123", "Todo 1", "Description 1", false, LocalDateTime.now(), LocalDateTime.now()),
+                new Todo("01HQZX3Y9F8G7JTRQWKNXVP456", "Todo 2", "Description 2", true, LocalDateTime.now(), LocalDateTime.now())
+        );
+
+        given(todoService().findAfter(null, 2)).willReturn(todos);
+
+        mockMvc.perform(get(basePath()).param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value("01HQZX3Y9F8G7JTRQWKNXVP123"))
+                .andExpect(jsonPath("$.pageSize").value(1))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+    }
+
+    @Test
+    @WithMockUser
+    void getTodoPageWithCursorShouldFetchAfterDecodedId() throws Exception {
+        Todo todo = new Todo("01HQZX3Y9F8G7JTRQWKNXVP456", "Todo 2", "Description 2", true, LocalDateTime.now(), LocalDateTime.now());
+        String cursor = new PaginationService().encodeCursor("01HQZX3Y9F8G7JTRQWKNXVP123");
+
+        given(todoService().findAfter("01HQZX3Y9F8G7JTRQWKNXVP123", 21)).willReturn(List.of(todo));
+
+        mockMvc.perform(get(basePath()).param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value("01HQZX3Y9F8G7JTRQWKNXVP456"))
+                .andExpect(jsonPath("$.pageSize").value(20))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser
+    void getTodoPageWithInvalidCursorShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get(basePath()).param("cursor", "not*base64"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void searchTodosShouldReturnRankedHitsAndNextCursor() throws Exception {
+        Todo first = new Todo("01HQZX3Y9F8G7JTRQWKNXVP123", "Buy milk", "Milk and bread", false, LocalDateTime.now(), LocalDateTime.now());
+        Todo second = new Todo("01HQZX3Y9F8G7JTRQWKNXVP456", "Call mom", "About the milk", false, LocalDateTime.now(), LocalDateTime.now());
+        List<TodoSearchHit> hits = List.of(
+                new TodoSearchHit(first, 0.6, "Buy <mark>milk</mark>", "<mark>Milk</mark> and bread"),
+                new TodoSearchHit(second, 0.2, "Call mom", "About the <mark>milk</mark>"));
+
+        given(todoService().search("milk", null, 2)).willReturn(hits);
+
+        mockMvc.perform(get(basePath() + "/search").param("q", "milk").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].todo.id").value("01HQZX3Y9F8G7JTRQWKNXVP123"))
+                .andExpect(jsonPath("$.content[0].rank").value(0.6))
+                .andExpect(jsonPath("$.content[0].titleHighlight").value("Buy <mark>milk</mark>"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value(new PaginationService().encodeCursor("0.6|01HQZX3Y9F8G7JTRQWKNXVP123")));
+    }
+
+    @Test
+    @WithMockUser
+    void searchTodosWithCursorShouldContinueAfterDecodedPosition() throws Exception {
+        String cursor = new PaginationService().encodeCursor("0.6|01HQZX3Y9F8G7JTRQWKNXVP123");
+
+        given(todoService().search("milk", new TodoSearchHit.Position(0.6, "01HQZX3Y9F8G7JTRQWKNXVP123"), 21))
+                .willReturn(List.of());
+
+        mockMvc.perform(get(basePath() + "/search").param("q", "milk").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(0))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    @WithMockUser
+    void searchTodosWithBlankQueryShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get(basePath() + "/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void queryTodosShouldFilterSortAndReturnNextCursor() throws Exception {
+        LocalDateTime updated = LocalDateTime.of(2024, 3, 1, 12, 0);
+        Todo first = new Todo("01HQZX3Y9F8G7JTRQWKNXVP123", "Buy milk", "Milk and bread", true, updated.minusDays(1), updated);
+        Todo second = new Todo("01HQZX3Y9F8G7JTRQWKNXVP456", "Call mom", null, true, updated.minusDays(2), updated.minusHours(1));
+        TodoQuery query = new TodoQuery(true, LocalDateTime.of(2024, 1, 1, 0, 0), null, null, null,
+                TodoQuery.SortKey.UPDATED_AT, true);
+
+        given(todoService().findByQuery(query, null, 2)).willReturn(List.of(first, second));
+
+        mockMvc.perform(get(basePath() + "/query")
+                        .param("completed", "true")
+                        .param("createdFrom", "2024-01-01T00:00:00")
+                        .param("sort", "updatedAt,desc")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value("01HQZX3Y9F8G7JTRQWKNXVP123"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value(new PaginationService().encodeCursor(
+                        query.positionOf(first).key())));
+    }
+
+    @Test
+    @WithMockUser
+    void queryTodosWithUnsupportedSortShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get(basePath() + "/query").param("sort", "title,asc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void queryTodosWithInvalidDateShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get(basePath() + "/query").param("createdFrom", "yesterday"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid argument"));
+    }
+
+    @Test
+    @WithMockUser
+    void getTodoStatsShouldReturnTotalsAndDays() throws Exception {
+        LocalDate from = LocalDate.of(2024, 3, 1);
+        LocalDate to = LocalDate.of(2024, 3, 3);
+        TodoStats stats = new TodoStats(12, 30, List.of(
+                new TodoStats.Day(from, 5, 3),
+                new TodoStats.Day(from.plusDays(1), 0, 0)));
+
+        given(todoService().stats(from, to)).willReturn(stats);
+
+        mockMvc.perform(get(basePath() + "/stats").param("from", "2024-03-01").param("to", "2024-03-03"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.open").value(12))
+                .andExpect(jsonPath("$.completed").value(30))
+                .andExpect(jsonPath("$.total").value(42))
+                .andExpect(jsonPath("$.days.length()").value(2))
+                .andExpect(jsonPath("$.days[0].date").value("2024-03-01"))
+                .andExpect(jsonPath("$.days[0].created").value(5))
+                .andExpect(jsonPath("$.days[0].completed").value(3));
+    }
+
+    @Test
+    @WithMockUser
+    void getTodoStatsWithEmptyOrOversizedRangeShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get(basePath() + "/stats").param("from", "2024-03-01").param("to", "2024-03-01"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get(basePath() + "/stats").param("from", "2022-01-01").param("to", "2024-03-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void getTodoByIdShouldReturnTodo() throws Exception {
+        Todo todo = new Todo("01HQZX3Y9F8G7JTRQWKNXVP123", "Test Todo", "Test Description", false, LocalDateTime.now(), LocalDateTime.now());
+
+        given(todoService().findById("01HQZX3Y9F8G7JTRQWKNXVP123")).willReturn(Optional.of(todo));
+
+        mockMvc.perform(get(basePath() + "/01HQZX3Y9F8G7JTRQWKNXVP123"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value("01HQZX3Y9F8G7JTRQWKNXVP123"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0-json\""))
+                .andExpect(jsonPath("$.title").value("Test Todo"));
+    }
+
+    @Test
+    @WithMockUser
+    void getTodoByIdShouldTagEachRepresentationSeparately() throws Exception {
+        Todo todo = new Todo("01HQZX3Y9F8G7JTRQWKNXVP123", "Test Todo", "Test Description", false, LocalDateTime.now(), LocalDateTime.now());
+
+        given(todoService().findById("01HQZX3Y9F8G7JTRQWKNXVP123")).willReturn(Optional.of(todo));
+
+        mockMvc.perform(get(basePath() + "/01HQZX3Y9F8G7JTRQWKNXVP123")
+                        .accept(MediaType.parseMediaType("application/x-jackson-smile")))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0-x-jackson-smile\""));
+        mockMvc.perform(get(basePath() + "/01HQZX3Y9F8G7JTRQWKNXVP123")
+                        .accept(TodoProtobufHttpMessageConverter.APPLICATION_PROTOBUF))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0-x-protobuf\""));
+    }
+
+    @Test
+    @WithMockUser
+    void getTodoByIdWithMatchingIfNoneMatchShouldReturnNotModified() throws Exception {
+        given(todoService().findVersion("01HQZX3Y9F8G7JTRQWKNXVP123")).willReturn(Optional.of(4L));
+
+        mockMvc.perform(get(basePath() + "/01HQZX3Y9F8G7JTRQWKNXVP123")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"4-json\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4-json\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser
+    void getTodoByIdWithTagOfAnotherRepresentationShouldReturnBody() throws Exception {
+        Todo todo = new Todo("01HQZX3Y9F8G7JTRQWKNXVP123", "Test Todo", "Test Description", false, LocalDateTime.now(), LocalDateTime.now());
+
+        given(todoService().findVersion("01HQZX3Y9F8G7JTRQWKNXVP123")).willReturn(Optional.of(0L));
+        given(todoService().findById("01HQZX3Y9F8G7JTRQWKNXVP123")).willReturn(Optional.of(todo));
+
+        mockMvc.perform(get(basePath() + "/01HQZX3Y9F8G7JTRQWKNXVP123")
+                        .accept(MediaType.parseMediaType("application/cbor"))
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0-json\""))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0-cbor\""));
+    }
+
+    @Test
+    @WithMockUser
+    void getTodoByIdNotFoundShouldReturnNotFound() throws Exception {
+        given(todoService().findById("01HQZX3Y9F8G7JTRQWKNXVP999")).willReturn(Optional.empty());
+
+        mockMvc.perform(get(basePath() + "/01HQZX3Y9F8G7JTRQWKNXVP999"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser
+    void getTodoByIdWithWildcardAcceptShouldReturnJsonAndVaryByAccept() throws Exception {
+        Todo todo = new Todo("01HQZX3Y9F8G7JTRQWKNXVP123", "Test Todo", "Test Description", false, LocalDateTime.now(), LocalDateTime.now());
+
+        given(todoService().findById("01HQZX3Y9F8G7JTRQWKNXVP123")).willReturn(Optional.of(todo));
+
+        mockMvc.perform(get(basePath() + "/01HQZX3Y9F8G7JTRQWKNXVP123").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+    }
+
+    @Test
+    @WithMockUser
+    void getAllTodosAsSmileShouldRoundTrip() throws Exception {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_456_000);
+        List<Todo> todos = List.of(
+                new Todo("01HQZX3Y9F8G7JTRQWKNXVP123", "Todo 1", "Description 1", false, createdAt, createdAt),
+                new Todo("01HQZX3Y9F8G7JTRQWKNXVP456", "Todo 2", null, true, createdAt, createdAt.plusMinutes(1))
+        );
+
+        given(todoService().findAll()).willReturn(todos);
+
+        MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+        byte[] body = mockMvc.perform(get(basePath()).accept(smile))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(smile))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<TodoResponse> responses = objectMapper.copyWith(new SmileFactory())
+                .readValue(body, new TypeReference<List<TodoResponse>>() {});
+        assertThat(responses).extracting(TodoResponse::id)
+                .containsExactly("01HQZX3Y9F8G7JTRQWKNXVP123", "01HQZX3Y9F8G7JTRQWKNXVP456");
+        assertThat(responses.get(1).description()).isNull();
+        assertThat(responses.get(1).updatedAt()).isEqualTo(createdAt.plusMinutes(1));
+    }
+
+    @Test
+    @WithMockUser
+    void createTodoFromCborShouldReturnCbor() throws Exception {
+        Todo savedTodo = new Todo("01HQZX3Y9F8G7JTRQWKNXVP123", "Test Todo", "Test Description", false, LocalDateTime.now(), LocalDateTime.now());
+
+        given(todoService().create(any(Todo.class))).willReturn(savedTodo);
+
+        ObjectMapper cborMapper = objectMapper.copyWith(new CBORFactory());
+        MediaType cbor = MediaType.parseMediaType("application/cbor");
+        byte[] body = mockMvc.perform(post(basePath())
+                        .contentType(cbor)
+                        .accept(cbor)
+                        .content(cborMapper.writeValueAsBytes(new TodoRequest("Test Todo", "Test Description"))))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(cbor))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(cborMapper.readValue(body, TodoResponse.class).title()).isEqualTo("Test Todo");
+    }
+
+    @Test
+    @WithMockUser
+    void createTodoFromProtobufShouldReturnProtobuf() throws Exception {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_456_000);
+        Todo savedTodo = new Todo("01HQZX3Y9F8G7JTRQWKNXVP123", "Test Todo", null, false, createdAt, createdAt);
+
+        given(todoService().create(any(Todo.class))).willReturn(savedTodo);
+
+        byte[] body = mockMvc.perform(post(basePath())
+                        .contentType(TodoProtobufHttpMessageConverter.APPLICATION_PROTOBUF)
+                        .accept(TodoProtobufHttpMessageConverter.APPLICATION_PROTOBUF)
+                        .content(TodoProtos.TodoRequest.newBuilder().setTitle("Test Todo").build().toByteArray()))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(TodoProtobufHttpMessageConverter.APPLICATION_PROTOBUF))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        TodoProtos.TodoResponse response = TodoProtos.TodoResponse.parseFrom(body);
+        assertThat(response.getId()).isEqualTo("01HQZX3Y9F8G7JTRQWKNXVP123");
+        assertThat(response.hasDescription()).isFalse();
+        assertThat(response.getCreatedAt().getNanos()).isEqualTo(123_456_000);
+        verify(todoService()).create(argThat(todo -> todo.getTitle().equals("Test Todo") && todo.getDescription() == null));
+    }
+
+    @Test
+    @WithMockUser
+    void getTodoPageAsProtobufShouldReturnTodoPage() throws Exception {
+        List<Todo> todos = List.of(
+                new Todo("01HQZX3Y9F8G7JTRQWKNXVP123", "Todo 1", "Description 1", false, LocalDateTime.now(), LocalDateTime.now()),
+                new Todo("01HQZX3Y9F8G7JTRQWKNXVP456", "Todo 2", "Description 2", true, LocalDateTime.now(), LocalDateTime.now())
+        );
+
+        given(todoService().findAfter(null, 2)).willReturn(todos);
+
+        byte[] body = mockMvc.perform(get(basePath()).param("size", "1")
+                        .accept(TodoProtobufHttpMessageConverter.APPLICATION_PROTOBUF))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        TodoProtos.TodoPage page = TodoProtos.TodoPage.parseFrom(body);
+        assertThat(page.getContentList()).extracting(TodoProtos.TodoResponse::getId)
+                .containsExactly("01HQZX3Y9F8G7JTRQWKNXVP123");
+        assertThat(page.getHasNext()).isTrue();
+        assertThat(page.getNextCursor()).isNotEmpty();
+    }
+
+    @Test
+    @WithMockUser
+    void getTodoStatsAsProtobufShouldReturnNotAcceptable() throws Exception {
+        LocalDate from = LocalDate.of(2024, 3, 1);
+        LocalDate to = LocalDate.of(2024, 3, 2);
+
+        given(todoService().stats(from, to)).willReturn(new TodoStats(1, 0, List.of(new TodoStats.Day(from, 1, 0))));
+
+        byte[] body = mockMvc.perform(get(basePath() + "/stats").param("from", "2024-03-01").param("to", "2024-03-02")
+                        .accept(TodoProtobufHttpMessageConverter.APPLICATION_PROTOBUF))
+                .andExpect(status().isNotAcceptable())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(TodoProtos.ErrorResponse.parseFrom(body).getError()).isEqualTo("Not acceptable");
+    }
+
+    @Test
+    @WithMockUser
+    void createTodoWithBlankTitleAsProtobufShouldReturnValidationErrors() throws Exception {
+        byte[] body = mockMvc.perform(post(basePath())
+                        .contentType(TodoProtobufHttpMessageConverter.APPLICATION_PROTOBUF)
+                        .accept(TodoProtobufHttpMessageConverter.APPLICATION_PROTOBUF)
+                        .content(TodoProtos.TodoRequest.newBuilder().setDescription("Test Description").build().toByteArray()))
+                .andExpect(status().isBadRequest())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(TodoProtos.ValidationErrors.parseFrom(body).getErrorsMap()).containsKey("title");
+    }
+
+    @Test
+    @WithMockUser
+    void getTodoByIdNotFoundAsProtobufShouldReturnErrorResponse() throws Exception {
+        given(todoService().findById("01HQZX3Y9F8G7JTRQWKNXVP999")).willReturn(Optional.empty());
+
+        byte[] body = mockMvc.perform(get(basePath() + "/01HQZX3Y9F8G7JTRQWKNXVP999")
+                        .accept(TodoProtobufHttpMessageConverter.APPLICATION_PROTOBUF))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(TodoProtobufHttpMessageConverter.APPLICATION_PROTOBUF))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(TodoProtos.ErrorResponse.parseFrom(body).getError()).isEqualTo("Resource not found");
+    }
+
+    @Test
+    @WithMockUser
+    void updateTodoShouldReturnUpdatedTodo() throws Exception {
+        TodoRequest request = new TodoRequest("Updated Todo", "Updated Description");
+        Todo updatedTodo = new Todo("01HQZX3Y9F8G7JTRQWKNXVP123", "Updated Todo", "Updated Description", false, LocalDateTime.now(), LocalDateTime.now());
+
+        given(todoService().update(eq("01HQZX3Y9F8G7JTRQWKNXVP123"), any(Todo.class), isNull())).willReturn(updatedTodo);
+
+        mockMvc.perform(put(basePath() + "/01HQZX3Y9F8G7JTRQWKNXVP123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value("01HQZX3Y9F8G7JTRQWKNXVP123"))
+                .andExpect(jsonPath("$.title").value("Updated Todo"));
+    }
+
+    @Test
+    @WithMockUser
+    void updateTodoNotFoundShouldReturnNotFound() throws Exception {
+        TodoRequest request = new TodoRequest("Updated Todo", "Updated Description");
+
+        given(todoService().update(eq("01HQZX3Y9F8G7JTRQWKNXVP999"), any(Todo.class), isNull()))
+                .willThrow(new ResourceNotFoundException("Todo", "id", "01HQZX3Y9F8G7JTRQWKNXVP999"));
+
+        mockMvc.perform(put(basePath() + "/01HQZX3Y9F8G7JTRQWKNXVP999")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser
+    void updateTodoWithStaleIfMatchShouldReturnPreconditionFailed() throws Exception {
+        TodoRequest request = new TodoRequest("Updated Todo", "Updated Description");
+
+        given(todoService().update(eq("01HQZX3Y9F8G7JTRQWKNXVP123"), any(Todo.class), eq(2L)))
+                .willThrow(new PreconditionFailedException("Todo", "01HQZX3Y9F8G7JTRQWKNXVP123", 2L));
+
+        mockMvc.perform(put(basePath() + "/01HQZX3Y9F8G7JTRQWKNXVP123")
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @WithMockUser
+    void toggleTodoCompletionShouldReturnToggledTodo() throws Exception {
+        Todo toggledTodo = new Todo("01HQZX3Y9F8G7JTRQWKNXVP123", "Test Todo", "Test Description", true, LocalDateTime.now(), LocalDateTime.now());
+
+        given(todoService().toggleCompletion("01HQZX3Y9F8G7JTRQWKNXVP123", null)).willReturn(toggledTodo);
+
+        mockMvc.perform(patch(basePath() + "/01HQZX3Y9F8G7JTRQWKNXVP123/toggle"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value("01HQZX3Y9F8G7JTRQWKNXVP123"))
+                .andExpect(jsonPath("$.completed").value(true));
+    }
+
+    @Test
+    @WithMockUser
+    void toggleTodoCompletionShouldAcceptIfMatchFromAnyRepresentation() throws Exception {
+        Todo toggledTodo = new Todo("01HQZX3Y9F8G7JTRQWKNXVP123", "Test Todo", "Test Description", true, LocalDateTime.now(), LocalDateTime.now());
+
+        given(todoService().toggleCompletion("01HQZX3Y9F8G7JTRQWKNXVP123", 2L)).willReturn(toggledTodo);
+
+        mockMvc.perform(patch(basePath() + "/01HQZX3Y9F8G7JTRQWKNXVP123/toggle")
+                        .header(HttpHeaders.IF_MATCH, "\"2-x-jackson-smile\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0-json\""));
+    }
+
+    @Test
+    @WithMockUser
+    void toggleTodoCompletionNotFoundShouldReturnNotFound() throws Exception {
+        given(todoService().toggleCompletion("01HQZX3Y9F8G7JTRQWKNXVP999", null))
+                .willThrow(new ResourceNotFoundException("Todo", "id", "01HQZX3Y9F8G7JTRQWKNXVP999"));
+
+        mockMvc.perform(patch(basePath() + "/01HQZX3Y9F8G7JTRQWKNXVP999/toggle"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser
+    void executeBatchShouldReturnPerOperationResults() throws Exception {
+        TodoBatchRequest request = new TodoBatchRequest(List.of(
+                new TodoBatchOperationRequest(TodoBatchOperation.Action.CREATE, null, new TodoRequest("New Todo", null)),
+                new TodoBatchOperationRequest(TodoBatchOperation.Action.DELETE, "01HQZX3Y9F8G7JTRQWKNXVP999", null)
+        ));
+        Todo created = new Todo("01HQZX3Y9F8G7JTRQWKNXVP123", "New Todo", null, false, LocalDateTime.now(), LocalDateTime.now());
+
+        given(todoService().executeBatch(anyList())).willReturn(List.of(
+                new TodoBatchResult(0, TodoBatchOperation.Action.CREATE, created.getId(), TodoBatchResult.Outcome.CREATED, created),
+                new TodoBatchResult(1, TodoBatchOperation.Action.DELETE, "01HQZX3Y9F8G7JTRQWKNXVP999", TodoBatchResult.Outcome.NOT_FOUND, null)
+        ));
+
+        mockMvc.perform(post(basePath() + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].outcome").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].todo.id").value("01HQZX3Y9F8G7JTRQWKNXVP123"))
+                .andExpect(jsonPath("$.results[1].outcome").value("NOT_FOUND"));
+    }
+
+    @Test
+    @WithMockUser
+    void executeBatchWithInvalidTodoShouldReturnBadRequest() throws Exception {
+        TodoBatchRequest request = new TodoBatchRequest(List.of(
+                new TodoBatchOperationRequest(TodoBatchOperation.Action.CREATE, null, new TodoRequest("", null))
+        ));
+
+        mockMvc.perform(post(basePath() + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void executeBatchDeleteWithoutIdShouldReturnBadRequest() throws Exception {
+        TodoBatchRequest request = new TodoBatchRequest(List.of(
+                new TodoBatchOperationRequest(TodoBatchOperation.Action.DELETE, null, null)
+        ));
+
+        mockMvc.perform(post(basePath() + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void deleteTodoShouldReturnNoContent() throws Exception {
+        mockMvc.perform(delete(basePath() + "/01HQZX3Y9F8G7JTRQWKNXVP123"))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    @WithMockUser
+    void deleteTodoNotFoundShouldReturnNotFound() throws Exception {
+        doThrow(new ResourceNotFoundException("Todo", "id", "01HQZX3Y9F8G7JTRQWKNXVP999"))
+                .when(todoService()).delete("01HQZX3Y9F8G7JTRQWKNXVP999", null);
+
+        mockMvc.perform(delete(basePath() + "/01HQZX3Y9F8G7JTRQWKNXVP999"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser
+    void postShouldReturnMethodNotAllowed() throws Exception {
+        mockMvc.perform(post(basePath() + "/01HQZX3Y9F8G7JTRQWKNXVP123"))
+                .andExpect(status().isMethodNotAllowed());
+    }
+}
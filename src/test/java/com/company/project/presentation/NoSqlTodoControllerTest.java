@@ -0,0 +1,22 @@
+package com.company.project.presentation;
+
+import com.company.project.application.TodoService;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+@WebMvcTest(NoSqlTodoController.class)
+class NoSqlTodoControllerTest extends AbstractTodoControllerTest {
+
+    @MockBean(name = "noSqlTodoService")
+    private TodoService todoService;
+
+    @Override
+    protected String basePath() {
+        return "/api/v1/nosql/todo";
+    }
+
+    @Override
+    protected TodoService todoService() {
+        return todoService;
+    }
+}
@@ -0,0 +1,122 @@
+package com.company.project.presentation;
+
+import com.company.project.application.McpToolsService;
+import com.company.project.application.TodoMapperService;
+import com.company.project.application.TodoService;
+import com.company.project.domain.Todo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TodoExportController.class)
+@Import(TodoMapperService.class)
+class TodoExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SecurityFilterChain securityFilterChain;
+
+    @MockBean
+    private McpToolsService mcpToolsService;
+
+    @MockBean
+    private TodoService todoService;
+
+    @Test
+    @WithMockUser
+    void exportTodosShouldWriteOneJsonObjectPerLine() throws Exception {
+        givenTwoTodos();
+
+        MvcResult result = mockMvc.perform(get("/api/v1/sql/todo/export"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson;charset=UTF-8"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"id\":\"01HQZX3Y9F8G7JTRQWKNXVP123\"");
+        assertThat(lines[1]).contains("\"id\":\"01HQZX3Y9F8G7JTRQWKNXVP456\"");
+    }
+
+    @Test
+    @WithMockUser
+    void exportTodosShouldGzipWhenAccepted() throws Exception {
+        givenTwoTodos();
+
+        MvcResult result = mockMvc.perform(get("/api/v1/sql/todo/export").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(body.split("\n")).hasSize(2);
+        }
+    }
+
+    @Test
+    @WithMockUser
+    void exportTodosShouldGzipWhenGzipIsOneOfSeveralCodings() throws Exception {
+        givenTwoTodos();
+
+        mockMvc.perform(get("/api/v1/sql/todo/export").header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, GZIP;q=0.5, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    @Test
+    @WithMockUser
+    void exportTodosShouldNotGzipWhenGzipIsRefused() throws Exception {
+        givenTwoTodos();
+
+        mockMvc.perform(get("/api/v1/sql/todo/export").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    @WithMockUser
+    void exportTodosShouldNotGzipForCodingsThatOnlyContainGzip() throws Exception {
+        givenTwoTodos();
+
+        MvcResult result = mockMvc.perform(get("/api/v1/sql/todo/export").header(HttpHeaders.ACCEPT_ENCODING, "x-gzip-foo"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn();
+
+        assertThat(result.getResponse().getContentAsString().split("\n")).hasSize(2);
+    }
+
+    private void givenTwoTodos() {
+        given(todoService.exportAll(any())).willAnswer(invocation -> {
+            Consumer<Todo> sink = invocation.getArgument(0);
+            sink.accept(new Todo("01HQZX3Y9F8G7JTRQWKNXVP123", "Todo 1", "Description 1", false, LocalDateTime.now(), LocalDateTime.now()));
+            sink.accept(new Todo("01HQZX3Y9F8G7JTRQWKNXVP456", "Todo 2", "Description 2", true, LocalDateTime.now(), LocalDateTime.now()));
+            return 2L;
+        });
+    }
+}
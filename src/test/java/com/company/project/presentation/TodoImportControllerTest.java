@@ -0,0 +1,194 @@
+package com.company.project.presentation;
+
+import com.company.project.dto.TodoImportResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bulk imports against a real PostgreSQL, since rows are loaded with COPY.
+ */
+@SpringBootTest(properties = {
+        "app.outbox.todo.relay-enabled=false",
+        "app.stats.todo.reconcile-enabled=false",
+        "app.cache.todo.redis-enabled=false",
+        "spring.kafka.admin.auto-create=false"
+})
+@AutoConfigureMockMvc
+@DirtiesContext
+class TodoImportControllerTest {
+
+    private static final String IMPORT_PATH = "/api/v1/sql/todo/import";
+
+    // Both servers stop with the JVM
+    private static EmbeddedPostgres postgres;
+    private static MongoServer mongo;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void infrastructure(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        mongo = new MongoServer(new MemoryBackend());
+        InetSocketAddress mongoAddress = mongo.bind();
+
+        registry.add("spring.datasource.url",
+                () -> "jdbc:postgresql://localhost:" + postgres.getPort() + "/postgres?reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.data.mongodb.uri",
+                () -> "mongodb://" + mongoAddress.getHostString() + ":" + mongoAddress.getPort() + "/appdb");
+    }
+
+    @Test
+    void csvRowsAreImportedAndInvalidRowsReported() throws Exception {
+        String csv = """
+                id,title,description
+                x,Csv first,"Quoted, with a comma"
+                x,,No title
+                x,Csv second,"Spans
+                two lines"
+                x,Csv third,
+                """;
+
+        TodoImportResponse report = importBody(TodoImportController.CSV_MEDIA_TYPE, csv.getBytes(StandardCharsets.UTF_8), false);
+
+        assertThat(report.imported()).isEqualTo(3);
+        assertThat(report.rejected()).isEqualTo(1);
+        assertThat(report.rejectedLines()).singleElement().satisfies(rejected -> {
+            assertThat(rejected.line()).isEqualTo(3);
+            assertThat(rejected.errors()).containsExactly("Title is required");
+        });
+        assertThat(report.complete()).isTrue();
+        assertThat(jdbcTemplate.queryForList("SELECT description FROM todos WHERE title LIKE 'Csv %' ORDER BY id", String.class))
+                .containsExactly("Quoted, with a comma", "Spans\ntwo lines", null);
+    }
+
+    @Test
+    void largeGzippedNdjsonBodiesAreImportedInChunksWithTheirEvents() throws Exception {
+        int rows = 12_000;
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            ndjson.append("{\"title\":\"Bulk ").append(i).append("\",\"description\":\"Row ").append(i).append("\"}\n");
+            if (i == 100) {
+                ndjson.append("{\"title\":\n");
+            }
+        }
+        long outboxBefore = count("SELECT count(*) FROM todo_outbox");
+
+        TodoImportResponse report = importBody(TodoExportController.NDJSON_MEDIA_TYPE, gzip(ndjson.toString()), true);
+
+        assertThat(report.imported()).isEqualTo(rows);
+        assertThat(report.rejectedLines()).singleElement().satisfies(rejected -> assertThat(rejected.line()).isEqualTo(102));
+        assertThat(count("SELECT count(*) FROM todos WHERE title LIKE 'Bulk %'")).isEqualTo(rows);
+        assertThat(count("SELECT count(*) FROM todo_outbox") - outboxBefore).isEqualTo(rows);
+        assertThat(count("SELECT count(*) FROM todos WHERE title = 'Bulk 11999' AND version = 0 AND NOT completed")).isEqualTo(1);
+    }
+
+    @Test
+    void malformedCsvStopsTheImportAfterTheRowsBeforeIt() throws Exception {
+        String csv = """
+                title,description
+                Broken first,fine
+                Broken second,"never closed
+                Broken third,lost
+                """;
+
+        TodoImportResponse report = importBody(TodoImportController.CSV_MEDIA_TYPE, csv.getBytes(StandardCharsets.UTF_8), false);
+
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.rejected()).isEqualTo(1);
+        assertThat(report.complete()).isFalse();
+        assertThat(count("SELECT count(*) FROM todos WHERE title LIKE 'Broken %'")).isEqualTo(1);
+    }
+
+    @Test
+    void quotesAndLineBreaksAreCopiedAsSent() throws Exception {
+        String ndjson = "{\"title\":\"Copy \\\"quoted\\\"\",\"description\":\"a,\\\"b\\\"\\nc\"}\n";
+
+        TodoImportResponse report = importBody(TodoExportController.NDJSON_MEDIA_TYPE, ndjson.getBytes(StandardCharsets.UTF_8), false);
+
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT description FROM todos WHERE title = 'Copy \"quoted\"'", String.class))
+                .isEqualTo("a,\"b\"\nc");
+    }
+
+    @Test
+    void overlongNdjsonLineFailsTheWholeImport() throws Exception {
+        String ndjson = "{\"title\":\"Overlong before\"}\n"
+                + "{\"title\":\"" + "x".repeat(TodoImportReader.MAX_LINE_LENGTH) + "\"}\n"
+                + "{\"title\":\"Overlong after\"}\n";
+        long outboxBefore = count("SELECT count(*) FROM todo_outbox");
+
+        mockMvc.perform(post(IMPORT_PATH).contentType(TodoExportController.NDJSON_MEDIA_TYPE).content(ndjson))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Line 2 is longer than " + TodoImportReader.MAX_LINE_LENGTH + " characters"));
+
+        assertThat(count("SELECT count(*) FROM todos WHERE title LIKE 'Overlong %'")).isZero();
+        assertThat(count("SELECT count(*) FROM todo_outbox")).isEqualTo(outboxBefore);
+    }
+
+    @Test
+    void overlongCsvValueFailsTheImportEvenAcrossLines() throws Exception {
+        String csv = "title,description\nOverlong csv,\"" + "short line\n".repeat(TodoImportReader.MAX_LINE_LENGTH / 10) + "\"\n";
+
+        mockMvc.perform(post(IMPORT_PATH).contentType(TodoImportController.CSV_MEDIA_TYPE).content(csv))
+                .andExpect(status().isBadRequest());
+
+        assertThat(count("SELECT count(*) FROM todos WHERE title = 'Overlong csv'")).isZero();
+    }
+
+    private TodoImportResponse importBody(String contentType, byte[] body, boolean gzip) throws Exception {
+        var request = post(IMPORT_PATH).contentType(contentType).content(body);
+        if (gzip) {
+            request.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsByteArray(), TodoImportResponse.class);
+    }
+
+    private long count(String sql) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
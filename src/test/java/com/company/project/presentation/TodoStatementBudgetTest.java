@@ -0,0 +1,120 @@
+package com.company.project.presentation;
+
+import com.company.project.dto.TodoRequest;
+import com.company.project.dto.TodoResponse;
+import com.company.project.infrastructure.SqlStatements;
+import com.company.project.infrastructure.StatementStatisticsFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Statement budgets of the SQL todo endpoints against a real PostgreSQL, so an extra query per request shows
+ * up here rather than in production.
+ */
+@SpringBootTest(properties = {
+        "app.outbox.todo.relay-enabled=false",
+        "app.stats.todo.reconcile-enabled=false",
+        "app.cache.todo.redis-enabled=false",
+        "spring.kafka.admin.auto-create=false"
+})
+@AutoConfigureMockMvc
+@DirtiesContext
+class TodoStatementBudgetTest {
+
+    private static final String BASE_PATH = "/api/v1/sql/todo";
+
+    // Both servers stop with the JVM
+    private static EmbeddedPostgres postgres;
+    private static MongoServer mongo;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void infrastructure(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        mongo = new MongoServer(new MemoryBackend());
+        InetSocketAddress mongoAddress = mongo.bind();
+
+        registry.add("spring.datasource.url",
+                () -> "jdbc:postgresql://localhost:" + postgres.getPort() + "/postgres?reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.data.mongodb.uri",
+                () -> "mongodb://" + mongoAddress.getHostString() + ":" + mongoAddress.getPort() + "/appdb");
+    }
+
+    @Test
+    void writesStayWithinTheirStatementBudget() throws Exception {
+        TodoResponse created = create("Budget", "Counted");
+
+        mockMvc.perform(put(BASE_PATH + "/" + created.id())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TodoRequest("Budget", "Updated"))))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatements.atMost(2));
+
+        mockMvc.perform(patch(BASE_PATH + "/" + created.id() + "/toggle"))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatements.atMost(4));
+
+        mockMvc.perform(delete(BASE_PATH + "/" + created.id()))
+                .andExpect(status().isNoContent())
+                .andExpect(SqlStatements.atMost(4));
+    }
+
+    @Test
+    void readsStayWithinTheirStatementBudget() throws Exception {
+        TodoResponse created = create("Read", "Counted");
+
+        mockMvc.perform(get(BASE_PATH + "/" + created.id()))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatements.atMost(1))
+                .andExpect(header().string(StatementStatisticsFilter.SERVER_TIMING_HEADER, startsWith("sql;dur=")));
+        mockMvc.perform(get(BASE_PATH + "/01HQZX3Y9F8G7JTRQWKNXVP999"))
+                .andExpect(status().isNotFound())
+                .andExpect(SqlStatements.atMost(1));
+        mockMvc.perform(get(BASE_PATH))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatements.exactly(1));
+        mockMvc.perform(get(BASE_PATH).param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatements.exactly(1));
+        mockMvc.perform(get(BASE_PATH + "/stats"))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatements.atMost(2));
+    }
+
+    private TodoResponse create(String title, String description) throws Exception {
+        MvcResult result = mockMvc.perform(post(BASE_PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TodoRequest(title, description))))
+                .andExpect(status().isCreated())
+                // Insert, outbox row and the two stats rollups
+                .andExpect(SqlStatements.atMost(4))
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsByteArray(), TodoResponse.class);
+    }
+}